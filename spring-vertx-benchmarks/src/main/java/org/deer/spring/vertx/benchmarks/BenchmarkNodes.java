@@ -0,0 +1,59 @@
+package org.deer.spring.vertx.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.logging.SLF4JLogDelegateFactory;
+import io.vertx.spi.cluster.hazelcast.HazelcastClusterManager;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Starts Vertx nodes used by benchmarks. Clustered nodes join each other over loopback, so
+ * multicast is not needed
+ */
+final class BenchmarkNodes {
+
+  static {
+    // to enable log delegation from vertx
+    System.setProperty(io.vertx.core.logging.LoggerFactory.LOGGER_DELEGATE_FACTORY_CLASS_NAME,
+        SLF4JLogDelegateFactory.class.getName());
+  }
+
+  private BenchmarkNodes() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  static Vertx startLocalNode() {
+    return Vertx.vertx();
+  }
+
+  static Vertx startClusteredNode() throws ExecutionException, InterruptedException {
+    final HazelcastClusterManager clusterManager = new HazelcastClusterManager();
+    final Config config = clusterManager.loadConfig();
+    final JoinConfig join = config.getNetworkConfig().getJoin();
+    join.getMulticastConfig().setEnabled(false);
+    join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+    clusterManager.setConfig(config);
+
+    final CompletableFuture<Vertx> vertxResult = new CompletableFuture<>();
+    Vertx.clusteredVertx(new VertxOptions().setClusterManager(clusterManager), result -> {
+      if (result.succeeded()) {
+        vertxResult.complete(result.result());
+      } else {
+        vertxResult.completeExceptionally(result.cause());
+      }
+    });
+    return vertxResult.get();
+  }
+
+  static void close(final Vertx vertx) throws ExecutionException, InterruptedException {
+    if (vertx == null) {
+      return;
+    }
+    final CompletableFuture<Void> closeResult = new CompletableFuture<>();
+    vertx.close(result -> closeResult.complete(null));
+    closeResult.get();
+  }
+}
@@ -0,0 +1,32 @@
+package org.deer.spring.vertx.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs benchmarks and writes results as JSON, so they can be compared between releases. <br>
+ * Usage: java -jar benchmarks.jar [result file] [benchmark regexp]...
+ */
+public class BenchmarkRunner {
+
+  private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+  public static void main(String[] args) throws RunnerException {
+    final ChainedOptionsBuilder options = new OptionsBuilder()
+        .resultFormat(ResultFormatType.JSON)
+        .result(args.length > 0 ? args[0] : DEFAULT_RESULT_FILE);
+
+    if (args.length > 1) {
+      for (int i = 1; i < args.length; i++) {
+        options.include(args[i]);
+      }
+    } else {
+      options.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+    }
+
+    new Runner(options.build()).run();
+  }
+}
@@ -0,0 +1,98 @@
+package org.deer.spring.vertx.benchmarks;
+
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.deer.spring.vertx.core.ClaimStrategy;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.SingletonRegistration;
+import org.deer.spring.vertx.core.test.IntegerProxyService;
+import org.deer.spring.vertx.core.test.impl.IntegerProxyServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of registering single singleton when multiple nodes contend for it at the same time.
+ * Each contender is registrator on its own Hazelcast member, so contenders have distinct node ids
+ * and control addresses. One operation is one contended registration, finished when all
+ * contenders are done. Marker is removed and singleton undeployed after each operation, so every
+ * operation contends for the same address again
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClaimContentionBenchmark {
+
+  @Param({"LOCK", "PUT_IF_ABSENT"})
+  public ClaimStrategy strategy;
+
+  @Param({"2", "4", "8"})
+  public int contenders;
+
+  private final List<Vertx> members = new ArrayList<>();
+  private final List<ClusterSingletonRegistratorBean> registrators = new ArrayList<>();
+  private String address;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    for (int i = 0; i < contenders; i++) {
+      members.add(BenchmarkNodes.startClusteredNode());
+    }
+    address = "benchmark-claim-" + strategy + "-" + contenders;
+  }
+
+  @Setup(Level.Invocation)
+  public void createRegistrators() {
+    members.forEach(member -> registrators.add(
+        new ClusterSingletonRegistratorBean(member).setClaimStrategy(strategy)));
+  }
+
+  @TearDown(Level.Invocation)
+  public void undeploy() {
+    // closed contenders refuse the singleton, so its owner removes the marker while undeploying
+    registrators.forEach(ClusterSingletonRegistratorBean::close);
+    // consumer unregistered right after its registration may miss its cluster subscription,
+    // marker is removed before that, so the next operation contends anyway
+    CompletableFuture.allOf(registrators.stream()
+        .map(registrator -> registrator.handOver().exceptionally(throwable -> null))
+        .toArray(CompletableFuture[]::new))
+        .join();
+    registrators.clear();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    for (Vertx member : members) {
+      BenchmarkNodes.close(member);
+    }
+  }
+
+  @Benchmark
+  public void contendedRegistration() {
+    final CompletableFuture<?>[] registrations = new CompletableFuture[contenders];
+    for (int i = 0; i < contenders; i++) {
+      final Vertx vertx = members.get(i);
+      registrations[i] = registrators.get(i).registerAll(Collections.singletonList(
+          SingletonRegistration.of(address, IntegerProxyService.class,
+              () -> new IntegerProxyServiceImpl(vertx, address))));
+    }
+    CompletableFuture.allOf(registrations).join();
+  }
+}
@@ -0,0 +1,115 @@
+package org.deer.spring.vertx.benchmarks;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Vertx;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.SingletonRegistration;
+import org.deer.spring.vertx.core.test.IntegerProxyService;
+import org.deer.spring.vertx.core.test.StringProxyService;
+import org.deer.spring.vertx.core.test.impl.IntegerProxyServiceImpl;
+import org.deer.spring.vertx.core.test.impl.StringProxyServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Round trip latency of proxied calls. In local mode service and proxy share single non clustered
+ * node, in clustered mode service is deployed on one node and called from another one
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProxyCallBenchmark {
+
+  private static final String STRING_ADDRESS = "benchmark-string-proxy-service";
+  private static final String INTEGER_ADDRESS = "benchmark-integer-proxy-service";
+
+  @Param({"local", "clustered"})
+  public String topology;
+
+  @Param({"false", "true"})
+  public boolean localDispatch;
+
+  @Param({"false", "true"})
+  public boolean binaryCodec;
+
+  private Vertx serviceNode;
+  private Vertx callerNode;
+  private StringProxyService stringService;
+  private IntegerProxyService integerService;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    if ("clustered".equals(topology)) {
+      serviceNode = BenchmarkNodes.startClusteredNode();
+      callerNode = BenchmarkNodes.startClusteredNode();
+    } else {
+      serviceNode = BenchmarkNodes.startLocalNode();
+      callerNode = serviceNode;
+    }
+
+    final Vertx vertx = serviceNode;
+    final ClusterSingletonRegistratorBean registrator =
+        new ClusterSingletonRegistratorBean(serviceNode).setBinaryCodec(binaryCodec);
+    registrator.registerAll(Arrays.asList(
+        SingletonRegistration.of(STRING_ADDRESS, StringProxyService.class,
+            () -> new StringProxyServiceImpl(vertx, STRING_ADDRESS)),
+        SingletonRegistration.of(INTEGER_ADDRESS, IntegerProxyService.class,
+            () -> new IntegerProxyServiceImpl(vertx, INTEGER_ADDRESS))))
+        .get();
+
+    stringService = new ClusterSingletonProxyFactory<>(STRING_ADDRESS, callerNode,
+        StringProxyService.class).setLocalDispatch(localDispatch).setBinaryCodec(binaryCodec)
+        .getObject();
+    integerService = new ClusterSingletonProxyFactory<>(INTEGER_ADDRESS, callerNode,
+        IntegerProxyService.class).setLocalDispatch(localDispatch).setBinaryCodec(binaryCodec)
+        .getObject();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    if (callerNode != serviceNode) {
+      BenchmarkNodes.close(callerNode);
+    }
+    BenchmarkNodes.close(serviceNode);
+  }
+
+  @Benchmark
+  public String stringRoundTrip() throws Exception {
+    final CompletableFuture<String> result = new CompletableFuture<>();
+    stringService.doSomething("input", asyncResult -> complete(result, asyncResult));
+    return result.get(5, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public Integer integerRoundTrip() throws Exception {
+    final CompletableFuture<Integer> result = new CompletableFuture<>();
+    integerService.doSomething(3, asyncResult -> complete(result, asyncResult));
+    return result.get(5, TimeUnit.SECONDS);
+  }
+
+  private static <T> void complete(CompletableFuture<T> future, AsyncResult<T> asyncResult) {
+    if (asyncResult.succeeded()) {
+      future.complete(asyncResult.result());
+    } else {
+      future.completeExceptionally(asyncResult.cause());
+    }
+  }
+}
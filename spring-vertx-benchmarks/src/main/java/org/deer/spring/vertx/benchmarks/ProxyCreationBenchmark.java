@@ -0,0 +1,69 @@
+package org.deer.spring.vertx.benchmarks;
+
+import io.vertx.core.Vertx;
+import java.util.concurrent.TimeUnit;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonProxyRegistry;
+import org.deer.spring.vertx.core.test.StringProxyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of obtaining proxy from {@link ClusterSingletonProxyFactory}, with and without caching
+ * registry
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProxyCreationBenchmark {
+
+  private static final String ADDRESS = "benchmark-string-proxy-service";
+
+  private Vertx vertx;
+  private ClusterSingletonProxyRegistry registry;
+  private ClusterSingletonProxyFactory<StringProxyService> prototypeFactory;
+  private ClusterSingletonProxyFactory<StringProxyService> cachingFactory;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    vertx = BenchmarkNodes.startLocalNode();
+    registry = new ClusterSingletonProxyRegistry(vertx);
+    prototypeFactory = new ClusterSingletonProxyFactory<>(ADDRESS, vertx,
+        StringProxyService.class);
+    cachingFactory = new ClusterSingletonProxyFactory<>(ADDRESS, vertx,
+        StringProxyService.class, registry);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    BenchmarkNodes.close(vertx);
+  }
+
+  @Benchmark
+  public StringProxyService prototypeProxy() throws Exception {
+    return prototypeFactory.getObject();
+  }
+
+  @Benchmark
+  public StringProxyService cachedProxy() throws Exception {
+    return cachingFactory.getObject();
+  }
+
+  @Benchmark
+  public StringProxyService methodHandleProxy() {
+    return registry.createProxy(ADDRESS, StringProxyService.class, null);
+  }
+}
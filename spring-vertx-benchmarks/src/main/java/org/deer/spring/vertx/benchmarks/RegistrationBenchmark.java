@@ -0,0 +1,80 @@
+package org.deer.spring.vertx.benchmarks;
+
+import io.vertx.core.Vertx;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.deer.spring.vertx.core.ClaimStrategy;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.SingletonRegistration;
+import org.deer.spring.vertx.core.test.StringProxyService;
+import org.deer.spring.vertx.core.test.impl.StringProxyServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@link ClusterSingletonRegistratorBean#registerAll} of batch of services on single
+ * clustered node. Each invocation registers the same services by new registrator, that hands them
+ * over once the invocation is done. Single node has no member to take them, so they are undeployed
+ * and their markers removed, which keeps consumers and cluster maps the same size across the trial
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistrationBenchmark {
+
+  @Param({"LOCK", "PUT_IF_ABSENT"})
+  public ClaimStrategy strategy;
+
+  @Param({"1", "16"})
+  public int batchSize;
+
+  private Vertx vertx;
+  private List<SingletonRegistration<StringProxyService>> registrations;
+  private ClusterSingletonRegistratorBean registrator;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    vertx = BenchmarkNodes.startClusteredNode();
+    registrations = IntStream.range(0, batchSize)
+        .mapToObj(index -> "benchmark-registration-" + index)
+        .map(address -> SingletonRegistration.of(address, StringProxyService.class,
+            () -> new StringProxyServiceImpl(vertx, address)))
+        .collect(Collectors.toList());
+  }
+
+  @Setup(Level.Invocation)
+  public void createRegistrator() {
+    registrator = new ClusterSingletonRegistratorBean(vertx).setClaimStrategy(strategy);
+  }
+
+  @TearDown(Level.Invocation)
+  public void undeploy() {
+    registrator.handOver().join();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    BenchmarkNodes.close(vertx);
+  }
+
+  @Benchmark
+  public void registerSingletons() {
+    registrator.registerAll(registrations).join();
+  }
+}
@@ -0,0 +1,15 @@
+package org.deer.spring.vertx.core.test;
+
+import io.vertx.codegen.annotations.ProxyGen;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import org.deer.spring.vertx.core.cache.CachedQuery;
+
+@ProxyGen
+public interface CatalogService {
+
+  @CachedQuery
+  void get(final String key, final Handler<AsyncResult<String>> resultHandler);
+
+  void put(final String key, final String value, final Handler<AsyncResult<Void>> resultHandler);
+}
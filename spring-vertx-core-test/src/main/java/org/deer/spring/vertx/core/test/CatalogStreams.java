@@ -0,0 +1,11 @@
+package org.deer.spring.vertx.core.test;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import org.deer.spring.vertx.core.stream.StreamingContract;
+
+@StreamingContract
+public interface CatalogStreams {
+
+  ReadStream<JsonObject> entries(final String prefix, final int count);
+}
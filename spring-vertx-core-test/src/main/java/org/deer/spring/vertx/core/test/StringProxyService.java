@@ -3,9 +3,11 @@ package org.deer.spring.vertx.core.test;
 import io.vertx.codegen.annotations.ProxyGen;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
+import org.deer.spring.vertx.core.proxy.Idempotent;
 
 @ProxyGen
 public interface StringProxyService {
 
+  @Idempotent
   void doSomething(final String input, final Handler<AsyncResult<String>> resultHandler);
 }
@@ -0,0 +1,58 @@
+package org.deer.spring.vertx.core.test.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.test.CatalogService;
+import org.deer.spring.vertx.core.test.CatalogStreams;
+
+public class CatalogServiceImpl implements CatalogService, CatalogStreams {
+
+  private final Vertx vertx;
+  private final String address;
+  private final Map<String, String> values = new ConcurrentHashMap<>();
+  private final AtomicInteger reads = new AtomicInteger();
+  private final AtomicInteger streamed = new AtomicInteger();
+
+  public CatalogServiceImpl(Vertx vertx, String address) {
+    this.vertx = vertx;
+    this.address = address;
+  }
+
+  @Override
+  public void get(String key, Handler<AsyncResult<String>> resultHandler) {
+    reads.incrementAndGet();
+    resultHandler.handle(Future.succeededFuture(values.get(key)));
+  }
+
+  @Override
+  public void put(String key, String value, Handler<AsyncResult<Void>> resultHandler) {
+    values.put(key, value);
+    ClusterSingletonRegistratorBean.invalidateCaches(vertx, address, "get");
+    resultHandler.handle(Future.succeededFuture());
+  }
+
+  @Override
+  public ReadStream<JsonObject> entries(String prefix, int count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("Count must not be negative");
+    }
+    return new GeneratedReadStream<>(vertx.getOrCreateContext(), count,
+        index -> new JsonObject().put("key", prefix + index).put("index", index), streamed);
+  }
+
+  public int getStreamed() {
+    return streamed.get();
+  }
+
+  public int getReads() {
+    return reads.get();
+  }
+}
@@ -0,0 +1,94 @@
+package org.deer.spring.vertx.core.test.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.streams.ReadStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Emits provided count of generated items, one per turn of event loop, while it is not paused
+ */
+public class GeneratedReadStream<T> implements ReadStream<T> {
+
+  private final Context context;
+  private final int count;
+  private final IntFunction<T> generator;
+  private final AtomicInteger emitted;
+
+  private Handler<T> handler;
+  private Handler<Void> endHandler;
+  private boolean paused;
+  private boolean scheduled;
+  private int next;
+
+  public GeneratedReadStream(Context context, int count, IntFunction<T> generator,
+      AtomicInteger emitted) {
+    this.context = context;
+    this.count = count;
+    this.generator = generator;
+    this.emitted = emitted;
+  }
+
+  @Override
+  public GeneratedReadStream<T> exceptionHandler(Handler<Throwable> handler) {
+    return this;
+  }
+
+  @Override
+  public synchronized GeneratedReadStream<T> handler(Handler<T> handler) {
+    this.handler = handler;
+    schedule();
+    return this;
+  }
+
+  @Override
+  public synchronized GeneratedReadStream<T> pause() {
+    paused = true;
+    return this;
+  }
+
+  @Override
+  public synchronized GeneratedReadStream<T> resume() {
+    paused = false;
+    schedule();
+    return this;
+  }
+
+  @Override
+  public synchronized GeneratedReadStream<T> endHandler(Handler<Void> endHandler) {
+    this.endHandler = endHandler;
+    return this;
+  }
+
+  private void schedule() {
+    if (!scheduled && !paused && handler != null) {
+      scheduled = true;
+      context.runOnContext(aVoid -> emit());
+    }
+  }
+
+  private void emit() {
+    final Handler<T> itemHandler;
+    final Handler<Void> completionHandler;
+    final int index;
+    synchronized (this) {
+      scheduled = false;
+      if (paused || handler == null) {
+        return;
+      }
+      index = next++;
+      itemHandler = index < count ? handler : null;
+      completionHandler = index == count ? endHandler : null;
+    }
+    if (itemHandler != null) {
+      emitted.incrementAndGet();
+      itemHandler.handle(generator.apply(index));
+      synchronized (this) {
+        schedule();
+      }
+    } else if (completionHandler != null) {
+      completionHandler.handle(null);
+    }
+  }
+}
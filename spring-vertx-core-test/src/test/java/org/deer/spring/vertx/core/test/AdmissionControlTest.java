@@ -0,0 +1,114 @@
+package org.deer.spring.vertx.core.test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.ReplyException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.SingletonOptions;
+import org.deer.spring.vertx.core.endpoint.AdmissionControl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AdmissionControlTest {
+
+  private static final String ADDRESS = "admission-integer-proxy-service";
+
+  private Vertx vertx;
+  private Queue<Handler<AsyncResult<Integer>>> pending;
+  private AtomicInteger sentMessages;
+
+  @Before
+  public void init() {
+    vertx = Vertx.vertx();
+    pending = new ConcurrentLinkedQueue<>();
+    new ClusterSingletonRegistratorBean(vertx).registerClusterWideSingleton(ADDRESS,
+        IntegerProxyService.class,
+        () -> (IntegerProxyService) (input, resultHandler) -> pending.add(resultHandler),
+        new SingletonOptions().setMaxInFlight(1).setMaxQueued(1));
+
+    sentMessages = new AtomicInteger();
+    vertx.eventBus().addInterceptor(sendContext -> {
+      if (ADDRESS.equals(sendContext.message().address())) {
+        sentMessages.incrementAndGet();
+      }
+      sendContext.next();
+    });
+  }
+
+  @After
+  public void close() {
+    vertx.close();
+  }
+
+  @Test
+  public void testCallsOverLimitRejected() throws Exception {
+    final IntegerProxyService service = new ClusterSingletonProxyFactory<>(ADDRESS, vertx,
+        IntegerProxyService.class).getObject();
+
+    final List<AsyncResult<Integer>> results = new CopyOnWriteArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      service.doSomething(i, results::add);
+    }
+
+    // first call is in flight, second is queued, third is rejected
+    await().atMost(5, SECONDS).until(() -> results.size() == 1 && pending.size() == 1);
+    assertOverloaded(results.get(0));
+
+    pending.poll().handle(Future.succeededFuture(1));
+    await().atMost(5, SECONDS).until(() -> pending.size() == 1);
+    pending.poll().handle(Future.succeededFuture(2));
+    await().atMost(5, SECONDS).until(() -> results.size() == 3);
+  }
+
+  @Test
+  public void testCircuitOpenedByRejection() throws Exception {
+    final IntegerProxyService service = new ClusterSingletonProxyFactory<>(ADDRESS, vertx,
+        IntegerProxyService.class)
+        .setOverloadBackoff(500)
+        .getObject();
+
+    final List<AsyncResult<Integer>> results = new CopyOnWriteArrayList<>();
+    service.doSomething(0, results::add);
+    service.doSomething(1, results::add);
+    service.doSomething(2, results::add);
+    await().atMost(5, SECONDS).until(() -> results.size() == 1);
+
+    // circuit is open, call fails without being sent
+    service.doSomething(3, results::add);
+    assertEquals(2, results.size());
+    assertOverloaded(results.get(1));
+    assertEquals(3, sentMessages.get());
+
+    pending.poll().handle(Future.succeededFuture(0));
+    await().atMost(5, SECONDS).until(() -> pending.size() == 1);
+    pending.poll().handle(Future.succeededFuture(1));
+    await().atMost(5, SECONDS).until(() -> results.size() == 4);
+
+    // once backoff elapses, probe call closes the circuit
+    Thread.sleep(600);
+    service.doSomething(4, results::add);
+    await().atMost(5, SECONDS).until(() -> pending.size() == 1);
+    pending.poll().handle(Future.succeededFuture(4));
+    await().atMost(5, SECONDS).until(() -> results.size() == 5);
+    assertTrue(results.get(4).succeeded());
+  }
+
+  private static void assertOverloaded(final AsyncResult<Integer> result) {
+    assertTrue(result.failed());
+    assertEquals(AdmissionControl.OVERLOADED, ((ReplyException) result.cause()).failureCode());
+  }
+}
@@ -0,0 +1,82 @@
+package org.deer.spring.vertx.core.test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.SingletonRegistration;
+import org.deer.spring.vertx.core.annotation.EnableClusterSingletons;
+import org.deer.spring.vertx.core.test.annotated.LazyStringService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {AnnotatedClusterSingletonTest.AnnotatedConfig.class})
+public class AnnotatedClusterSingletonTest {
+
+  @Autowired
+  private Vertx vertx;
+
+  @Autowired
+  private IntegerProxyService integerService;
+
+  @Autowired
+  private StringProxyService lazyStringService;
+
+  @Test
+  public void testEagerSingletonDeployed() {
+    final AtomicInteger result = new AtomicInteger();
+    integerService.doSomething(3, asyncResult -> result.set(asyncResult.result()));
+    await().atMost(5, SECONDS).until(() -> result.get() == 6);
+  }
+
+  @Test
+  public void testLazySingletonDeployedOnFirstCall() {
+    assertEquals(0, LazyStringService.INSTANCES.get());
+
+    final AtomicReference<String> result = new AtomicReference<>();
+    lazyStringService.doSomething("input", asyncResult -> result.set(asyncResult.result()));
+    await().atMost(5, SECONDS).until(() -> "lazy-input".equals(result.get()));
+    assertEquals(1, LazyStringService.INSTANCES.get());
+  }
+
+  @Test
+  public void testClosedRegistratorIgnoresActivation() {
+    final AtomicInteger instances = new AtomicInteger();
+    final ClusterSingletonRegistratorBean registrator = new ClusterSingletonRegistratorBean(vertx);
+    registrator.registerLazySingleton(SingletonRegistration.of("closed-lazy-service",
+        StringProxyService.class, () -> {
+          instances.incrementAndGet();
+          return new LazyStringService();
+        })).join();
+    registrator.close();
+
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    vertx.eventBus().send(ClusterSingletonRegistratorBean.activationAddress("closed-lazy-service"),
+        "closed-lazy-service", reply -> failure.set(reply.cause()));
+    await().atMost(5, SECONDS).until(() -> failure.get() != null);
+    assertEquals(ReplyFailure.NO_HANDLERS, ((ReplyException) failure.get()).failureType());
+    assertEquals(0, instances.get());
+  }
+
+  @Configuration
+  @EnableClusterSingletons(basePackages = "org.deer.spring.vertx.core.test.annotated")
+  public static class AnnotatedConfig {
+
+    @Bean(destroyMethod = "close")
+    public Vertx vertx() {
+      return Vertx.vertx();
+    }
+  }
+}
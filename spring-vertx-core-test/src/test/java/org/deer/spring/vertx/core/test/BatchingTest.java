@@ -0,0 +1,94 @@
+package org.deer.spring.vertx.core.test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+
+import io.vertx.core.Vertx;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.batch.BatchServiceEndpoint;
+import org.deer.spring.vertx.core.test.impl.IntegerProxyServiceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BatchingTest {
+
+  private static final String BATCH_ADDRESS = "batch-integer-proxy-service";
+  private static final String SINGLE_ADDRESS = "single-integer-proxy-service";
+
+  private Vertx vertx;
+  private ConcurrentMap<String, AtomicInteger> sentMessages;
+
+  @Before
+  public void init() {
+    vertx = Vertx.vertx();
+    new ClusterSingletonRegistratorBean(vertx)
+        .setBatching(true)
+        .registerClusterWideSingleton(BATCH_ADDRESS, IntegerProxyService.class,
+            () -> new IntegerProxyServiceImpl(vertx, BATCH_ADDRESS));
+    new ClusterSingletonRegistratorBean(vertx)
+        .registerClusterWideSingleton(SINGLE_ADDRESS, IntegerProxyService.class,
+            () -> new IntegerProxyServiceImpl(vertx, SINGLE_ADDRESS));
+
+    sentMessages = new ConcurrentHashMap<>();
+    vertx.eventBus().addInterceptor(sendContext -> {
+      sentMessages.computeIfAbsent(sendContext.message().address(), address -> new AtomicInteger())
+          .incrementAndGet();
+      sendContext.next();
+    });
+  }
+
+  @After
+  public void close() {
+    vertx.close();
+  }
+
+  @Test
+  public void testBatchSentBySize() throws Exception {
+    final Map<Integer, Integer> results = callTimes(proxy(BATCH_ADDRESS, 10), 10);
+
+    results.forEach((input, result) -> assertEquals(input + 4, result.intValue()));
+    assertEquals(1, sentMessages.get(BatchServiceEndpoint.batchAddress(BATCH_ADDRESS)).get());
+    assertEquals(null, sentMessages.get(BATCH_ADDRESS));
+  }
+
+  @Test
+  public void testBatchSentByDelay() throws Exception {
+    final Map<Integer, Integer> results = callTimes(proxy(BATCH_ADDRESS, 100), 3);
+
+    results.forEach((input, result) -> assertEquals(input + 4, result.intValue()));
+    assertEquals(1, sentMessages.get(BatchServiceEndpoint.batchAddress(BATCH_ADDRESS)).get());
+  }
+
+  @Test
+  public void testFallbackToSingleCallsWithoutBatchEndpoint() throws Exception {
+    final Map<Integer, Integer> results = callTimes(proxy(SINGLE_ADDRESS, 10), 10);
+
+    results.forEach((input, result) -> assertEquals(input + 4, result.intValue()));
+    assertEquals(10, sentMessages.get(SINGLE_ADDRESS).get());
+  }
+
+  private IntegerProxyService proxy(final String address, final int maxBatchSize)
+      throws Exception {
+    return new ClusterSingletonProxyFactory<>(address, vertx, IntegerProxyService.class)
+        .setBatching(maxBatchSize, 50)
+        .getObject();
+  }
+
+  private static Map<Integer, Integer> callTimes(final IntegerProxyService service,
+      final int count) {
+    final Map<Integer, Integer> results = new ConcurrentHashMap<>();
+    for (int i = 0; i < count; i++) {
+      final int input = i;
+      service.doSomething(input, result -> results.put(input, result.result()));
+    }
+    await().atMost(5, SECONDS).until(() -> results.size() == count);
+    return results;
+  }
+}
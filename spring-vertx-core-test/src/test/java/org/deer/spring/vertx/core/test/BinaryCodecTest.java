@@ -0,0 +1,98 @@
+package org.deer.spring.vertx.core.test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.codec.BinaryContract;
+import org.deer.spring.vertx.core.codec.ServiceInvocation;
+import org.deer.spring.vertx.core.codec.ServiceInvocationCodec;
+import org.deer.spring.vertx.core.test.impl.IntegerProxyServiceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BinaryCodecTest {
+
+  private static final String BINARY_ADDRESS = "binary-integer-proxy-service";
+  private static final String JSON_ADDRESS = "json-integer-proxy-service";
+
+  private Vertx vertx;
+  private ConcurrentMap<String, AtomicInteger> sentMessages;
+
+  @Before
+  public void init() {
+    vertx = Vertx.vertx();
+    new ClusterSingletonRegistratorBean(vertx)
+        .setBinaryCodec(true)
+        .registerClusterWideSingleton(BINARY_ADDRESS, IntegerProxyService.class,
+            () -> new IntegerProxyServiceImpl(vertx, BINARY_ADDRESS));
+    new ClusterSingletonRegistratorBean(vertx)
+        .registerClusterWideSingleton(JSON_ADDRESS, IntegerProxyService.class,
+            () -> new IntegerProxyServiceImpl(vertx, JSON_ADDRESS));
+
+    sentMessages = new ConcurrentHashMap<>();
+    vertx.eventBus().addInterceptor(sendContext -> {
+      sentMessages.computeIfAbsent(sendContext.message().address(), address -> new AtomicInteger())
+          .incrementAndGet();
+      sendContext.next();
+    });
+  }
+
+  @After
+  public void close() {
+    vertx.close();
+  }
+
+  @Test
+  public void testCallSentThroughBinaryEndpoint() throws Exception {
+    final AtomicInteger result = new AtomicInteger();
+    proxy(BINARY_ADDRESS).doSomething(3, asyncResult -> result.set(asyncResult.result()));
+    await().atMost(5, SECONDS).until(() -> result.get() == 7);
+
+    assertEquals(1, sentMessages.get(BinaryContract.binaryAddress(BINARY_ADDRESS)).get());
+    assertEquals(null, sentMessages.get(BINARY_ADDRESS));
+  }
+
+  @Test
+  public void testFallbackToJsonWithoutBinaryEndpoint() throws Exception {
+    final AtomicInteger result = new AtomicInteger();
+    proxy(JSON_ADDRESS).doSomething(3, asyncResult -> result.set(asyncResult.result()));
+    await().atMost(5, SECONDS).until(() -> result.get() == 7);
+
+    assertEquals(1, sentMessages.get(JSON_ADDRESS).get());
+  }
+
+  @Test
+  public void testInvocationWireRoundTrip() {
+    final Object[] arguments = {null, true, (byte) 1, (short) 2, 3, 4L, 5.5f, 6.5d, 'c', "text",
+        new JsonObject().put("key", "value"), new JsonArray().add(1), Buffer.buffer("bytes"),
+        Arrays.asList("a", "b"), Collections.singleton(7), Collections.singletonMap("k", 8L)};
+    final ServiceInvocationCodec codec = new ServiceInvocationCodec();
+    final Buffer buffer = Buffer.buffer("prefix");
+    codec.encodeToWire(buffer, new ServiceInvocation(42, 3, arguments));
+
+    final ServiceInvocation decoded = codec.decodeFromWire("prefix".length(), buffer);
+    assertEquals(42, decoded.getFingerprint());
+    assertEquals(3, decoded.getMethodIndex());
+    assertArrayEquals(arguments, decoded.getArguments());
+  }
+
+  private IntegerProxyService proxy(final String address) throws Exception {
+    return new ClusterSingletonProxyFactory<>(address, vertx, IntegerProxyService.class)
+        .setBinaryCodec(true)
+        .getObject();
+  }
+}
@@ -0,0 +1,78 @@
+package org.deer.spring.vertx.core.test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.serviceproxy.ServiceBinder;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonProxyRegistry;
+import org.deer.spring.vertx.core.test.impl.IntegerProxyServiceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ClusterSingletonProxyRegistryTest {
+
+  private static final String ADDRESS = "registry-integer-proxy-service";
+
+  private Vertx vertx;
+  private ClusterSingletonProxyRegistry registry;
+
+  @Before
+  public void init() {
+    vertx = Vertx.vertx();
+    registry = new ClusterSingletonProxyRegistry(vertx);
+    new ServiceBinder(vertx)
+        .setAddress(ADDRESS)
+        .register(IntegerProxyService.class, new IntegerProxyServiceImpl(vertx, ADDRESS));
+  }
+
+  @After
+  public void close() {
+    vertx.close();
+  }
+
+  @Test
+  public void testProxySharedPerTuple() throws Exception {
+    final ClusterSingletonProxyFactory<IntegerProxyService> factory =
+        new ClusterSingletonProxyFactory<>(ADDRESS, vertx, IntegerProxyService.class, registry);
+
+    final IntegerProxyService first = factory.getObject();
+    assertSame(first, factory.getObject());
+    assertSame(first, registry.getOrCreate(ADDRESS, IntegerProxyService.class, null));
+    assertNotSame(first, registry.getOrCreate(ADDRESS, IntegerProxyService.class,
+        new DeliveryOptions().setSendTimeout(1000)));
+
+    registry.invalidate(ADDRESS);
+    final IntegerProxyService afterInvalidation = factory.getObject();
+    assertNotSame(first, afterInvalidation);
+
+    final AtomicInteger result = new AtomicInteger();
+    afterInvalidation.doSomething(3, asyncResult -> result.set(asyncResult.result()));
+    await().atMost(5, SECONDS).until(() -> result.get() == 7);
+    assertEquals(7, result.get());
+  }
+
+  @Test
+  public void testProxySharedForEqualOptions() {
+    final IntegerProxyService proxy = registry.getOrCreate(ADDRESS, IntegerProxyService.class,
+        new DeliveryOptions().addHeader("a", "1").addHeader("b", "2"));
+
+    assertSame(proxy, registry.getOrCreate(ADDRESS, IntegerProxyService.class,
+        new DeliveryOptions().addHeader("b", "2").addHeader("a", "1")));
+    // all values of multi-valued header tell options apart
+    final IntegerProxyService multiValued = registry.getOrCreate(ADDRESS,
+        IntegerProxyService.class, new DeliveryOptions().addHeader("a", "0").addHeader("a", "1")
+            .addHeader("b", "2"));
+    assertNotSame(proxy, multiValued);
+    assertNotSame(multiValued, registry.getOrCreate(ADDRESS, IntegerProxyService.class,
+        new DeliveryOptions().addHeader("a", "1").addHeader("a", "0").addHeader("b", "2")
+            .setCodecName("other")));
+  }
+}
@@ -0,0 +1,56 @@
+package org.deer.spring.vertx.core.test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.deer.spring.vertx.core.annotation.EnableClusterSingletons;
+import org.deer.spring.vertx.core.bootstrap.StartupTimings;
+import org.deer.spring.vertx.core.bootstrap.VertxBootstrap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {DeferredRegistrationTest.DeferredConfig.class})
+public class DeferredRegistrationTest {
+
+  @Autowired
+  private VertxBootstrap vertxBootstrap;
+
+  @Autowired
+  private IntegerProxyService integerService;
+
+  @Test
+  public void testSingletonRegisteredOnceVertxStarted() {
+    // registration does not block context refresh, so it may still be running
+    await().atMost(5, SECONDS).until(() -> vertxBootstrap.getTimings().phases().stream()
+        .anyMatch(phase -> phase.getName().equals("cluster-singletons-registration")));
+
+    final AtomicInteger result = new AtomicInteger();
+    integerService.doSomething(3, asyncResult -> result.set(asyncResult.result()));
+    await().atMost(5, SECONDS).until(() -> result.get() == 6);
+  }
+
+  @Configuration
+  @EnableClusterSingletons(basePackages = "org.deer.spring.vertx.core.test.annotated",
+      deferred = true)
+  public static class DeferredConfig {
+
+    @Bean(destroyMethod = "close")
+    public VertxBootstrap vertxBootstrap() {
+      return VertxBootstrap.local(new VertxOptions(), new StartupTimings());
+    }
+
+    @Bean(destroyMethod = "")
+    public Vertx vertx(final VertxBootstrap vertxBootstrap) {
+      return vertxBootstrap.getVertx();
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package org.deer.spring.vertx.core.test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.ExecutionMode;
+import org.deer.spring.vertx.core.SingletonOptions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExecutionModeTest {
+
+  private static final String ADDRESS = "execution-mode-integer-proxy-service";
+  private static final int CALLS = 4;
+
+  private Vertx vertx;
+  private BlockingIntegerService blockingService;
+
+  @Before
+  public void init() {
+    vertx = Vertx.vertx();
+    blockingService = new BlockingIntegerService();
+  }
+
+  @After
+  public void close() {
+    vertx.close();
+  }
+
+  @Test
+  public void testWorkerPoolRunsCallsConcurrently() throws Exception {
+    register(new SingletonOptions()
+        .setExecutionMode(ExecutionMode.WORKER_POOL)
+        .setWorkerPoolName("blocking-pool")
+        .setWorkerPoolSize(CALLS)
+        .setOrdered(false));
+
+    callAll(false);
+
+    assertEquals(CALLS, blockingService.maxConcurrency.get());
+    blockingService.threads.forEach(thread -> assertTrue(thread.startsWith("blocking-pool")));
+  }
+
+  @Test
+  public void testOrderedWorkerPoolRunsCallsInOrder() throws Exception {
+    register(new SingletonOptions()
+        .setExecutionMode(ExecutionMode.WORKER_POOL)
+        .setWorkerPoolSize(CALLS));
+
+    final List<Integer> results = callAll(false);
+
+    assertEquals(1, blockingService.maxConcurrency.get());
+    for (int i = 0; i < CALLS; i++) {
+      assertEquals(i, results.get(i).intValue());
+    }
+  }
+
+  @Test
+  public void testVirtualThreadsRunOffEventLoop() throws Exception {
+    register(new SingletonOptions()
+        .setExecutionMode(ExecutionMode.VIRTUAL_THREADS)
+        .setOrdered(false));
+
+    callAll(false);
+
+    assertFalse(blockingService.calledOnEventLoop.get());
+  }
+
+  @Test
+  public void testLocalDispatchUsesWorkerPool() throws Exception {
+    register(new SingletonOptions()
+        .setExecutionMode(ExecutionMode.WORKER_POOL)
+        .setWorkerPoolName("local-blocking-pool"));
+
+    callAll(true);
+
+    blockingService.threads.forEach(thread -> assertTrue(thread.startsWith("local-blocking-pool")));
+  }
+
+  private void register(final SingletonOptions options) {
+    new ClusterSingletonRegistratorBean(vertx).registerClusterWideSingleton(ADDRESS,
+        IntegerProxyService.class, () -> blockingService, options);
+  }
+
+  private List<Integer> callAll(final boolean localDispatch) throws Exception {
+    final IntegerProxyService service = new ClusterSingletonProxyFactory<>(ADDRESS, vertx,
+        IntegerProxyService.class)
+        .setLocalDispatch(localDispatch)
+        .getObject();
+
+    final List<Integer> results = new CopyOnWriteArrayList<>();
+    for (int i = 0; i < CALLS; i++) {
+      service.doSomething(i, asyncResult -> results.add(asyncResult.result()));
+    }
+    await().atMost(5, SECONDS).until(() -> results.size() == CALLS);
+    return results;
+  }
+
+  private static final class BlockingIntegerService implements IntegerProxyService {
+
+    private final AtomicInteger concurrency = new AtomicInteger();
+    private final AtomicInteger maxConcurrency = new AtomicInteger();
+    private final List<String> threads = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean calledOnEventLoop = new AtomicBoolean();
+
+    @Override
+    public void doSomething(int input,
+        Handler<AsyncResult<Integer>> resultHandler) {
+      calledOnEventLoop.compareAndSet(false, Context.isOnEventLoopThread());
+      threads.add(Thread.currentThread().getName());
+      maxConcurrency.accumulateAndGet(concurrency.incrementAndGet(), Math::max);
+      try {
+        // blocks as JDBC call would
+        Thread.sleep(200);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      concurrency.decrementAndGet();
+      resultHandler.handle(Future.succeededFuture(input));
+    }
+  }
+}
@@ -0,0 +1,196 @@
+package org.deer.spring.vertx.core.test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.proxy.CallTimeouts;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FailoverTest {
+
+  private static final String INTEGER_ADDRESS = "failover-integer-proxy-service";
+  private static final String STRING_ADDRESS = "failover-string-proxy-service";
+  private static final String DELAYED_ADDRESS = "failover-delayed-integer-proxy-service";
+
+  private Vertx vertx;
+  private AtomicInteger calls;
+  private AtomicLong delay;
+
+  @Before
+  public void init() {
+    vertx = Vertx.vertx();
+    calls = new AtomicInteger();
+    delay = new AtomicLong();
+    final ClusterSingletonRegistratorBean registrator = new ClusterSingletonRegistratorBean(vertx);
+    // negative input is never replied, as if the owner was stuck
+    registrator.registerClusterWideSingleton(INTEGER_ADDRESS, IntegerProxyService.class,
+        () -> (IntegerProxyService) (input, resultHandler) -> {
+          calls.incrementAndGet();
+          if (input >= 0) {
+            resultHandler.handle(Future.succeededFuture(input));
+          }
+        });
+    // only the first call is stuck
+    registrator.registerClusterWideSingleton(STRING_ADDRESS, StringProxyService.class,
+        () -> (StringProxyService) (input, resultHandler) -> {
+          if (calls.incrementAndGet() > 1) {
+            resultHandler.handle(Future.succeededFuture(input));
+          }
+        });
+    // replies after current delay
+    registrator.registerClusterWideSingleton(DELAYED_ADDRESS, IntegerProxyService.class,
+        () -> (IntegerProxyService) (input, resultHandler) -> {
+          if (delay.get() == 0) {
+            resultHandler.handle(Future.succeededFuture(input));
+          } else {
+            vertx.setTimer(delay.get(), id -> resultHandler.handle(Future.succeededFuture(input)));
+          }
+        });
+  }
+
+  @After
+  public void close() {
+    vertx.close();
+  }
+
+  @Test
+  public void testTimeoutAdaptsToLatency() throws Exception {
+    final IntegerProxyService service = new ClusterSingletonProxyFactory<>(INTEGER_ADDRESS,
+        vertx, IntegerProxyService.class)
+        .setAdaptiveTimeout(50, 10000)
+        .getObject();
+
+    final AtomicInteger replies = new AtomicInteger();
+    for (int i = 0; i < 64; i++) {
+      service.doSomething(i, asyncResult -> replies.incrementAndGet());
+    }
+    await().atMost(5, SECONDS).until(() -> replies.get() == 64);
+    assertTrue(CallTimeouts.forService(vertx, INTEGER_ADDRESS, 50, 10000)
+        .timeout("doSomething") < 1000);
+
+    final List<AsyncResult<Integer>> results = new CopyOnWriteArrayList<>();
+    final long start = System.nanoTime();
+    service.doSomething(-1, results::add);
+    await().atMost(5, SECONDS).until(() -> results.size() == 1);
+
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+    assertEquals(ReplyFailure.TIMEOUT, ((ReplyException) results.get(0).cause()).failureType());
+  }
+
+  @Test
+  public void testTimeoutFollowsLatencyThatRoseForGood() throws Exception {
+    final IntegerProxyService service = new ClusterSingletonProxyFactory<>(DELAYED_ADDRESS,
+        vertx, IntegerProxyService.class)
+        .setAdaptiveTimeout(50, 10000)
+        .getObject();
+    final CallTimeouts timeouts = CallTimeouts.forService(vertx, DELAYED_ADDRESS, 50, 10000);
+    for (int i = 0; i < 64; i++) {
+      assertTrue(call(service, i).succeeded());
+    }
+    assertEquals(50, timeouts.timeout("doSomething"));
+
+    delay.set(300);
+    final List<AsyncResult<Integer>> results = new ArrayList<>();
+    do {
+      results.add(call(service, results.size()));
+    } while (results.get(results.size() - 1).failed() && results.size() < 10);
+
+    // each timed out call doubles the timeout, until it is above the new latency
+    assertEquals(4, results.size());
+    assertTrue(results.get(3).succeeded());
+    assertTrue(timeouts.timeout("doSomething") > 300);
+  }
+
+  @Test
+  public void testTimeoutKeptForEachMethod() {
+    final CallTimeouts timeouts = CallTimeouts.forService(vertx, "per-method-timeouts", 50,
+        10000);
+    for (int i = 0; i < 64; i++) {
+      timeouts.record("fast", TimeUnit.MILLISECONDS.toNanos(1));
+      timeouts.record("slow", TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    assertEquals(50, timeouts.timeout("fast"));
+    assertEquals(2004, timeouts.timeout("slow"));
+    assertEquals(10000, timeouts.timeout("unknown"));
+  }
+
+  @Test
+  public void testTimeoutsKeptForEachBounds() throws Exception {
+    final IntegerProxyService adaptive = new ClusterSingletonProxyFactory<>(DELAYED_ADDRESS,
+        vertx, IntegerProxyService.class)
+        .setAdaptiveTimeout(50, 10000)
+        .getObject();
+    for (int i = 0; i < 64; i++) {
+      assertTrue(call(adaptive, i).succeeded());
+    }
+    final CallTimeouts timeouts = CallTimeouts.forService(vertx, DELAYED_ADDRESS, 50, 10000);
+    assertEquals(50, timeouts.timeout("doSomething"));
+
+    // proxy with retries only keeps bounds of its send timeout
+    final IntegerProxyService retrying = new ClusterSingletonProxyFactory<>(DELAYED_ADDRESS,
+        vertx, IntegerProxyService.class)
+        .setFailoverRetries(1)
+        .getObject();
+    delay.set(300);
+    assertTrue(call(retrying, 1).succeeded());
+    assertEquals(50, timeouts.timeout("doSomething"));
+  }
+
+  @Test
+  public void testIdempotentCallRetried() throws Exception {
+    final StringProxyService service = new ClusterSingletonProxyFactory<>(STRING_ADDRESS, vertx,
+        StringProxyService.class)
+        .setAdaptiveTimeout(50, 300)
+        .setFailoverRetries(1)
+        .getObject();
+
+    final List<AsyncResult<String>> results = new CopyOnWriteArrayList<>();
+    service.doSomething("retried", results::add);
+    await().atMost(5, SECONDS).until(() -> results.size() == 1);
+
+    assertEquals("retried", results.get(0).result());
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void testOtherCallsNotRetried() throws Exception {
+    final IntegerProxyService service = new ClusterSingletonProxyFactory<>(INTEGER_ADDRESS,
+        vertx, IntegerProxyService.class)
+        .setAdaptiveTimeout(50, 300)
+        .setFailoverRetries(1)
+        .getObject();
+
+    final List<AsyncResult<Integer>> results = new CopyOnWriteArrayList<>();
+    service.doSomething(-1, results::add);
+    await().atMost(5, SECONDS).until(() -> results.size() == 1);
+
+    assertTrue(results.get(0).failed());
+    assertEquals(1, calls.get());
+  }
+
+  private static AsyncResult<Integer> call(final IntegerProxyService service, final int input)
+      throws Exception {
+    final CompletableFuture<AsyncResult<Integer>> result = new CompletableFuture<>();
+    service.doSomething(input, result::complete);
+    return result.get(5, SECONDS);
+  }
+}
@@ -0,0 +1,134 @@
+package org.deer.spring.vertx.core.test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.SingletonDirectory;
+import org.deer.spring.vertx.core.SingletonRegistration;
+import org.deer.spring.vertx.core.test.cluster.LocalCluster;
+import org.deer.spring.vertx.core.test.cluster.LocalCluster.Node;
+import org.deer.spring.vertx.core.test.impl.IntegerProxyServiceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+public class HandoverTest {
+
+  private static final String ADDRESS = "handover-integer-proxy-service";
+  // calls are completed by the test, in order they were received, on any node
+  private static final Queue<Handler<AsyncResult<Integer>>> PENDING =
+      new ConcurrentLinkedQueue<>();
+
+  private Vertx vertx;
+  private ClusterSingletonRegistratorBean registrator;
+
+  @Before
+  public void init() {
+    PENDING.clear();
+    vertx = Vertx.vertx();
+    registrator = new ClusterSingletonRegistratorBean(vertx);
+    registrator.registerClusterWideSingleton(ADDRESS, IntegerProxyService.class,
+        HandoverTest::parkingService);
+  }
+
+  @After
+  public void close() {
+    vertx.close();
+  }
+
+  @Test
+  public void testHandoverWaitsForCallsInFlight() throws Exception {
+    try (LocalCluster cluster = new LocalCluster(ParkingNodeConfig.class)) {
+      final List<Node> nodes = cluster.startNodes(2);
+      final SingletonDirectory directory = SingletonDirectory.forVertx(nodes.get(0).getVertx());
+      await().atMost(5, SECONDS).until(() -> directory.isLoaded()
+          && directory.whereIs(ADDRESS) != null);
+      final Node owner = cluster.getNode(directory.whereIs(ADDRESS));
+      final Node caller = nodes.stream()
+          .filter(node -> node != owner)
+          .findFirst()
+          .orElseThrow(IllegalStateException::new);
+
+      final IntegerProxyService service = caller.getBean(IntegerProxyService.class);
+      final List<AsyncResult<Integer>> results = new CopyOnWriteArrayList<>();
+      service.doSomething(1, results::add);
+      await().atMost(5, SECONDS).until(() -> PENDING.size() == 1);
+
+      final CompletableFuture<Void> handover =
+          owner.getBean(ClusterSingletonRegistratorBean.class).handOver();
+      // call received during handover is parked, not executed by leaving instance
+      service.doSomething(2, results::add);
+      Thread.sleep(200);
+      assertFalse(handover.isDone());
+      assertEquals(1, PENDING.size());
+
+      PENDING.poll().handle(Future.succeededFuture(1));
+      // parked call is forwarded to the successor once the leaving instance is undeployed
+      await().atMost(10, SECONDS).until(() -> PENDING.size() == 1);
+      PENDING.poll().handle(Future.succeededFuture(2));
+      handover.get(10, SECONDS);
+
+      await().atMost(5, SECONDS).until(() -> results.size() == 2);
+      assertTrue(results.stream().allMatch(AsyncResult::succeeded));
+      assertEquals(caller.getNodeId(), directory.whereIs(ADDRESS));
+    }
+  }
+
+  @Test
+  public void testSingletonDeployedAgainAfterHandover() throws Exception {
+    registrator.setDrainTimeout(100).handOver().get(5, SECONDS);
+
+    // no other member took the singleton, so its marker is gone and next node deploys it
+    new ClusterSingletonRegistratorBean(vertx).registerClusterWideSingleton(ADDRESS,
+        IntegerProxyService.class, () -> new IntegerProxyServiceImpl(vertx, ADDRESS));
+
+    final List<Integer> results = new CopyOnWriteArrayList<>();
+    new ClusterSingletonProxyFactory<>(ADDRESS, vertx, IntegerProxyService.class).getObject()
+        .doSomething(3, asyncResult -> results.add(asyncResult.result()));
+    await().atMost(5, SECONDS).until(() -> results.size() == 1);
+    assertEquals(7, results.get(0).intValue());
+  }
+
+  private static IntegerProxyService parkingService() {
+    return (input, resultHandler) -> PENDING.add(resultHandler);
+  }
+
+  /**
+   * Node of {@link LocalCluster} that hosts the parking singleton
+   */
+  @Configuration
+  public static class ParkingNodeConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ClusterSingletonRegistratorBean registrator(final Vertx vertx) {
+      final ClusterSingletonRegistratorBean registrator =
+          new ClusterSingletonRegistratorBean(vertx).setDrainTimeout(1000);
+      registrator.registerAll(Collections.singletonList(SingletonRegistration.of(ADDRESS,
+          IntegerProxyService.class, HandoverTest::parkingService))).join();
+      return registrator;
+    }
+
+    @Bean
+    public FactoryBean<IntegerProxyService> parkingService(final Vertx vertx) {
+      return new ClusterSingletonProxyFactory<>(ADDRESS, vertx, IntegerProxyService.class);
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package org.deer.spring.vertx.core.test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+
+import io.vertx.core.Vertx;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.test.impl.IntegerProxyServiceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LocalDispatchTest {
+
+  private static final String ADDRESS = "local-integer-proxy-service";
+
+  private Vertx vertx;
+  private AtomicInteger sentMessages;
+
+  @Before
+  public void init() {
+    vertx = Vertx.vertx();
+    new ClusterSingletonRegistratorBean(vertx)
+        .registerClusterWideSingleton(ADDRESS, IntegerProxyService.class,
+            () -> new IntegerProxyServiceImpl(vertx, ADDRESS));
+
+    sentMessages = new AtomicInteger();
+    vertx.eventBus().addInterceptor(sendContext -> {
+      if (ADDRESS.equals(sendContext.message().address())) {
+        sentMessages.incrementAndGet();
+      }
+      sendContext.next();
+    });
+  }
+
+  @After
+  public void close() {
+    vertx.close();
+  }
+
+  @Test
+  public void testLocalSingletonCalledWithoutEventBus() throws Exception {
+    final IntegerProxyService service = new ClusterSingletonProxyFactory<>(ADDRESS, vertx,
+        IntegerProxyService.class)
+        .setLocalDispatch(true)
+        .getObject();
+
+    final AtomicInteger result = new AtomicInteger();
+    service.doSomething(3, asyncResult -> result.set(asyncResult.result()));
+    await().atMost(5, SECONDS).until(() -> result.get() == 7);
+
+    assertEquals(0, sentMessages.get());
+  }
+
+  @Test
+  public void testEventBusUsedWhenNotDeployedLocally() throws Exception {
+    final IntegerProxyService service = new ClusterSingletonProxyFactory<>("other-address",
+        vertx, IntegerProxyService.class)
+        .setLocalDispatch(true)
+        .getObject();
+
+    final AtomicInteger failures = new AtomicInteger();
+    service.doSomething(3, asyncResult -> {
+      if (asyncResult.failed()) {
+        failures.incrementAndGet();
+      }
+    });
+    await().atMost(5, SECONDS).until(() -> failures.get() == 1);
+  }
+}
@@ -0,0 +1,36 @@
+package org.deer.spring.vertx.core.test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import org.deer.spring.vertx.core.cache.CachedQuery;
+
+/**
+ * Service with overloaded methods. ProxyGen does not allow overloading, so proxy handlers are
+ * tested on this interface directly
+ */
+public interface OverloadedService {
+
+  @CachedQuery
+  void find(String key, Handler<AsyncResult<String>> resultHandler);
+
+  @CachedQuery
+  void find(CharSequence key, Handler<AsyncResult<String>> resultHandler);
+
+  /**
+   * @return service replying with the key prefixed by type of the key
+   */
+  static OverloadedService prefixing() {
+    return new OverloadedService() {
+      @Override
+      public void find(String key, Handler<AsyncResult<String>> resultHandler) {
+        resultHandler.handle(Future.succeededFuture("string-" + key));
+      }
+
+      @Override
+      public void find(CharSequence key, Handler<AsyncResult<String>> resultHandler) {
+        resultHandler.handle(Future.succeededFuture("chars-" + key));
+      }
+    };
+  }
+}
@@ -0,0 +1,110 @@
+package org.deer.spring.vertx.core.test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.deer.spring.vertx.core.ClusterNodes;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.SingletonOptions;
+import org.deer.spring.vertx.core.SingletonRegistration;
+import org.deer.spring.vertx.core.placement.NodeLoad;
+import org.deer.spring.vertx.core.placement.NodeLoadPublisher;
+import org.deer.spring.vertx.core.placement.PlacementStrategy;
+import org.deer.spring.vertx.core.test.impl.IntegerProxyServiceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PlacementTest {
+
+  private static final String ADDRESS = "placed-integer-proxy-service";
+
+  private Vertx vertx;
+  private List<NodeLoad> candidates;
+
+  @Before
+  public void init() {
+    vertx = Vertx.vertx();
+    candidates = Arrays.asList(
+        new NodeLoad("node-a", 0.5, 3, Collections.emptySet()),
+        new NodeLoad("node-b", 0.9, 1, Collections.singleton("gpu")),
+        new NodeLoad("node-c", 0.1, 1, Collections.emptySet()));
+  }
+
+  @After
+  public void close() {
+    vertx.close();
+  }
+
+  @Test
+  public void testLeastLoadedSelectsFewestSingletons() {
+    assertEquals("node-c", select(PlacementStrategy.leastLoaded()));
+  }
+
+  @Test
+  public void testRoundRobinTakesTurns() {
+    final PlacementStrategy strategy = PlacementStrategy.roundRobin();
+    assertEquals("node-a", select(strategy));
+    assertEquals("node-b", select(strategy));
+    assertEquals("node-c", select(strategy));
+    assertEquals("node-a", select(strategy));
+  }
+
+  @Test
+  public void testNodeLoadEncoding() {
+    final NodeLoad load = NodeLoad.decode(candidates.get(1).encode());
+    assertEquals("node-b", load.getNodeId());
+    assertEquals(1, load.getSingletonCount());
+    assertEquals(Collections.singleton("gpu"), load.getTags());
+  }
+
+  @Test
+  public void testSingletonPlacedOnTaggedNode() throws Exception {
+    final NodeLoadPublisher publisher =
+        new NodeLoadPublisher(vertx, Collections.singleton("gpu"));
+    join(publisher.start());
+
+    new ClusterSingletonRegistratorBean(vertx)
+        .setPlacementStrategy(PlacementStrategy.leastLoaded())
+        .registerAll(Collections.singletonList(SingletonRegistration.of(ADDRESS,
+            IntegerProxyService.class, () -> new IntegerProxyServiceImpl(vertx, ADDRESS),
+            new SingletonOptions().setPlacementTags(Collections.singleton("gpu")))))
+        .get(5, SECONDS);
+
+    final AtomicInteger result = new AtomicInteger();
+    new ClusterSingletonProxyFactory<>(ADDRESS, vertx, IntegerProxyService.class).getObject()
+        .doSomething(3, asyncResult -> result.set(asyncResult.result()));
+    await().atMost(5, SECONDS).until(() -> result.get() == 7);
+
+    join(publisher.publish());
+    final List<NodeLoad> loads = join(NodeLoadPublisher.currentLoads(vertx));
+    assertEquals(1, loads.size());
+    assertEquals(ClusterNodes.localNodeId(vertx), loads.get(0).getNodeId());
+    assertEquals(1, loads.get(0).getSingletonCount());
+  }
+
+  private String select(final PlacementStrategy strategy) {
+    return join(strategy.select(vertx, null, candidates));
+  }
+
+  private static <T> T join(final Future<T> future) {
+    final CompletableFuture<T> completable = new CompletableFuture<>();
+    future.setHandler(result -> {
+      if (result.succeeded()) {
+        completable.complete(result.result());
+      } else {
+        completable.completeExceptionally(result.cause());
+      }
+    });
+    return completable.join();
+  }
+}
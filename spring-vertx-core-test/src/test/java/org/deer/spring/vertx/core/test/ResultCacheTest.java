@@ -0,0 +1,126 @@
+package org.deer.spring.vertx.core.test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+
+import io.vertx.core.Vertx;
+import java.util.concurrent.atomic.AtomicReference;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.cache.CachingServiceProxyHandler;
+import org.deer.spring.vertx.core.cache.ResultCache;
+import org.deer.spring.vertx.core.proxy.ServiceProxies;
+import org.deer.spring.vertx.core.test.impl.CatalogServiceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResultCacheTest {
+
+  private static final String ADDRESS = "cached-catalog-service";
+
+  private Vertx vertx;
+  private CatalogServiceImpl catalog;
+
+  @Before
+  public void init() {
+    vertx = Vertx.vertx();
+    catalog = new CatalogServiceImpl(vertx, ADDRESS);
+    new ClusterSingletonRegistratorBean(vertx)
+        .registerClusterWideSingleton(ADDRESS, CatalogService.class, () -> catalog);
+  }
+
+  @After
+  public void close() {
+    vertx.close();
+  }
+
+  @Test
+  public void testQueriesServedFromCache() throws Exception {
+    final CatalogService service = cachingProxy(60000);
+    put(service, "key", "first");
+
+    assertEquals("first", get(service, "key"));
+    assertEquals("first", get(cachingProxy(60000), "key"));
+    assertEquals(1, catalog.getReads());
+  }
+
+  @Test
+  public void testInvalidationPublishedBySingleton() throws Exception {
+    final CatalogService service = cachingProxy(60000);
+    put(service, "key", "first");
+    assertEquals("first", get(service, "key"));
+
+    // other node changes the state, singleton publishes invalidation
+    put(new ClusterSingletonProxyFactory<>(ADDRESS, vertx, CatalogService.class).getObject(),
+        "key", "second");
+    await().atMost(5, SECONDS)
+        .until(() -> ResultCache.forService(vertx, ADDRESS, 100, 60000).size() == 0);
+
+    assertEquals("second", get(service, "key"));
+    assertEquals(2, catalog.getReads());
+  }
+
+  @Test
+  public void testCachedResultExpires() throws Exception {
+    final CatalogService service = cachingProxy(100);
+    put(service, "key", "first");
+    get(service, "key");
+
+    Thread.sleep(200);
+    get(service, "key");
+    assertEquals(2, catalog.getReads());
+  }
+
+  @Test
+  public void testProxiesWithOtherBoundsUseOwnCache() throws Exception {
+    final CatalogService service = cachingProxy(60000);
+    final CatalogService shortLived = cachingProxy(100);
+    put(service, "key", "first");
+    get(service, "key");
+
+    get(shortLived, "key");
+    assertEquals(2, catalog.getReads());
+
+    Thread.sleep(200);
+    get(service, "key");
+    get(shortLived, "key");
+    assertEquals(3, catalog.getReads());
+  }
+
+  @Test
+  public void testOverloadedQueriesCachedSeparately() {
+    final OverloadedService service = ServiceProxies.decorate(new CachingServiceProxyHandler<>(
+        OverloadedService.class, OverloadedService.prefixing(),
+        ResultCache.forService(vertx, "overloaded-service", 100, 60000)));
+
+    final AtomicReference<String> stringResult = new AtomicReference<>();
+    service.find("key", result -> stringResult.set(result.result()));
+    final AtomicReference<String> charsResult = new AtomicReference<>();
+    service.find((CharSequence) "key", result -> charsResult.set(result.result()));
+
+    assertEquals("string-key", stringResult.get());
+    assertEquals("chars-key", charsResult.get());
+    assertEquals(2, ResultCache.forService(vertx, "overloaded-service", 100, 60000).size());
+  }
+
+  private CatalogService cachingProxy(final long timeToLive) throws Exception {
+    return new ClusterSingletonProxyFactory<>(ADDRESS, vertx, CatalogService.class)
+        .setResultCache(100, timeToLive)
+        .getObject();
+  }
+
+  private static void put(final CatalogService service, final String key, final String value) {
+    final AtomicReference<Boolean> done = new AtomicReference<>();
+    service.put(key, value, result -> done.set(result.succeeded()));
+    await().atMost(5, SECONDS).until(() -> Boolean.TRUE.equals(done.get()));
+  }
+
+  private static String get(final CatalogService service, final String key) {
+    final AtomicReference<String> value = new AtomicReference<>();
+    service.get(key, result -> value.set(result.result()));
+    await().atMost(5, SECONDS).until(() -> value.get() != null);
+    return value.get();
+  }
+}
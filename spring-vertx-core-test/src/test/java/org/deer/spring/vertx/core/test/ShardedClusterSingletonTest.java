@@ -0,0 +1,56 @@
+package org.deer.spring.vertx.core.test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.ShardKeyExtractor;
+import org.deer.spring.vertx.core.ShardedClusterSingletonProxyFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ShardedClusterSingletonTest {
+
+  private static final String ADDRESS = "sharded-integer-proxy-service";
+  private static final int PARTITIONS = 4;
+
+  private Vertx vertx;
+
+  @Before
+  public void init() {
+    vertx = Vertx.vertx();
+    new ClusterSingletonRegistratorBean(vertx)
+        .registerShardedSingleton(ADDRESS, IntegerProxyService.class, PARTITIONS,
+            partition -> (IntegerProxyService) (input, resultHandler) ->
+                resultHandler.handle(Future.succeededFuture(partition * 100 + input)))
+        .join();
+  }
+
+  @After
+  public void close() {
+    vertx.close();
+  }
+
+  @Test
+  public void testCallsRoutedByKey() throws Exception {
+    final IntegerProxyService service = new ShardedClusterSingletonProxyFactory<>(ADDRESS, vertx,
+        IntegerProxyService.class, PARTITIONS, ShardKeyExtractor.firstArgument(), null)
+        .getObject();
+
+    final Map<Integer, Integer> results = new ConcurrentHashMap<>();
+    for (int key = 0; key < 10; key++) {
+      final int input = key;
+      service.doSomething(input, result -> results.put(input, result.result()));
+    }
+
+    await().atMost(5, SECONDS).until(() -> results.size() == 10);
+    results.forEach((input, result) -> assertEquals(
+        ShardKeyExtractor.partitionOf(input, PARTITIONS) * 100 + input, result.intValue()));
+  }
+}
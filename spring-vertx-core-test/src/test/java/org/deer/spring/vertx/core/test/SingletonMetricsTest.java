@@ -0,0 +1,89 @@
+package org.deer.spring.vertx.core.test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.metrics.InMemorySingletonMetrics;
+import org.deer.spring.vertx.core.metrics.MeteredServiceProxyHandler;
+import org.deer.spring.vertx.core.proxy.ServiceProxies;
+import org.deer.spring.vertx.core.test.impl.IntegerProxyServiceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SingletonMetricsTest {
+
+  private static final String ADDRESS = "metrics-integer-proxy-service";
+
+  private Vertx vertx;
+  private InMemorySingletonMetrics metrics;
+
+  @Before
+  public void init() {
+    vertx = Vertx.vertx();
+    metrics = new InMemorySingletonMetrics();
+    new ClusterSingletonRegistratorBean(vertx)
+        .setMetrics(metrics)
+        .registerClusterWideSingleton(ADDRESS, IntegerProxyService.class,
+            () -> new IntegerProxyServiceImpl(vertx, ADDRESS));
+  }
+
+  @After
+  public void close() {
+    vertx.close();
+  }
+
+  @Test
+  public void testRegistrationAndCallsRecorded() throws Exception {
+    final IntegerProxyService service = new ClusterSingletonProxyFactory<>(ADDRESS, vertx,
+        IntegerProxyService.class)
+        .setMetrics(metrics)
+        .getObject();
+
+    final AtomicInteger finished = new AtomicInteger();
+    for (int i = 0; i < 5; i++) {
+      service.doSomething(i, result -> finished.incrementAndGet());
+    }
+    await().atMost(5, SECONDS).until(() -> finished.get() == 5);
+
+    final JsonObject snapshot = metrics.snapshot();
+    final String descriptor = ADDRESS + "[" + IntegerProxyService.class.getName() + "]";
+    assertEquals(1L, snapshot.getJsonObject("registration").getJsonObject(descriptor)
+        .getLong("count").longValue());
+    assertEquals(1L, snapshot.getJsonObject("deploy").getJsonObject(descriptor)
+        .getLong("count").longValue());
+
+    final JsonObject calls = snapshot.getJsonObject("calls")
+        .getJsonObject(ADDRESS + ".doSomething");
+    assertEquals(5L, calls.getLong("count").longValue());
+    assertEquals(0L, calls.getLong("inFlight").longValue());
+    assertEquals(0L, calls.getLong("failures").longValue());
+  }
+
+  @Test
+  public void testOverloadedMethodsRecordedSeparately() {
+    final OverloadedService service = ServiceProxies.decorate(new MeteredServiceProxyHandler<>(
+        OverloadedService.class, OverloadedService.prefixing(), "overloaded-service", metrics));
+
+    service.find("key", result -> {
+    });
+    service.find((CharSequence) "key", result -> {
+    });
+    service.find((CharSequence) "key", result -> {
+    });
+
+    final JsonObject calls = metrics.snapshot().getJsonObject("calls");
+    assertEquals(1L, calls.getJsonObject(
+        "overloaded-service.find(java.lang.String,io.vertx.core.Handler)")
+        .getLong("count").longValue());
+    assertEquals(2L, calls.getJsonObject(
+        "overloaded-service.find(java.lang.CharSequence,io.vertx.core.Handler)")
+        .getLong("count").longValue());
+  }
+}
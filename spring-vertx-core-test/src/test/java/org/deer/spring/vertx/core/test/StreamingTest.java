@@ -0,0 +1,114 @@
+package org.deer.spring.vertx.core.test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.test.impl.CatalogServiceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StreamingTest {
+
+  private static final String ADDRESS = "streaming-catalog-service";
+  private static final int WINDOW = 8;
+
+  private Vertx vertx;
+  private CatalogServiceImpl catalog;
+  private CatalogStreams streams;
+
+  @Before
+  public void init() throws Exception {
+    vertx = Vertx.vertx();
+    catalog = new CatalogServiceImpl(vertx, ADDRESS);
+    new ClusterSingletonRegistratorBean(vertx)
+        .registerClusterWideSingleton(ADDRESS, CatalogService.class, () -> catalog);
+    streams = new ClusterSingletonProxyFactory<>(ADDRESS, vertx, CatalogStreams.class)
+        .setStreamWindow(WINDOW)
+        .getObject();
+  }
+
+  @After
+  public void close() {
+    vertx.close();
+  }
+
+  @Test
+  public void testItemsStreamedInOrder() {
+    final List<JsonObject> items = new CopyOnWriteArrayList<>();
+    final AtomicBoolean ended = new AtomicBoolean();
+    streams.entries("key-", 100)
+        .endHandler(aVoid -> ended.set(true))
+        .handler(items::add);
+
+    await().atMost(5, SECONDS).until(ended::get);
+    assertEquals(100, items.size());
+    for (int i = 0; i < items.size(); i++) {
+      assertEquals("key-" + i, items.get(i).getString("key"));
+    }
+  }
+
+  @Test
+  public void testPausedStreamStopsSingleton() throws Exception {
+    final List<JsonObject> items = new CopyOnWriteArrayList<>();
+    final AtomicBoolean ended = new AtomicBoolean();
+    final ReadStream<JsonObject> stream = streams.entries("key-", 100);
+    stream.endHandler(aVoid -> ended.set(true))
+        .handler(item -> {
+          items.add(item);
+          stream.pause();
+        });
+
+    await().atMost(5, SECONDS).until(() -> items.size() == 1);
+    Thread.sleep(200);
+    // singleton stops once the window is used up
+    assertEquals(1, items.size());
+    assertEquals(WINDOW, catalog.getStreamed());
+
+    stream.handler(items::add).resume();
+    await().atMost(5, SECONDS).until(ended::get);
+    assertEquals(100, items.size());
+  }
+
+  @Test
+  public void testCancelledStreamStopsSingleton() throws Exception {
+    final ReadStream<JsonObject> stream = streams.entries("key-", 1000);
+    final List<JsonObject> items = new CopyOnWriteArrayList<>();
+    stream.handler(item -> {
+      items.add(item);
+      if (items.size() == 10) {
+        stream.handler(null);
+      }
+    });
+
+    await().atMost(5, SECONDS).until(() -> items.size() == 10);
+    Thread.sleep(200);
+    final int streamed = catalog.getStreamed();
+    Thread.sleep(200);
+    assertEquals(streamed, catalog.getStreamed());
+    assertTrue(streamed < 1000);
+  }
+
+  @Test
+  public void testFailureReportedToExceptionHandler() {
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    streams.entries("key-", -1)
+        .exceptionHandler(failure::set)
+        .handler(item -> {
+        });
+
+    await().atMost(5, SECONDS).until(() -> failure.get() != null);
+    assertEquals("Count must not be negative", failure.get().getMessage());
+  }
+}
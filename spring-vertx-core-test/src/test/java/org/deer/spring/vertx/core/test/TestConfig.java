@@ -3,12 +3,14 @@ package org.deer.spring.vertx.core.test;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
 import io.vertx.spi.cluster.hazelcast.HazelcastClusterManager;
-import java.util.concurrent.CompletableFuture;
+import java.util.Arrays;
 import java.util.concurrent.ExecutionException;
-import javax.annotation.PreDestroy;
 import javax.inject.Named;
 import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonProxyRegistry;
 import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.SingletonRegistration;
+import org.deer.spring.vertx.core.bootstrap.VertxBootstrap;
 import org.deer.spring.vertx.core.test.impl.IntegerProxyServiceImpl;
 import org.deer.spring.vertx.core.test.impl.StringProxyServiceImpl;
 import org.slf4j.Logger;
@@ -24,44 +26,35 @@ public class TestConfig {
 
   private static final Logger LOG = LoggerFactory.getLogger(TestConfig.class);
 
-  private static Vertx createClusteredNode()
-      throws InterruptedException, ExecutionException {
-
-    CompletableFuture<Vertx> vertxResult = new CompletableFuture<>();
-    Vertx.clusteredVertx(new VertxOptions()
-            .setMaxEventLoopExecuteTime(Long.MAX_VALUE)
-            .setEventLoopPoolSize(10)
-            .setClusterManager(new HazelcastClusterManager()),
-        vertxAsyncResult -> {
-          if (vertxAsyncResult.succeeded()) {
-            vertxResult.complete(vertxAsyncResult.result());
-          } else {
-            vertxResult.completeExceptionally(vertxAsyncResult.cause());
-          }
-        });
-    return vertxResult.get();
+  @Bean(destroyMethod = "close")
+  @Scope("singleton")
+  public VertxBootstrap vertxBootstrap() {
+    LOG.info("Creating instance of Vertx");
+    return VertxBootstrap.clustered(new VertxOptions()
+        .setMaxEventLoopExecuteTime(Long.MAX_VALUE)
+        .setEventLoopPoolSize(10)
+        .setClusterManager(new HazelcastClusterManager()));
   }
 
   @Bean
   @Scope("singleton")
-  public VertxHolder vertxHolder() {
-    LOG.info("Creating instance of Vertx");
-    final Vertx clusteredNode;
-    try {
-      clusteredNode = createClusteredNode();
-    } catch (InterruptedException | ExecutionException e) {
-      throw new IllegalStateException(e);
-    }
+  public VertxHolder vertxHolder(@Autowired final VertxBootstrap vertxBootstrap) {
+    return vertxBootstrap::getVertx;
+  }
 
-    return () -> clusteredNode;
+  @Bean
+  public ClusterSingletonProxyRegistry proxyRegistry(@Autowired final VertxHolder vertxHolder) {
+    return new ClusterSingletonProxyRegistry(vertxHolder.getVertx());
   }
 
   @Bean
   public FactoryBean<IntegerProxyService> testIntegerProxyService(
-      @Autowired final VertxHolder vertxHolder) {
+      @Autowired final VertxHolder vertxHolder,
+      @Autowired final ClusterSingletonProxyRegistry proxyRegistry) {
     return new ClusterSingletonProxyFactory<>("integer-proxy-service",
         vertxHolder.getVertx(),
-        IntegerProxyService.class);
+        IntegerProxyService.class,
+        proxyRegistry);
   }
 
   @Bean
@@ -72,7 +65,7 @@ public class TestConfig {
         StringProxyService.class);
   }
 
-  @Bean
+  @Bean(destroyMethod = "shutdown")
   @Scope("singleton")
   @Named("node-singleton-registrator")
   public ClusterSingletonRegistratorBean registrations(@Autowired final VertxHolder vertxHolder)
@@ -84,13 +77,14 @@ public class TestConfig {
     final ClusterSingletonRegistratorBean registratorBean =
         new ClusterSingletonRegistratorBean(vertx);
 
-    registratorBean.registerClusterWideSingleton("string-proxy-service",
-        StringProxyService.class,
-        () -> new StringProxyServiceImpl(vertx, "string-proxy-service"));
-
-    registratorBean.registerClusterWideSingleton("integer-proxy-service",
-        IntegerProxyService.class,
-        () -> new IntegerProxyServiceImpl(vertx, "integer-proxy-service"));
+    registratorBean.registerAll(Arrays.asList(
+        SingletonRegistration.of("string-proxy-service",
+            StringProxyService.class,
+            () -> new StringProxyServiceImpl(vertx, "string-proxy-service")),
+        SingletonRegistration.of("integer-proxy-service",
+            IntegerProxyService.class,
+            () -> new IntegerProxyServiceImpl(vertx, "integer-proxy-service"))))
+        .join();
 
     return registratorBean;
   }
@@ -98,10 +92,5 @@ public class TestConfig {
   public interface VertxHolder {
 
     Vertx getVertx();
-
-    @PreDestroy
-    default void preDestroy() {
-      getVertx().close();
-    }
   }
 }
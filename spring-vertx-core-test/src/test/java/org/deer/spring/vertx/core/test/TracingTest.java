@@ -0,0 +1,121 @@
+package org.deer.spring.vertx.core.test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.test.impl.IntegerProxyServiceImpl;
+import org.deer.spring.vertx.core.trace.CallSpan;
+import org.deer.spring.vertx.core.trace.CallSpan.Hop;
+import org.deer.spring.vertx.core.trace.CallSpan.Side;
+import org.deer.spring.vertx.core.trace.CallTracer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TracingTest {
+
+  private static final String ADDRESS = "traced-integer-proxy-service";
+
+  private Vertx vertx;
+
+  @Before
+  public void init() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void close() {
+    vertx.close();
+  }
+
+  @Test
+  public void testBothSidesOfCallRecorded() throws Exception {
+    final CallTracer tracer = new CallTracer(16, 1);
+    call(tracer, 1);
+    await().atMost(5, SECONDS).until(() -> tracer.recorded() == 2);
+
+    final Map<Side, CallSpan> spans = tracer.spans().stream()
+        .collect(Collectors.toMap(CallSpan::getSide, Function.identity()));
+    final CallSpan caller = spans.get(Side.CALLER);
+    final CallSpan singleton = spans.get(Side.SINGLETON);
+    assertEquals(caller.getTraceId(), singleton.getTraceId());
+    assertEquals("doSomething", caller.getMethod());
+    assertEquals("doSomething", singleton.getMethod());
+    assertFalse(caller.isFailed());
+
+    assertTrue(caller.getHopNanos(Hop.ENQUEUE) <= caller.getHopNanos(Hop.SEND));
+    assertTrue(caller.getHopNanos(Hop.SEND) <= caller.getHopNanos(Hop.REPLY));
+    assertTrue(singleton.getHopNanos(Hop.DEQUEUE) <= singleton.getHopNanos(Hop.START));
+    assertTrue(singleton.getHopNanos(Hop.START) <= singleton.getHopNanos(Hop.REPLY));
+    assertEquals(-1, caller.getHopNanos(Hop.DEQUEUE));
+  }
+
+  @Test
+  public void testBufferKeepsNewestSpans() throws Exception {
+    final CallTracer tracer = new CallTracer(4, 1);
+    call(tracer, 5);
+
+    await().atMost(5, SECONDS).until(() -> tracer.recorded() == 10);
+    final List<CallSpan> spans = tracer.spans();
+    assertEquals(4, spans.size());
+
+    final Path dump = Files.createTempFile("spring-vertx-trace", ".json");
+    try {
+      tracer.dump(dump);
+      final List<String> lines = Files.readAllLines(dump);
+      assertEquals(4, lines.size());
+      assertEquals(spans.get(3).getTraceId(),
+          new JsonObject(lines.get(3)).getString("traceId"));
+    } finally {
+      Files.delete(dump);
+    }
+  }
+
+  @Test
+  public void testCallsNotSampledAreNotTraced() throws Exception {
+    final CallTracer tracer = new CallTracer(16, 0);
+    final AtomicInteger tracedMessages = new AtomicInteger();
+    vertx.eventBus().addInterceptor(sendContext -> {
+      if (sendContext.message().headers().contains(CallTracer.TRACE_HEADER)) {
+        tracedMessages.incrementAndGet();
+      }
+      sendContext.next();
+    });
+
+    call(tracer, 3);
+
+    assertEquals(0, tracer.recorded());
+    assertEquals(0, tracedMessages.get());
+  }
+
+  private void call(final CallTracer tracer, final int calls) throws Exception {
+    new ClusterSingletonRegistratorBean(vertx)
+        .setTracer(tracer)
+        .registerClusterWideSingleton(ADDRESS, IntegerProxyService.class,
+            () -> new IntegerProxyServiceImpl(vertx, ADDRESS));
+    final IntegerProxyService service = new ClusterSingletonProxyFactory<>(ADDRESS, vertx,
+        IntegerProxyService.class)
+        .setTracer(tracer)
+        .getObject();
+
+    final AtomicInteger results = new AtomicInteger();
+    for (int i = 0; i < calls; i++) {
+      service.doSomething(i, asyncResult -> results.incrementAndGet());
+    }
+    await().atMost(5, SECONDS).until(() -> results.get() == calls);
+  }
+}
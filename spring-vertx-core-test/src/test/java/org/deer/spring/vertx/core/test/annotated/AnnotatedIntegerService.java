@@ -0,0 +1,16 @@
+package org.deer.spring.vertx.core.test.annotated;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import org.deer.spring.vertx.core.annotation.ClusterSingleton;
+import org.deer.spring.vertx.core.test.IntegerProxyService;
+
+@ClusterSingleton(address = "annotated-integer-proxy-service")
+public class AnnotatedIntegerService implements IntegerProxyService {
+
+  @Override
+  public void doSomething(int input, Handler<AsyncResult<Integer>> resultHandler) {
+    resultHandler.handle(Future.succeededFuture(input * 2));
+  }
+}
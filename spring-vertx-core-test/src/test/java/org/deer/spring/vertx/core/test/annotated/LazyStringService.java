@@ -0,0 +1,23 @@
+package org.deer.spring.vertx.core.test.annotated;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.deer.spring.vertx.core.annotation.ClusterSingleton;
+import org.deer.spring.vertx.core.test.StringProxyService;
+
+@ClusterSingleton(address = "lazy-string-proxy-service", lazy = true)
+public class LazyStringService implements StringProxyService {
+
+  public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+  public LazyStringService() {
+    INSTANCES.incrementAndGet();
+  }
+
+  @Override
+  public void doSomething(String input, Handler<AsyncResult<String>> resultHandler) {
+    resultHandler.handle(Future.succeededFuture("lazy-" + input));
+  }
+}
@@ -0,0 +1,72 @@
+package org.deer.spring.vertx.core.test.cluster;
+
+import io.vertx.core.Future;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Keeps fixed count of calls in flight until provided count of calls completes, recording latency
+ * and outcome of each call
+ */
+public class LoadGenerator {
+
+  private final int calls;
+  private final int concurrency;
+  private final Function<Integer, Future<?>> call;
+  private final AtomicInteger issued = new AtomicInteger();
+  private final AtomicInteger completed = new AtomicInteger();
+  private final CompletableFuture<LoadReport> report = new CompletableFuture<>();
+
+  private LoadReport.Recorder recorder;
+
+  /**
+   * @param calls count of calls to make
+   * @param concurrency count of calls in flight
+   * @param call makes call with provided sequence number, returned future completes with the call
+   */
+  public LoadGenerator(final int calls, final int concurrency,
+      final Function<Integer, Future<?>> call) {
+    this.calls = calls;
+    this.concurrency = concurrency;
+    this.call = call;
+  }
+
+  /**
+   * @return future completed once all calls complete
+   */
+  public CompletableFuture<LoadReport> start() {
+    recorder = new LoadReport.Recorder(calls);
+    if (calls == 0) {
+      report.complete(recorder.report());
+      return report;
+    }
+    for (int i = 0; i < Math.min(concurrency, calls); i++) {
+      next();
+    }
+    return report;
+  }
+
+  private void next() {
+    final int sequence = issued.getAndIncrement();
+    if (sequence >= calls) {
+      return;
+    }
+
+    final long start = System.nanoTime();
+    Future<?> result;
+    try {
+      result = call.apply(sequence);
+    } catch (RuntimeException e) {
+      result = Future.failedFuture(e);
+    }
+    result.setHandler(outcome -> {
+      recorder.record(System.nanoTime() - start, outcome.cause());
+      if (completed.incrementAndGet() == calls) {
+        report.complete(recorder.report());
+      } else {
+        next();
+      }
+    });
+  }
+}
@@ -0,0 +1,89 @@
+package org.deer.spring.vertx.core.test.cluster;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Latencies and failures of calls made by {@link LoadGenerator}
+ */
+public final class LoadReport {
+
+  private final long[] latencies;
+  private final List<Throwable> failures;
+  private final long durationNanos;
+
+  private LoadReport(long[] latencies, List<Throwable> failures, long durationNanos) {
+    this.latencies = latencies;
+    this.failures = failures;
+    this.durationNanos = durationNanos;
+  }
+
+  public int getCalls() {
+    return latencies.length;
+  }
+
+  public List<Throwable> getFailures() {
+    return failures;
+  }
+
+  /**
+   * @param percentile percentile from 0 to 100
+   * @return latency in milliseconds, that provided percentile of calls did not exceed
+   */
+  public double percentile(final double percentile) {
+    if (latencies.length == 0) {
+      return 0;
+    }
+    final int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+    return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1_000_000.0;
+  }
+
+  /**
+   * @return completed calls per second
+   */
+  public double throughput() {
+    return durationNanos == 0 ? 0 : latencies.length * 1_000_000_000.0 / durationNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("calls=%d, failures=%d, throughput=%.0f/s, p50=%.2fms, p90=%.2fms, "
+            + "p99=%.2fms, max=%.2fms, duration=%dms", latencies.length, failures.size(),
+        throughput(), percentile(50), percentile(90), percentile(99), percentile(100),
+        NANOSECONDS.toMillis(durationNanos));
+  }
+
+  /**
+   * Collects outcomes of calls, that may complete on different threads
+   */
+  static final class Recorder {
+
+    private final long start = System.nanoTime();
+    private final long[] latencies;
+    private final List<Throwable> failures = new ArrayList<>();
+
+    private int recorded;
+
+    Recorder(final int calls) {
+      this.latencies = new long[calls];
+    }
+
+    synchronized void record(final long latencyNanos, final Throwable failure) {
+      latencies[recorded++] = latencyNanos;
+      if (failure != null) {
+        failures.add(failure);
+      }
+    }
+
+    synchronized LoadReport report() {
+      final long[] sorted = Arrays.copyOf(latencies, recorded);
+      Arrays.sort(sorted);
+      return new LoadReport(sorted, Collections.unmodifiableList(new ArrayList<>(failures)),
+          System.nanoTime() - start);
+    }
+  }
+}
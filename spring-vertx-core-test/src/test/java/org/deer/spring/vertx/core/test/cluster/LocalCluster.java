@@ -0,0 +1,277 @@
+package org.deer.spring.vertx.core.test.cluster;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.config.NetworkConfig;
+import com.hazelcast.config.TcpIpConfig;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.spi.cluster.hazelcast.HazelcastClusterManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.deer.spring.vertx.core.ClusterNodes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Cluster of Hazelcast backed Vertx nodes running in this JVM, each with its own Spring context
+ * created from provided configuration classes. Nodes join each other over loopback by TCP/IP, so
+ * no multicast is needed, and each cluster uses unique group name, so it never joins other
+ * clusters of the same box. Vertx of the node is available to configuration as a bean
+ */
+public class LocalCluster implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LocalCluster.class);
+
+  public static final String LOOPBACK = "127.0.0.1";
+  private static final int BASE_PORT = 5801;
+  private static final int MAX_NODES = 10;
+  private static final long DEFAULT_TIMEOUT = 60000;
+
+  private final Class<?>[] configurations;
+  private final String groupName = "spring-vertx-local-cluster-" + UUID.randomUUID();
+  private final List<Node> nodes = new CopyOnWriteArrayList<>();
+
+  private long timeout = DEFAULT_TIMEOUT;
+
+  /**
+   * @param configurations Spring configuration classes of each node
+   */
+  public LocalCluster(final Class<?>... configurations) {
+    this.configurations = configurations;
+  }
+
+  /**
+   * @param timeout time in milliseconds to wait for start, stop and membership changes of nodes
+   */
+  public LocalCluster setTimeout(final long timeout) {
+    this.timeout = timeout;
+    return this;
+  }
+
+  /**
+   * Starts nodes concurrently, so their contexts register singletons at the same time, and waits
+   * until all of them see each other
+   *
+   * @return started nodes
+   */
+  public List<Node> startNodes(final int count) {
+    if (nodes.size() + count > MAX_NODES) {
+      throw new IllegalArgumentException("Local cluster supports at most " + MAX_NODES + " nodes");
+    }
+
+    final List<CompletableFuture<Node>> starts = IntStream.range(0, count)
+        .mapToObj(index -> CompletableFuture.supplyAsync(this::createNode))
+        .collect(Collectors.toList());
+    final List<Node> started = starts.stream()
+        .map(start -> join(start, "start of node"))
+        .collect(Collectors.toList());
+    awaitMembers(nodes.size());
+    return started;
+  }
+
+  public Node startNode() {
+    return startNodes(1).get(0);
+  }
+
+  /**
+   * Stops node in orderly way, its context is closed before Vertx leaves the cluster
+   */
+  public void stop(final Node node) {
+    LOG.info("Stopping node {}", node.getNodeId());
+    nodes.remove(node);
+    node.context.close();
+    closeVertx(node);
+    awaitMembers(nodes.size());
+  }
+
+  /**
+   * Kills node as a crash would, Hazelcast member is terminated without leaving the cluster and
+   * the context of the node is abandoned without being closed
+   */
+  public void kill(final Node node) {
+    LOG.info("Killing node {}", node.getNodeId());
+    nodes.remove(node);
+    // crashed process sends nothing, while its Vertx still runs until closed
+    node.vertx.eventBus().addInterceptor(sendContext -> {
+    });
+    node.clusterManager.getHazelcastInstance().getLifecycleService().terminate();
+    // close does not complete once cluster manager is gone, so it is not waited for
+    node.vertx.close();
+    awaitMembers(nodes.size());
+  }
+
+  /**
+   * Waits until every running node sees provided count of members
+   */
+  public void awaitMembers(final int count) {
+    final long deadline = System.currentTimeMillis() + timeout;
+    while (!nodes.stream().allMatch(node -> ClusterNodes.nodes(node.vertx).size() == count)) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new IllegalStateException("Cluster did not reach " + count + " members");
+      }
+      sleep(50);
+    }
+  }
+
+  /**
+   * @return running nodes, in order they were started
+   */
+  public List<Node> getNodes() {
+    return Collections.unmodifiableList(new ArrayList<>(nodes));
+  }
+
+  /**
+   * @return running node with provided id, null if there is none
+   */
+  public Node getNode(final String nodeId) {
+    return nodes.stream()
+        .filter(node -> node.getNodeId().equals(nodeId))
+        .findFirst()
+        .orElse(null);
+  }
+
+  /**
+   * @see LoadGenerator
+   */
+  public LoadReport generateLoad(final int calls, final int concurrency,
+      final Function<Integer, Future<?>> call) {
+    return join(new LoadGenerator(calls, concurrency, call).start(), "load generation");
+  }
+
+  @Override
+  public void close() {
+    new ArrayList<>(nodes).forEach(node -> {
+      nodes.remove(node);
+      node.context.close();
+      closeVertx(node);
+    });
+  }
+
+  private Node createNode() {
+    final HazelcastClusterManager clusterManager = new HazelcastClusterManager();
+    clusterManager.setConfig(loopbackConfig(clusterManager.loadConfig()));
+
+    final CompletableFuture<Vertx> vertxFuture = new CompletableFuture<>();
+    Vertx.clusteredVertx(new VertxOptions()
+        .setClusterManager(clusterManager)
+        .setClusterHost(LOOPBACK), result -> {
+      if (result.succeeded()) {
+        vertxFuture.complete(result.result());
+      } else {
+        vertxFuture.completeExceptionally(result.cause());
+      }
+    });
+    final Vertx vertx = join(vertxFuture, "start of Vertx");
+
+    final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+    context.getBeanFactory().registerSingleton("vertx", vertx);
+    context.register(configurations);
+    context.refresh();
+
+    final Node node = new Node(vertx, clusterManager, context);
+    LOG.info("Node {} started", node.getNodeId());
+    nodes.add(node);
+    return node;
+  }
+
+  private Config loopbackConfig(final Config config) {
+    config.getGroupConfig().setName(groupName);
+    config.setProperty("hazelcast.wait.seconds.before.join", "0");
+    config.setProperty("hazelcast.max.wait.seconds.before.join", "0");
+    config.setProperty("hazelcast.socket.bind.any", "false");
+    config.setProperty("hazelcast.shutdownhook.enabled", "false");
+    // killed nodes are detected within seconds
+    config.setProperty("hazelcast.heartbeat.interval.seconds", "1");
+    config.setProperty("hazelcast.max.no.heartbeat.seconds", "5");
+
+    final NetworkConfig network = config.getNetworkConfig()
+        .setPort(BASE_PORT)
+        .setPortAutoIncrement(true);
+    network.getInterfaces().setEnabled(true).setInterfaces(Collections.singleton(LOOPBACK));
+
+    final JoinConfig join = network.getJoin();
+    join.getMulticastConfig().setEnabled(false);
+    join.getAwsConfig().setEnabled(false);
+    final TcpIpConfig tcpIp = join.getTcpIpConfig().setEnabled(true).clear();
+    for (int i = 0; i < MAX_NODES; i++) {
+      tcpIp.addMember(LOOPBACK + ":" + (BASE_PORT + i));
+    }
+    return config;
+  }
+
+  private void closeVertx(final Node node) {
+    final CompletableFuture<Void> closed = new CompletableFuture<>();
+    node.vertx.close(result -> closed.complete(null));
+    join(closed, "close of Vertx");
+  }
+
+  private <T> T join(final CompletableFuture<T> future, final String action) {
+    try {
+      return future.get(timeout, MILLISECONDS);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Error during " + action, e.getCause());
+    } catch (TimeoutException e) {
+      throw new IllegalStateException(action + " timed out", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(action + " interrupted", e);
+    }
+  }
+
+  private static void sleep(final long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Node of local cluster
+   */
+  public static final class Node {
+
+    private final Vertx vertx;
+    private final HazelcastClusterManager clusterManager;
+    private final AnnotationConfigApplicationContext context;
+
+    private Node(Vertx vertx, HazelcastClusterManager clusterManager,
+        AnnotationConfigApplicationContext context) {
+      this.vertx = vertx;
+      this.clusterManager = clusterManager;
+      this.context = context;
+    }
+
+    public String getNodeId() {
+      return ClusterNodes.localNodeId(vertx);
+    }
+
+    public Vertx getVertx() {
+      return vertx;
+    }
+
+    public <T> T getBean(final Class<T> type) {
+      return context.getBean(type);
+    }
+
+    @Override
+    public String toString() {
+      return getNodeId();
+    }
+  }
+}
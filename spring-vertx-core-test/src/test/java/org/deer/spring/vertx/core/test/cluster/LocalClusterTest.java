@@ -0,0 +1,455 @@
+package org.deer.spring.vertx.core.test.cluster;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.AsyncMap;
+import io.vertx.serviceproxy.ServiceProxyBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.deer.spring.vertx.core.ClaimStrategy;
+import org.deer.spring.vertx.core.ClusterNodes;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.DeploymentMarker;
+import org.deer.spring.vertx.core.ShardKeyExtractor;
+import org.deer.spring.vertx.core.SingletonDirectory;
+import org.deer.spring.vertx.core.SingletonRegistration;
+import org.deer.spring.vertx.core.placement.NodeLoadPublisher;
+import org.deer.spring.vertx.core.placement.PlacementStrategy;
+import org.deer.spring.vertx.core.test.StringProxyService;
+import org.deer.spring.vertx.core.test.cluster.LocalCluster.Node;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+public class LocalClusterTest {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LocalClusterTest.class);
+  private static final long OWNER_TIMEOUT = 3000;
+
+  private LocalCluster cluster;
+
+  @Before
+  public void init() {
+    SingletonNodeConfig.DEPLOYMENTS.set(0);
+    cluster = new LocalCluster(SingletonNodeConfig.class);
+  }
+
+  @After
+  public void close() {
+    cluster.close();
+  }
+
+  @Test
+  public void testConcurrentRegistrationDeploysOnce() {
+    final List<Node> nodes = cluster.startNodes(3);
+
+    final Set<String> owners = nodes.stream()
+        .map(LocalClusterTest::owner)
+        .collect(Collectors.toSet());
+    assertEquals(1, owners.size());
+    assertEquals(1, SingletonNodeConfig.DEPLOYMENTS.get());
+  }
+
+  @Test
+  public void testRegisterAllDeploysEachSingletonOnce() {
+    final List<Node> nodes = cluster.startNodes(3);
+    final ConcurrentMap<String, AtomicInteger> deployments = new ConcurrentHashMap<>();
+
+    // registrations of all nodes run concurrently, none of them blocks the test thread
+    final List<CompletableFuture<Void>> registrations = nodes.stream()
+        .map(node -> new ClusterSingletonRegistratorBean(node.getVertx())
+            .registerAll(countedRegistrations(node, "register-all-", 5, deployments)))
+        .collect(Collectors.toList());
+    registrations.forEach(CompletableFuture::join);
+
+    assertEquals(5, deployments.size());
+    deployments.forEach((address, count) -> assertEquals(address, 1, count.get()));
+  }
+
+  @Test
+  public void testFailedRegistrationFailsRegisterAll() {
+    final Node node = cluster.startNode();
+    final ConcurrentMap<String, AtomicInteger> deployments = new ConcurrentHashMap<>();
+    final List<SingletonRegistration<StringProxyService>> registrations =
+        new ArrayList<>(countedRegistrations(node, "partially-failing-", 3, deployments));
+    registrations.add(SingletonRegistration.of("failing-service", StringProxyService.class,
+        () -> {
+          throw new IllegalStateException("Instance of failing service not created");
+        }));
+
+    try {
+      new ClusterSingletonRegistratorBean(node.getVertx()).registerAll(registrations).join();
+      fail("Registration of failing service should fail");
+    } catch (CompletionException e) {
+      assertEquals("Instance of failing service not created", e.getCause().getMessage());
+    }
+    // failure of one registration does not stop the others
+    assertEquals(3, deployments.size());
+  }
+
+  @Test
+  public void testPutIfAbsentClaimDeploysEachSingletonOnce() {
+    final List<Node> nodes = cluster.startNodes(3);
+    final ConcurrentMap<String, AtomicInteger> deployments = new ConcurrentHashMap<>();
+
+    final List<CompletableFuture<Void>> registrations = nodes.stream()
+        .map(node -> new ClusterSingletonRegistratorBean(node.getVertx())
+            .setClaimStrategy(ClaimStrategy.PUT_IF_ABSENT)
+            .registerAll(countedRegistrations(node, "put-if-absent-", 5, deployments)))
+        .collect(Collectors.toList());
+    registrations.forEach(CompletableFuture::join);
+
+    assertEquals(5, deployments.size());
+    deployments.forEach((address, count) -> assertEquals(address, 1, count.get()));
+  }
+
+  @Test
+  public void testPutIfAbsentClaimTakesOverOrphanedMarker() throws Exception {
+    final List<Node> nodes = cluster.startNodes(3);
+    final ConcurrentMap<String, AtomicInteger> deployments = new ConcurrentHashMap<>();
+    // the first node registers alone, so it owns the singleton
+    nodes.forEach(node -> new ClusterSingletonRegistratorBean(node.getVertx())
+        .setClaimStrategy(ClaimStrategy.PUT_IF_ABSENT)
+        .registerAll(countedRegistrations(node, "orphaned-", 1, deployments))
+        .join());
+    final StringProxyService service = new ClusterSingletonProxyFactory<>("orphaned-0",
+        nodes.get(1).getVertx(), StringProxyService.class).getObject();
+    assertEquals(nodes.get(0).getNodeId(), join(call(service)));
+
+    cluster.kill(nodes.get(0));
+
+    await().atMost(30, SECONDS).ignoreExceptions()
+        .until(() -> !nodes.get(0).getNodeId().equals(join(call(service))));
+    assertEquals(2, deployments.get("orphaned-0").get());
+  }
+
+  @Test
+  public void testFailedDeploymentRetriedWithBothClaimStrategies() {
+    final Node node = cluster.startNode();
+    for (ClaimStrategy claimStrategy : ClaimStrategy.values()) {
+      final String address = "retried-" + claimStrategy;
+      final AtomicInteger attempts = new AtomicInteger();
+      final List<SingletonRegistration<StringProxyService>> registrations =
+          Collections.singletonList(SingletonRegistration.of(address, StringProxyService.class,
+              () -> {
+                if (attempts.incrementAndGet() == 1) {
+                  throw new IllegalStateException("First deployment of " + address + " failed");
+                }
+                return (input, resultHandler) ->
+                    resultHandler.handle(Future.succeededFuture(node.getNodeId()));
+              }));
+      final ClusterSingletonRegistratorBean registrator =
+          new ClusterSingletonRegistratorBean(node.getVertx()).setClaimStrategy(claimStrategy);
+
+      try {
+        registrator.registerAll(registrations).join();
+        fail("First deployment of " + address + " should fail");
+      } catch (CompletionException e) {
+        assertEquals(1, attempts.get());
+      }
+      // the only node of the cluster deploys the singleton once it is registered again
+      registrator.registerAll(registrations).join();
+      assertEquals(claimStrategy.name(), 2, attempts.get());
+    }
+  }
+
+  @Test
+  public void testPartitionsOfKilledNodeRedeployedBeforeClaimDelay() {
+    final List<Node> nodes = cluster.startNodes(2);
+    nodes.forEach(node -> new ClusterSingletonRegistratorBean(node.getVertx())
+        .setShardClaimDelay(60000)
+        .registerShardedSingleton("sharded-node-id-service", StringProxyService.class, 4,
+            partition -> (input, resultHandler) ->
+                resultHandler.handle(Future.succeededFuture(node.getNodeId())))
+        .join());
+    final Node survivor = nodes.get(0);
+    final SingletonDirectory directory = SingletonDirectory.forVertx(survivor.getVertx());
+    await().atMost(5, SECONDS).until(() -> partitionOwners(directory).stream()
+        .allMatch(owner -> owner != null));
+    assertEquals(2, new HashSet<>(partitionOwners(directory)).size());
+
+    cluster.kill(nodes.get(1));
+
+    // partitions preferred by the killed node are known to the survivor before its claim delay
+    await().atMost(30, SECONDS).until(() -> partitionOwners(directory).stream()
+        .allMatch(survivor.getNodeId()::equals));
+  }
+
+  @Test
+  public void testBatchPlacedOnLeastLoadedNodesOfOtherRegistrators() {
+    final List<Node> nodes = cluster.startNodes(3);
+    final List<NodeLoadPublisher> publishers = nodes.stream()
+        .map(node -> new NodeLoadPublisher(node.getVertx(), Collections.emptySet()))
+        .collect(Collectors.toList());
+    publishers.forEach(publisher -> join(publisher.start()));
+    // registrators besides the ones of node contexts know the batch, but do not claim it
+    nodes.subList(1, 3).forEach(node -> batchRegistrations(node).forEach(registration ->
+        new ClusterSingletonRegistratorBean(node.getVertx()).registerLazySingleton(registration)
+            .join()));
+
+    final List<SingletonRegistration<StringProxyService>> batch =
+        batchRegistrations(nodes.get(0));
+    new ClusterSingletonRegistratorBean(nodes.get(0).getVertx())
+        .setPlacementStrategy(PlacementStrategy.leastLoaded())
+        .registerAll(batch)
+        .join();
+
+    // each placement counted to its node, although published loads were not refreshed
+    final Set<String> owners = batch.stream()
+        .map(registration -> join(call(nodes.get(0).getVertx(), registration)))
+        .collect(Collectors.toSet());
+    assertEquals(nodes.stream().map(Node::getNodeId).collect(Collectors.toSet()), owners);
+    publishers.forEach(NodeLoadPublisher::close);
+  }
+
+  @Test
+  public void testPartitionsSpreadWhenNodesStartOneAfterAnother() {
+    try (LocalCluster shardedCluster = new LocalCluster(ShardedNodeConfig.class)) {
+      final Node first = shardedCluster.startNode();
+      final SingletonDirectory directory = SingletonDirectory.forVertx(first.getVertx());
+      await().atMost(5, SECONDS).until(() -> directory.isLoaded()
+          && partitionOwners(directory).stream().allMatch(first.getNodeId()::equals));
+
+      shardedCluster.startNode();
+      shardedCluster.startNode();
+
+      // nodes that joined later took over partitions preferred by them
+      await().atMost(30, SECONDS).until(() -> partitionOwners(directory).stream()
+          .allMatch(owner -> owner != null && shardedCluster.getNode(owner) != null)
+          && new HashSet<>(partitionOwners(directory)).size() > 1);
+    }
+  }
+
+  @Test
+  public void testLegacyMarkerKeepsSingletonUndeployed() {
+    final Node node = cluster.startNode();
+    final ConcurrentMap<String, AtomicInteger> deployments = new ConcurrentHashMap<>();
+    final List<SingletonRegistration<StringProxyService>> registrations =
+        countedRegistrations(node, "legacy-", 1, deployments);
+    final String descriptor = registrations.get(0).descriptor();
+
+    // older nodes mark deployed singletons by plain Boolean
+    final Future<AsyncMap<String, Object>> map = Future.future();
+    node.getVertx().sharedData().getClusterWideMap("cluster-wide-singleton-map", map);
+    join(map.compose(markers -> {
+      final Future<Void> put = Future.future();
+      markers.put(descriptor, Boolean.TRUE, put);
+      return put;
+    }));
+    final SingletonDirectory directory = SingletonDirectory.forVertx(node.getVertx());
+    await().atMost(5, SECONDS).until(() -> directory.lookup(descriptor) != null);
+
+    new ClusterSingletonRegistratorBean(node.getVertx()).registerAll(registrations).join();
+
+    assertTrue(deployments.isEmpty());
+    assertEquals(DeploymentMarker.State.DEPLOYED, directory.lookup(descriptor).getState());
+    assertNull(directory.whereIs("legacy-0"));
+  }
+
+  @Test
+  public void testKilledOwnerFailsOver() {
+    cluster.startNodes(3);
+    final Node owner = cluster.getNode(owner(cluster.getNodes().get(0)));
+
+    cluster.kill(owner);
+
+    final Node survivor = cluster.getNodes().get(0);
+    await().atMost(30, SECONDS).ignoreExceptions()
+        .until(() -> cluster.getNode(owner(survivor)) != null);
+    assertEquals(2, SingletonNodeConfig.DEPLOYMENTS.get());
+  }
+
+  @Test
+  public void testStoppedOwnerHandsOverWithoutFailedCalls() {
+    cluster.startNodes(2);
+    final Node owner = cluster.getNode(owner(cluster.getNodes().get(0)));
+    final Node caller = cluster.getNodes().stream()
+        .filter(node -> node != owner)
+        .findFirst()
+        .orElseThrow(IllegalStateException::new);
+    final StringProxyService service = caller.getBean(StringProxyService.class);
+
+    final Set<String> servedBy = ConcurrentHashMap.newKeySet();
+    final CompletableFuture<LoadReport> load = new LoadGenerator(20000, 8,
+        sequence -> call(service).map(nodeId -> servedBy.add(nodeId))).start();
+    await().atMost(5, SECONDS).until(() -> servedBy.contains(owner.getNodeId()));
+    cluster.stop(owner);
+    final LoadReport report = load.join();
+    LOG.info("Load during handover: {}", report);
+
+    assertTrue(report.getFailures().toString(), report.getFailures().isEmpty());
+    // calls were served by both owners, so the load ran during handover
+    assertEquals(2, servedBy.size());
+    assertEquals(caller.getNodeId(), owner(caller));
+    assertEquals(2, SingletonNodeConfig.DEPLOYMENTS.get());
+  }
+
+  @Test
+  public void testCallOfKilledOwnerRetriedOnNewOwner() throws Exception {
+    cluster.startNodes(3);
+    final Node owner = cluster.getNode(owner(cluster.getNodes().get(0)));
+    final Node caller = cluster.getNodes().stream()
+        .filter(node -> node != owner)
+        .findFirst()
+        .orElseThrow(IllegalStateException::new);
+    final StringProxyService service = new ClusterSingletonProxyFactory<>(
+        SingletonNodeConfig.ADDRESS, caller.getVertx(), StringProxyService.class)
+        .setAdaptiveTimeout(100, 20000)
+        .setFailoverRetries(3)
+        .getObject();
+    await().atMost(5, SECONDS).until(() -> SingletonDirectory.forVertx(caller.getVertx())
+        .isLoaded());
+
+    final long start = System.nanoTime();
+    cluster.kill(owner);
+    final String newOwner = join(call(service));
+    final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    LOG.info("Call during failover completed in {} ms", elapsedMillis);
+
+    assertNotEquals(owner.getNodeId(), newOwner);
+    assertTrue(elapsedMillis < 20000);
+  }
+
+  @Test
+  public void testDirectoryFollowsOwner() {
+    cluster.startNodes(2);
+    final Node owner = cluster.getNode(owner(cluster.getNodes().get(0)));
+    final Node other = cluster.getNodes().stream()
+        .filter(node -> node != owner)
+        .findFirst()
+        .orElseThrow(IllegalStateException::new);
+    final SingletonDirectory directory = SingletonDirectory.forVertx(other.getVertx());
+
+    await().atMost(5, SECONDS).until(directory::isLoaded);
+    assertEquals(owner.getNodeId(), directory.whereIs(SingletonNodeConfig.ADDRESS));
+    assertEquals(1, directory.listSingletons().size());
+
+    cluster.stop(owner);
+    // handover is seen through entry events, without querying the cluster
+    await().atMost(10, SECONDS)
+        .until(() -> other.getNodeId().equals(directory.whereIs(SingletonNodeConfig.ADDRESS)));
+  }
+
+  @Test
+  public void testLoadReportsLatencies() {
+    final Node node = cluster.startNode();
+    final StringProxyService service = node.getBean(StringProxyService.class);
+
+    final LoadReport report = cluster.generateLoad(1000, 16, sequence -> call(service));
+    LOG.info("Load of single node: {}", report);
+
+    assertEquals(1000, report.getCalls());
+    assertTrue(report.getFailures().isEmpty());
+    assertTrue(report.percentile(50) <= report.percentile(99));
+    assertNotEquals(0, report.throughput(), 0);
+  }
+
+  private static List<SingletonRegistration<StringProxyService>> countedRegistrations(
+      final Node node, final String addressPrefix, final int count,
+      final ConcurrentMap<String, AtomicInteger> deployments) {
+    return IntStream.range(0, count)
+        .mapToObj(index -> addressPrefix + index)
+        .map(address -> SingletonRegistration.of(address, StringProxyService.class, () -> {
+          deployments.computeIfAbsent(address, key -> new AtomicInteger()).incrementAndGet();
+          return (StringProxyService) (input, resultHandler) ->
+              resultHandler.handle(Future.succeededFuture(node.getNodeId()));
+        }))
+        .collect(Collectors.toList());
+  }
+
+  private static List<String> partitionOwners(final SingletonDirectory directory) {
+    return IntStream.range(0, 4)
+        .mapToObj(partition -> directory.whereIs(
+            ShardKeyExtractor.partitionAddress("sharded-node-id-service", partition)))
+        .collect(Collectors.toList());
+  }
+
+  private static Future<String> call(final StringProxyService service) {
+    final Future<String> result = Future.future();
+    service.doSomething("node-id", result);
+    return result;
+  }
+
+  private static List<SingletonRegistration<StringProxyService>> batchRegistrations(
+      final Node node) {
+    return IntStream.range(0, 6)
+        .mapToObj(index -> SingletonRegistration.of("batch-node-id-service-" + index,
+            StringProxyService.class, () -> (StringProxyService) (input, resultHandler) ->
+                resultHandler.handle(Future.succeededFuture(node.getNodeId()))))
+        .collect(Collectors.toList());
+  }
+
+  private static Future<String> call(final Vertx vertx,
+      final SingletonRegistration<StringProxyService> registration) {
+    return call(new ServiceProxyBuilder(vertx).setAddress(registration.getServiceAddress())
+        .build(StringProxyService.class));
+  }
+
+  private static String owner(final Node node) {
+    final Future<String> owner = Future.future();
+    node.getBean(StringProxyService.class).doSomething("node-id", result -> {
+      if (result.succeeded()) {
+        owner.tryComplete(result.result());
+      } else {
+        owner.tryFail(result.cause());
+      }
+    });
+    // call sent to killed owner is not answered before send timeout, polling asks again sooner
+    node.getVertx().setTimer(OWNER_TIMEOUT, id -> owner.tryFail("No reply within timeout"));
+    return join(owner);
+  }
+
+  private static <T> T join(final Future<T> future) {
+    final CompletableFuture<T> completable = new CompletableFuture<>();
+    future.setHandler(result -> {
+      if (result.succeeded()) {
+        completable.complete(result.result());
+      } else {
+        completable.completeExceptionally(result.cause());
+      }
+    });
+    return completable.join();
+  }
+
+  /**
+   * Node that registers sharded singleton replying with id of the node that hosts the partition
+   */
+  @Configuration
+  public static class ShardedNodeConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ClusterSingletonRegistratorBean registrator(final Vertx vertx) {
+      final ClusterSingletonRegistratorBean registrator = new ClusterSingletonRegistratorBean(vertx);
+      final String nodeId = ClusterNodes.localNodeId(vertx);
+      registrator.registerShardedSingleton("sharded-node-id-service", StringProxyService.class, 4,
+          partition -> (input, resultHandler) ->
+              resultHandler.handle(Future.succeededFuture(nodeId)))
+          .join();
+      return registrator;
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package org.deer.spring.vertx.core.test.cluster;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.deer.spring.vertx.core.ClusterNodes;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.SingletonRegistration;
+import org.deer.spring.vertx.core.test.StringProxyService;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Node of {@link LocalCluster}, that registers singleton replying with id of the node that hosts
+ * it
+ */
+@Configuration
+public class SingletonNodeConfig {
+
+  public static final String ADDRESS = "node-id-service";
+
+  /**
+   * Count of deployments of the singleton, across all nodes of the JVM
+   */
+  public static final AtomicInteger DEPLOYMENTS = new AtomicInteger();
+
+  @Bean(destroyMethod = "shutdown")
+  public ClusterSingletonRegistratorBean registrator(final Vertx vertx) {
+    final ClusterSingletonRegistratorBean registrator =
+        new ClusterSingletonRegistratorBean(vertx).setDrainTimeout(5000);
+    registrator.registerAll(Collections.singletonList(
+        SingletonRegistration.of(ADDRESS, StringProxyService.class, () -> {
+          DEPLOYMENTS.incrementAndGet();
+          final String nodeId = ClusterNodes.localNodeId(vertx);
+          return (input, resultHandler) -> resultHandler.handle(Future.succeededFuture(nodeId));
+        })))
+        .join();
+    return registrator;
+  }
+
+  @Bean
+  public FactoryBean<StringProxyService> nodeIdService(final Vertx vertx) {
+    return new ClusterSingletonProxyFactory<>(ADDRESS, vertx, StringProxyService.class);
+  }
+}
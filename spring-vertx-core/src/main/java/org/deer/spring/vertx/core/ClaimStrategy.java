@@ -0,0 +1,19 @@
+package org.deer.spring.vertx.core;
+
+/**
+ * Strategy used by {@link ClusterSingletonRegistratorBean} to decide which node deploys singleton
+ */
+public enum ClaimStrategy {
+
+  /**
+   * Cluster wide lock is acquired for each singleton, marker is checked and written while holding
+   * it. All other nodes wait until winner finishes deployment
+   */
+  LOCK,
+
+  /**
+   * Marker is claimed by atomic put-if-absent and moved through states by compare-and-set. Nodes
+   * that lose the claim return immediately, without waiting for the winner to finish deployment
+   */
+  PUT_IF_ABSENT
+}
@@ -0,0 +1,62 @@
+package org.deer.spring.vertx.core;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.spi.cluster.ClusterManager;
+import io.vertx.spi.cluster.hazelcast.HazelcastClusterManager;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Utility methods to access cluster membership of Vertx instance
+ */
+public final class ClusterNodes {
+
+  /**
+   * Node id used when Vertx is not clustered
+   */
+  public static final String LOCAL_NODE_ID = "local-node";
+
+  private ClusterNodes() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  /**
+   * @return id of node represented by provided Vertx instance
+   */
+  public static String localNodeId(final Vertx vertx) {
+    return clusterManager(vertx)
+        .map(ClusterManager::getNodeID)
+        .orElse(LOCAL_NODE_ID);
+  }
+
+  /**
+   * @return ids of all nodes currently present in cluster
+   */
+  public static List<String> nodes(final Vertx vertx) {
+    return clusterManager(vertx)
+        .map(ClusterManager::getNodes)
+        .orElse(Collections.singletonList(LOCAL_NODE_ID));
+  }
+
+  /**
+   * @return true if node with provided id is currently member of cluster
+   */
+  public static boolean isMember(final Vertx vertx, final String nodeId) {
+    return nodes(vertx).contains(nodeId);
+  }
+
+  public static Optional<ClusterManager> clusterManager(final Vertx vertx) {
+    if (vertx.isClustered() && vertx instanceof VertxInternal) {
+      return Optional.ofNullable(((VertxInternal) vertx).getClusterManager());
+    }
+    return Optional.empty();
+  }
+
+  public static Optional<HazelcastClusterManager> hazelcastClusterManager(final Vertx vertx) {
+    return clusterManager(vertx)
+        .filter(HazelcastClusterManager.class::isInstance)
+        .map(HazelcastClusterManager.class::cast);
+  }
+}
@@ -1,19 +1,66 @@
 package org.deer.spring.vertx.core;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.serviceproxy.ServiceProxyBuilder;
+import org.deer.spring.vertx.core.batch.BatchingServiceProxyHandler;
+import org.deer.spring.vertx.core.cache.CachedQuery;
+import org.deer.spring.vertx.core.cache.CachingServiceProxyHandler;
+import org.deer.spring.vertx.core.cache.ResultCache;
+import org.deer.spring.vertx.core.codec.BinaryCodecServiceProxyHandler;
+import org.deer.spring.vertx.core.metrics.MeteredServiceProxyHandler;
+import org.deer.spring.vertx.core.metrics.SingletonMetrics;
+import org.deer.spring.vertx.core.proxy.ActivatingServiceProxyHandler;
+import org.deer.spring.vertx.core.proxy.CallTimeouts;
+import org.deer.spring.vertx.core.proxy.FailoverServiceProxyHandler;
+import org.deer.spring.vertx.core.proxy.Idempotent;
+import org.deer.spring.vertx.core.proxy.LocalDispatchServiceProxyHandler;
+import org.deer.spring.vertx.core.proxy.OverloadProtectionServiceProxyHandler;
+import org.deer.spring.vertx.core.proxy.ServiceProxies;
+import org.deer.spring.vertx.core.stream.StreamingContract;
+import org.deer.spring.vertx.core.stream.StreamingServiceProxy;
+import org.deer.spring.vertx.core.trace.CallTracer;
+import org.deer.spring.vertx.core.trace.TracingServiceProxyHandler;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 
 /**
- * Factory for providing proxies that call cluster singletons
+ * Factory for providing proxies that call cluster singletons. Provided type is either {@code
+ * ProxyGen} interface of the singleton, or interface marked by {@link StreamingContract}, whose
+ * proxies stream results from the singleton
  * */
 public class ClusterSingletonProxyFactory<TYPE> implements FactoryBean<TYPE> {
 
+  private static final long DEFAULT_ACTIVATION_TIMEOUT = 30000;
+
   private final String serviceAddress;
   private final Vertx vertx;
   private final Class<TYPE> providedBeanType;
+  private final ClusterSingletonProxyRegistry proxyRegistry;
+
+  private DeliveryOptions deliveryOptions;
+  private SingletonMetrics metrics = SingletonMetrics.NOOP;
+  private boolean localDispatch;
+  private boolean binaryCodec;
+  private int maxBatchSize;
+  private long maxBatchDelay;
+  private boolean lazyActivation;
+  private long activationTimeout = DEFAULT_ACTIVATION_TIMEOUT;
+  private long overloadBackoff;
+  private int resultCacheSize;
+  private long resultCacheTimeToLive;
+  private int streamWindow = StreamingServiceProxy.DEFAULT_WINDOW;
+  private CallTracer tracer;
+  private long minTimeout;
+  private long maxTimeout;
+  private int failoverRetries;
+
+  // key of shared proxy is created once, options are not encoded on each lookup
+  private ClusterSingletonProxyRegistry.ProxyKey<TYPE> proxyKey;
+  // decorated proxy is created once per shared proxy provided by registry
+  private Object decoratedTarget;
+  private TYPE decoratedProxy;
 
   /**
    * @param serviceAddress address for service discovery
@@ -24,15 +71,281 @@ public class ClusterSingletonProxyFactory<TYPE> implements FactoryBean<TYPE> {
       @NonNull final String serviceAddress,
       @NonNull final Vertx vertx,
       @NonNull final Class<TYPE> providedBeanType) {
+    this(serviceAddress, vertx, providedBeanType, null);
+  }
+
+  /**
+   * Creates factory in caching mode, where all injection points share single proxy held by
+   * provided registry
+   *
+   * @param serviceAddress address for service discovery
+   * @param vertx Vertx instance
+   * @param providedBeanType type of provided bean
+   * @param proxyRegistry registry of shared proxies, null to create new proxy on each call
+   */
+  public ClusterSingletonProxyFactory(
+      @NonNull final String serviceAddress,
+      @NonNull final Vertx vertx,
+      @NonNull final Class<TYPE> providedBeanType,
+      @Nullable final ClusterSingletonProxyRegistry proxyRegistry) {
     this.serviceAddress = serviceAddress;
     this.vertx = vertx;
     this.providedBeanType = providedBeanType;
+    this.proxyRegistry = proxyRegistry;
+  }
+
+  /**
+   * @param deliveryOptions options used by provided proxies when sending messages
+   */
+  public ClusterSingletonProxyFactory<TYPE> setDeliveryOptions(
+      @Nullable final DeliveryOptions deliveryOptions) {
+    this.deliveryOptions = deliveryOptions;
+    this.proxyKey = null;
+    return this;
+  }
+
+  /**
+   * @param metrics metrics that will record calls of provided proxies
+   */
+  public ClusterSingletonProxyFactory<TYPE> setMetrics(@NonNull final SingletonMetrics metrics) {
+    this.metrics = metrics;
+    return this;
+  }
+
+  /**
+   * @param localDispatch if enabled, provided proxies will call singleton directly when it is
+   * deployed on this node, instead of sending message through event bus
+   */
+  public ClusterSingletonProxyFactory<TYPE> setLocalDispatch(final boolean localDispatch) {
+    this.localDispatch = localDispatch;
+    return this;
+  }
+
+  /**
+   * @param binaryCodec if enabled, provided proxies will send calls in binary layout to services
+   * bound with binary codec, falling back to JSON for other services
+   */
+  public ClusterSingletonProxyFactory<TYPE> setBinaryCodec(final boolean binaryCodec) {
+    this.binaryCodec = binaryCodec;
+    return this;
+  }
+
+  /**
+   * Enables batching of calls. Calls are collected until batch reaches provided size, or until
+   * the first call of batch waits for provided delay, and sent as single message to services bound
+   * with batching. Calls of other services are sent one by one
+   *
+   * @param maxBatchSize count of calls that triggers sending of batch, 0 to disable batching
+   * @param maxBatchDelay time in milliseconds that the first call of batch waits for others
+   */
+  public ClusterSingletonProxyFactory<TYPE> setBatching(final int maxBatchSize,
+      final long maxBatchDelay) {
+    if (maxBatchSize > 0 && maxBatchDelay < 1) {
+      throw new IllegalArgumentException("Batch delay must be at least 1 ms");
+    }
+    this.maxBatchSize = maxBatchSize;
+    this.maxBatchDelay = maxBatchDelay;
+    return this;
+  }
+
+  /**
+   * @param lazyActivation if enabled, provided proxies will request activation of singleton
+   * registered by {@link ClusterSingletonRegistratorBean#registerLazySingleton}, once the call
+   * finds no consumer of the service
+   */
+  public ClusterSingletonProxyFactory<TYPE> setLazyActivation(final boolean lazyActivation) {
+    this.lazyActivation = lazyActivation;
+    return this;
+  }
+
+  /**
+   * @param activationTimeout time in milliseconds to wait for activation of lazy singleton
+   */
+  public ClusterSingletonProxyFactory<TYPE> setActivationTimeout(final long activationTimeout) {
+    this.activationTimeout = activationTimeout;
+    return this;
+  }
+
+  /**
+   * Enables circuit breaker, that stops sending calls for a while once the singleton rejects call
+   * because of its admission limits
+   *
+   * @param overloadBackoff time in milliseconds for which calls fail without being sent, after the
+   * first rejection, 0 to disable
+   */
+  public ClusterSingletonProxyFactory<TYPE> setOverloadBackoff(final long overloadBackoff) {
+    this.overloadBackoff = overloadBackoff;
+    return this;
+  }
+
+  /**
+   * Enables node local cache of results of {@link CachedQuery} methods, shared by all proxies of
+   * the service on this node. Results are evicted once the singleton publishes invalidation by
+   * {@link ClusterSingletonRegistratorBean#invalidateCaches}, or once their time to live elapses
+   *
+   * @param maxSize maximum count of cached results, 0 to disable the cache
+   * @param timeToLive time in milliseconds after which cached result expires
+   */
+  public ClusterSingletonProxyFactory<TYPE> setResultCache(final int maxSize,
+      final long timeToLive) {
+    if (maxSize > 0 && timeToLive < 1) {
+      throw new IllegalArgumentException("Time to live of cached results must be at least 1 ms");
+    }
+    this.resultCacheSize = maxSize;
+    this.resultCacheTimeToLive = timeToLive;
+    return this;
+  }
+
+  /**
+   * @param streamWindow count of items in flight of one stream, used by proxies of {@link
+   * StreamingContract} interfaces. It is also the most items buffered by caller, paused stream
+   * stops the singleton once the window is used up
+   */
+  public ClusterSingletonProxyFactory<TYPE> setStreamWindow(final int streamWindow) {
+    this.streamWindow = streamWindow;
+    return this;
+  }
+
+  /**
+   * Enables tracing of calls, sampled calls carry trace id to the singleton, which records its
+   * part of the call once its registrator has tracer as well
+   *
+   * @param tracer tracer that records calls of provided proxies, null to disable tracing
+   */
+  public ClusterSingletonProxyFactory<TYPE> setTracer(@Nullable final CallTracer tracer) {
+    this.tracer = tracer;
+    return this;
+  }
+
+  /**
+   * Enables adaptive timeouts, calls time out by latency of recent calls of their method, see
+   * {@link CallTimeouts}, and fail as soon as the owner of the singleton leaves the cluster,
+   * instead of waiting for send timeout
+   *
+   * @param minTimeout lower bound of timeout in milliseconds
+   * @param maxTimeout upper bound of timeout in milliseconds, 0 to disable adaptive timeouts
+   */
+  public ClusterSingletonProxyFactory<TYPE> setAdaptiveTimeout(final long minTimeout,
+      final long maxTimeout) {
+    if (maxTimeout > 0 && (minTimeout < 1 || minTimeout > maxTimeout)) {
+      throw new IllegalArgumentException(
+          "Minimum timeout must be at least 1 ms and not above maximum timeout");
+    }
+    this.minTimeout = minTimeout;
+    this.maxTimeout = maxTimeout;
+    return this;
+  }
+
+  /**
+   * Enables retries of {@link Idempotent} methods, whose calls timed out or lost the owner of the
+   * singleton. Call is sent again once the singleton is deployed on a live member. Without
+   * adaptive timeouts, send timeout of delivery options bounds each attempt
+   *
+   * @param failoverRetries count of retries of single call, 0 to disable retries
+   */
+  public ClusterSingletonProxyFactory<TYPE> setFailoverRetries(final int failoverRetries) {
+    this.failoverRetries = failoverRetries;
+    return this;
   }
 
   @Nullable
   @Override
   public TYPE getObject() throws Exception {
-    return new ServiceProxyBuilder(vertx).setAddress(serviceAddress).build(providedBeanType);
+    if (StreamingServiceProxy.isStreamingContract(providedBeanType)) {
+      return StreamingServiceProxy.create(vertx, serviceAddress, providedBeanType, streamWindow);
+    }
+    if (proxyRegistry != null) {
+      return decorateShared(proxyRegistry.getOrCreate(proxyKey()));
+    }
+
+    final ServiceProxyBuilder builder = new ServiceProxyBuilder(vertx).setAddress(serviceAddress);
+    if (deliveryOptions != null) {
+      builder.setOptions(new DeliveryOptions(deliveryOptions));
+    }
+    return decorate(builder.build(providedBeanType));
+  }
+
+  private ClusterSingletonProxyRegistry.ProxyKey<TYPE> proxyKey() {
+    if (proxyKey == null) {
+      proxyKey = new ClusterSingletonProxyRegistry.ProxyKey<>(serviceAddress, providedBeanType,
+          deliveryOptions);
+    }
+    return proxyKey;
+  }
+
+  private synchronized TYPE decorateShared(final TYPE target) {
+    // registry returns different instance once the shared one has been invalidated
+    if (decoratedTarget != target) {
+      decoratedProxy = decorate(target);
+      decoratedTarget = target;
+    }
+    return decoratedProxy;
+  }
+
+  private TYPE decorate(final TYPE target) {
+    TYPE decorated;
+    if (maxTimeout > 0 || failoverRetries > 0) {
+      // each attempt is sent by transport whose send timeout is the one of the attempt
+      decorated = ServiceProxies.decorate(new FailoverServiceProxyHandler<>(providedBeanType,
+          this::timingOutTransport, vertx, serviceAddress, callTimeouts(), failoverRetries));
+    } else {
+      decorated = decorateTransport(target, deliveryOptions);
+    }
+    if (overloadBackoff > 0) {
+      decorated = ServiceProxies.decorate(new OverloadProtectionServiceProxyHandler<>(
+          providedBeanType, decorated, serviceAddress, overloadBackoff));
+    }
+    if (resultCacheSize > 0) {
+      decorated = ServiceProxies.decorate(new CachingServiceProxyHandler<>(providedBeanType,
+          decorated, ResultCache.forService(vertx, serviceAddress, resultCacheSize,
+          resultCacheTimeToLive)));
+    }
+    if (tracer != null) {
+      decorated = ServiceProxies.decorate(new TracingServiceProxyHandler<>(providedBeanType,
+          decorated, vertx, serviceAddress, tracer));
+    }
+    if (metrics != SingletonMetrics.NOOP) {
+      decorated = ServiceProxies.decorate(new MeteredServiceProxyHandler<>(providedBeanType,
+          decorated, serviceAddress, metrics));
+    }
+    return decorated;
+  }
+
+  private TYPE timingOutTransport(final long sendTimeout) {
+    final DeliveryOptions options = (deliveryOptions == null
+        ? new DeliveryOptions() : new DeliveryOptions(deliveryOptions)).setSendTimeout(sendTimeout);
+    return decorateTransport(new ServiceProxyBuilder(vertx).setAddress(serviceAddress)
+        .setOptions(options).build(providedBeanType), options);
+  }
+
+  private TYPE decorateTransport(final TYPE target, final DeliveryOptions options) {
+    TYPE decorated = target;
+    if (lazyActivation) {
+      decorated = ServiceProxies.decorate(new ActivatingServiceProxyHandler<>(providedBeanType,
+          decorated, vertx, serviceAddress, activationTimeout));
+    }
+    if (binaryCodec) {
+      decorated = ServiceProxies.decorate(new BinaryCodecServiceProxyHandler<>(
+          providedBeanType, decorated, vertx, serviceAddress, options));
+    }
+    if (maxBatchSize > 0) {
+      decorated = ServiceProxies.decorate(new BatchingServiceProxyHandler<>(providedBeanType,
+          decorated, vertx, serviceAddress, options, maxBatchSize, maxBatchDelay));
+    }
+    if (localDispatch) {
+      decorated = ServiceProxies.decorate(new LocalDispatchServiceProxyHandler<>(
+          providedBeanType, decorated, serviceAddress, LocalSingletonRegistry.forVertx(vertx)));
+    }
+    return decorated;
+  }
+
+  private CallTimeouts callTimeouts() {
+    if (maxTimeout > 0) {
+      return CallTimeouts.forService(vertx, serviceAddress, minTimeout, maxTimeout);
+    }
+    final long sendTimeout = deliveryOptions != null
+        ? deliveryOptions.getSendTimeout() : DeliveryOptions.DEFAULT_TIMEOUT;
+    return CallTimeouts.forService(vertx, serviceAddress, sendTimeout, sendTimeout);
   }
 
   @Override
@@ -42,7 +355,9 @@ public class ClusterSingletonProxyFactory<TYPE> implements FactoryBean<TYPE> {
 
   /**
    * This implementation returns just proxies, the backing service will be deployed as single
-   * instance within the cluster. So for performance reasons, letting it create proxy prototypes
+   * instance within the cluster. So for performance reasons, letting it create proxy prototypes.
+   * In caching mode, instances are shared by {@link ClusterSingletonProxyRegistry}, which allows
+   * to invalidate them when singleton moves
    */
   @Override
   public boolean isSingleton() {
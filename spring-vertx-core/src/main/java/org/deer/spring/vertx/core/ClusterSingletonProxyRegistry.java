@@ -0,0 +1,168 @@
+package org.deer.spring.vertx.core;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Registry of shared proxies for cluster singletons. Generated event bus proxies are stateless, so
+ * one instance per (address, interface, options) can be safely used from all threads instead of
+ * creating new one for each injection point.
+ */
+public class ClusterSingletonProxyRegistry {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ClusterSingletonProxyRegistry.class);
+
+  private static final MethodType PROXY_CONSTRUCTOR_TYPE =
+      MethodType.methodType(void.class, Vertx.class, String.class, DeliveryOptions.class);
+
+  // constructor of generated proxy resolved just once per service interface
+  private static final ClassValue<MethodHandle> PROXY_CONSTRUCTORS = new ClassValue<MethodHandle>() {
+    @Override
+    protected MethodHandle computeValue(Class<?> serviceInterface) {
+      final String proxyClassName = serviceInterface.getName() + "VertxEBProxy";
+      try {
+        final Class<?> proxyClass = Class
+            .forName(proxyClassName, true, serviceInterface.getClassLoader());
+        return MethodHandles.publicLookup()
+            .findConstructor(proxyClass, PROXY_CONSTRUCTOR_TYPE)
+            .asType(MethodType
+                .methodType(Object.class, Vertx.class, String.class, DeliveryOptions.class));
+      } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+        throw new IllegalStateException("Unable to resolve proxy " + proxyClassName, e);
+      }
+    }
+  };
+
+  private final Vertx vertx;
+  private final ConcurrentMap<ProxyKey<?>, Object> proxies = new ConcurrentHashMap<>();
+
+  public ClusterSingletonProxyRegistry(@NonNull final Vertx vertx) {
+    this.vertx = vertx;
+  }
+
+  /**
+   * Returns shared proxy for provided tuple, creating it if not present yet
+   *
+   * @param serviceAddress address for service discovery
+   * @param serviceInterface type of provided proxy
+   * @param options delivery options used by proxy, null for defaults
+   */
+  public <T> T getOrCreate(@NonNull final String serviceAddress,
+      @NonNull final Class<T> serviceInterface,
+      @Nullable final DeliveryOptions options) {
+    return getOrCreate(new ProxyKey<>(serviceAddress, serviceInterface, options));
+  }
+
+  /**
+   * Returns shared proxy for provided key, creating it if not present yet. Key can be created
+   * once and used for all lookups of the same proxy
+   */
+  public <T> T getOrCreate(@NonNull final ProxyKey<T> key) {
+    return key.serviceInterface.cast(proxies.computeIfAbsent(key,
+        proxyKey -> createProxy(key.serviceAddress, key.serviceInterface, key.options)));
+  }
+
+  /**
+   * Drops all cached proxies for address, should be called when singleton behind this address has
+   * been moved to another node
+   */
+  public void invalidate(@NonNull final String serviceAddress) {
+    if (proxies.keySet().removeIf(key -> key.serviceAddress.equals(serviceAddress))) {
+      LOG.debug("Cached proxies for {} invalidated", serviceAddress);
+    }
+  }
+
+  /**
+   * Drops all cached proxies
+   */
+  public void invalidateAll() {
+    proxies.clear();
+  }
+
+  /**
+   * Creates new proxy instance using constructor of generated proxy class
+   */
+  public <T> T createProxy(@NonNull final String serviceAddress,
+      @NonNull final Class<T> serviceInterface,
+      @Nullable final DeliveryOptions options) {
+    // options are copied, so they can't be changed by caller after proxy is created
+    final DeliveryOptions proxyOptions = options == null ? null : new DeliveryOptions(options);
+    try {
+      return serviceInterface.cast((Object) PROXY_CONSTRUCTORS.get(serviceInterface)
+          .invokeExact(vertx, serviceAddress, proxyOptions));
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException("Unable to create proxy for " + serviceAddress, e);
+    }
+  }
+
+  /**
+   * Identity of shared proxy. Delivery options are compared by send timeout, codec name and all
+   * values of headers regardless of their order
+   */
+  public static final class ProxyKey<T> {
+
+    private final String serviceAddress;
+    private final Class<T> serviceInterface;
+    private final DeliveryOptions options;
+    private final long sendTimeout;
+    private final String codecName;
+    private final List<Map.Entry<String, String>> headers;
+
+    /**
+     * @param options delivery options used by proxy, null for defaults, they are copied
+     */
+    public ProxyKey(@NonNull final String serviceAddress, @NonNull final Class<T> serviceInterface,
+        @Nullable final DeliveryOptions options) {
+      this.serviceAddress = serviceAddress;
+      this.serviceInterface = serviceInterface;
+      this.options = options == null ? null : new DeliveryOptions(options);
+      this.sendTimeout = options == null ? -1 : options.getSendTimeout();
+      this.codecName = options == null ? null : options.getCodecName();
+      this.headers = options == null || options.getHeaders() == null
+          ? Collections.emptyList()
+          : options.getHeaders().entries().stream()
+              .map(header -> new SimpleImmutableEntry<>(header.getKey(), header.getValue()))
+              .sorted(Map.Entry.<String, String>comparingByKey()
+                  .thenComparing(Map.Entry.comparingByValue()))
+              .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final ProxyKey<?> proxyKey = (ProxyKey<?>) o;
+      return sendTimeout == proxyKey.sendTimeout
+          && serviceAddress.equals(proxyKey.serviceAddress)
+          && serviceInterface.equals(proxyKey.serviceInterface)
+          && Objects.equals(codecName, proxyKey.codecName)
+          && headers.equals(proxyKey.headers);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(serviceAddress, serviceInterface, sendTimeout, codecName, headers);
+    }
+  }
+}
@@ -1,31 +1,194 @@
 package org.deer.spring.vertx.core;
 
+import com.hazelcast.core.MembershipAdapter;
+import com.hazelcast.core.MembershipEvent;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.shareddata.AsyncMap;
 import io.vertx.core.shareddata.Lock;
-import io.vertx.serviceproxy.ServiceBinder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.inject.Provider;
+import org.deer.spring.vertx.core.endpoint.ServiceEndpoint;
+import org.deer.spring.vertx.core.metrics.SingletonMetrics;
+import org.deer.spring.vertx.core.placement.NodeLoad;
+import org.deer.spring.vertx.core.placement.NodeLoadPublisher;
+import org.deer.spring.vertx.core.placement.PlacementStrategy;
+import org.deer.spring.vertx.core.trace.CallTracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ClusterSingletonRegistratorBean {
+public class ClusterSingletonRegistratorBean implements AutoCloseable {
+
+  /**
+   * Failure code of activation requests of lazy singleton that could not be deployed
+   */
+  public static final int ACTIVATION_FAILED = -32004;
+
+  /**
+   * Cluster map of deployment markers, its reads decide which node deploys singleton
+   */
+  public static final String SINGLETON_MAP = "cluster-wide-singleton-map";
 
   private static final Logger LOG = LoggerFactory.getLogger(ClusterSingletonRegistratorBean.class);
-  private static final String SINGLETON_MAP = "cluster-wide-singleton-map";
+  private static final long DEFAULT_SHARD_CLAIM_DELAY = 2000;
+  private static final String ACTIVATION_ADDRESS_SUFFIX = ".activate";
+  private static final String INVALIDATION_ADDRESS_SUFFIX = ".invalidate";
+  private static final String CONTROL_ADDRESS_PREFIX = "spring-vertx-node.";
+  private static final String CONTROL_ADDRESS_SUFFIX = ".control";
+  private static final long DEFAULT_PLACEMENT_TIMEOUT = 30000;
+  private static final long DEFAULT_DRAIN_TIMEOUT = 30000;
+  static final String CONTROL_ACTION = "action";
+  static final String CONTROL_DESCRIPTOR = "descriptor";
+  static final String REBALANCE_ACTION = "rebalance";
+  private static final String DEPLOY_ACTION = "deploy";
+  private static final String TAKE_ACTION = "take";
+  private static final String CONTROL_TARGET = "target";
 
   private final Vertx vertx;
+  private final String nodeId;
+  private final SingletonDirectory directory;
+
+  // registrations known to this node, used to redeploy singletons of nodes that left cluster
+  private final ConcurrentMap<String, SingletonRegistration<?>> registrations =
+      new ConcurrentHashMap<>();
+  // lazy singletons are not redeployed on failover, their next call activates them again
+  private final Set<String> lazyDescriptors = ConcurrentHashMap.newKeySet();
+  private final List<MessageConsumer<String>> activationConsumers = new CopyOnWriteArrayList<>();
+  private final String failoverListenerId;
+  private final NodeControl control;
+  // endpoints of singletons deployed on this node
+  private final ConcurrentMap<String, ServiceEndpoint<?>> endpoints = new ConcurrentHashMap<>();
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  // marker map is retrieved only once and shared by all registrations
+  private CompletableFuture<AsyncMap<String, Object>> singletonMarkerMap;
+
+  private volatile ClaimStrategy claimStrategy = ClaimStrategy.LOCK;
+  private volatile long shardClaimDelay = DEFAULT_SHARD_CLAIM_DELAY;
+  private volatile SingletonMetrics metrics = SingletonMetrics.NOOP;
+  private volatile boolean binaryCodec;
+  private volatile boolean batching;
+  private volatile CallTracer tracer;
+  private volatile PlacementStrategy placementStrategy = PlacementStrategy.firstCome();
+  private volatile long placementTimeout = DEFAULT_PLACEMENT_TIMEOUT;
+  private volatile long drainTimeout = DEFAULT_DRAIN_TIMEOUT;
 
   public ClusterSingletonRegistratorBean(Vertx vertx) {
     this.vertx = vertx;
+    this.nodeId = ClusterNodes.localNodeId(vertx);
+    this.directory = SingletonDirectory.forVertx(vertx);
+    this.failoverListenerId = ClusterNodes.hazelcastClusterManager(vertx)
+        .map(clusterManager -> clusterManager.getHazelcastInstance().getCluster()
+            .addMembershipListener(new FailoverListener()))
+        .orElse(null);
+    this.control = NodeControl.forVertx(vertx);
+    control.attach(this);
+  }
+
+  /**
+   * @param claimStrategy strategy used to decide which node deploys singleton, {@link
+   * ClaimStrategy#LOCK} by default
+   */
+  public ClusterSingletonRegistratorBean setClaimStrategy(final ClaimStrategy claimStrategy) {
+    this.claimStrategy = claimStrategy;
+    return this;
+  }
+
+  /**
+   * @param metrics metrics that will record phases of singleton registration
+   */
+  public ClusterSingletonRegistratorBean setMetrics(final SingletonMetrics metrics) {
+    this.metrics = metrics;
+    return this;
+  }
+
+  /**
+   * @param binaryCodec if enabled, deployed services are also bound to binary endpoint, that is
+   * used by proxies with binary codec enabled
+   */
+  public ClusterSingletonRegistratorBean setBinaryCodec(final boolean binaryCodec) {
+    this.binaryCodec = binaryCodec;
+    return this;
+  }
+
+  /**
+   * @param batching if enabled, deployed services are also bound to batch endpoint, that is used
+   * by proxies with batching enabled
+   */
+  public ClusterSingletonRegistratorBean setBatching(final boolean batching) {
+    this.batching = batching;
+    return this;
+  }
+
+  /**
+   * @param tracer tracer that records calls of deployed services sampled by callers, null to
+   * disable tracing
+   */
+  public ClusterSingletonRegistratorBean setTracer(final CallTracer tracer) {
+    this.tracer = tracer;
+    return this;
+  }
+
+  /**
+   * @param placementStrategy strategy that selects node to host singleton, {@link
+   * PlacementStrategy#firstCome()} by default. Other strategies need {@link NodeLoadPublisher}
+   * running on the nodes that should host singletons
+   */
+  public ClusterSingletonRegistratorBean setPlacementStrategy(
+      final PlacementStrategy placementStrategy) {
+    this.placementStrategy = placementStrategy;
+    return this;
+  }
+
+  /**
+   * @param placementTimeout time in milliseconds to wait for other node to deploy singleton placed
+   * on it, this node deploys the singleton itself once the time elapses
+   */
+  public ClusterSingletonRegistratorBean setPlacementTimeout(final long placementTimeout) {
+    this.placementTimeout = placementTimeout;
+    return this;
   }
 
-  private static String descriptor(final String serviceAddress, final Class<?> serviceInterface) {
-    return serviceAddress + "[" + serviceInterface.getName() + "]";
+  /**
+   * @param drainTimeout time in milliseconds that {@link #handOver()} waits for calls in flight
+   * of each singleton, before it is deployed on other node anyway
+   */
+  public ClusterSingletonRegistratorBean setDrainTimeout(final long drainTimeout) {
+    this.drainTimeout = drainTimeout;
+    return this;
+  }
+
+  /**
+   * @param shardClaimDelay time in milliseconds that node waits before it claims partitions of
+   * sharded singleton that are preferred by other nodes
+   */
+  public ClusterSingletonRegistratorBean setShardClaimDelay(final long shardClaimDelay) {
+    this.shardClaimDelay = shardClaimDelay;
+    return this;
   }
 
   /**
@@ -42,6 +205,12 @@ public class ClusterSingletonRegistratorBean {
    * deploy service.<b>This will be the only node that called instanceProvider</b> <br><br> Node 3:
    * Same as Node 2.
    *
+   * <br><br> Deployment marker holds id of the owning node. Once owner leaves the cluster, one of
+   * remaining nodes that registered the same singleton will redeploy it.
+   *
+   * <br><br> Described flow applies to {@link ClaimStrategy#LOCK}. With {@link
+   * ClaimStrategy#PUT_IF_ABSENT}, nodes that lose the claim don't wait for the winner.
+   *
    * @param serviceAddress event bus address of the service
    * @param iface interface to bound
    * @param instanceProvider provider that will be called to create instance
@@ -49,47 +218,374 @@ public class ClusterSingletonRegistratorBean {
   public <T> void registerClusterWideSingleton(final String serviceAddress,
       final Class<T> iface,
       final Provider<? extends T> instanceProvider) {
+    registerClusterWideSingleton(serviceAddress, iface, instanceProvider, new SingletonOptions());
+  }
+
+  /**
+   * Same as {@link #registerClusterWideSingleton(String, Class, Provider)}, deployed instance is
+   * executed as described by provided options
+   *
+   * @param serviceAddress event bus address of the service
+   * @param iface interface to bound
+   * @param instanceProvider provider that will be called to create instance
+   * @param options execution options of deployed instance
+   */
+  public <T> void registerClusterWideSingleton(final String serviceAddress,
+      final Class<T> iface,
+      final Provider<? extends T> instanceProvider,
+      final SingletonOptions options) {
+    try {
+      registerAll(Collections.singletonList(
+          SingletonRegistration.of(serviceAddress, iface, instanceProvider, options))).get();
+    } catch (Exception e) {
+      throw new IllegalStateException("Error while deploying cluster singleton", e);
+    }
+  }
 
-    // unique descriptor from event bus address and service interface name
-    final String descriptor = descriptor(serviceAddress, iface);
+  /**
+   * Registers all provided singletons without blocking calling thread. Marker map is retrieved
+   * once, deployment locks are acquired concurrently and services are deployed in parallel, so the
+   * time needed is given by the slowest registration rather than by sum of all of them. Semantics
+   * of each registration are the same as in {@link #registerClusterWideSingleton(String, Class,
+   * Provider)}
+   *
+   * @param registrations singletons to register
+   * @return future completed once all registrations finished, failed if any of them failed
+   */
+  public CompletableFuture<Void> registerAll(
+      final Collection<? extends SingletonRegistration<?>> registrations) {
+    registrations.forEach(registration ->
+        this.registrations.put(registration.descriptor(), registration));
 
-    final CompletableFuture<Void> deployFuture = new CompletableFuture<>();
+    return claimAll(registrations);
+  }
+
+  /**
+   * Registers sharded singleton, that is deployed as separate singleton for each partition under
+   * address derived by {@link ShardKeyExtractor#partitionAddress(String, int)}. To spread
+   * partitions across the cluster, each node immediately claims only partitions preferred by it,
+   * which are the ones where partition index modulo cluster size equals position of this node in
+   * sorted member list. Remaining partitions are claimed after {@link #setShardClaimDelay(long)},
+   * if no other node claimed them meanwhile. All partitions are known to this node right away, so
+   * it redeploys any of them once their owner leaves the cluster. Preferred partitions already
+   * deployed on other members, as happens when nodes start one after another, are moved to this
+   * node by their owners, the same way {@link #rebalance()} moves singletons
+   *
+   * @param serviceAddress base event bus address of the service
+   * @param iface interface to bound
+   * @param partitions number of partitions
+   * @param instanceFactory creates instance for partition with provided index
+   * @return future completed once preferred partitions have been registered
+   */
+  public <T> CompletableFuture<Void> registerShardedSingleton(final String serviceAddress,
+      final Class<T> iface,
+      final int partitions,
+      final IntFunction<? extends T> instanceFactory) {
+    if (partitions < 1) {
+      throw new IllegalArgumentException("At least one partition required");
+    }
+
+    final List<SingletonRegistration<T>> partitionRegistrations = IntStream.range(0, partitions)
+        .mapToObj(partition -> SingletonRegistration.<T>of(
+            ShardKeyExtractor.partitionAddress(serviceAddress, partition), iface,
+            () -> instanceFactory.apply(partition)))
+        .collect(Collectors.toList());
+    partitionRegistrations.forEach(registration ->
+        registrations.put(registration.descriptor(), registration));
+
+    final Map<Boolean, List<SingletonRegistration<T>>> byPreference =
+        byPreference(partitionRegistrations);
+    if (!byPreference.get(false).isEmpty()) {
+      vertx.setTimer(Math.max(1, shardClaimDelay), timerId -> {
+        // members may have changed since registration, so partitions preferred by this node now
+        // are claimed before the rest
+        final Map<Boolean, List<SingletonRegistration<T>>> currentPreference =
+            byPreference(partitionRegistrations);
+        claimAll(currentPreference.get(true))
+            .thenCompose(aVoid -> claimAll(currentPreference.get(false)))
+            .whenComplete((aVoid, throwable) -> {
+              if (throwable != null) {
+                LOG.error("Error while claiming remaining partitions of {}", serviceAddress,
+                    throwable);
+              }
+            });
+      });
+    }
+    final List<SingletonRegistration<T>> preferred = byPreference.get(true);
+    return claimAll(preferred).thenRun(() -> takeOver(preferred));
+  }
+
+  /**
+   * Asks owners of provided singletons, that are deployed on other live members, to move them to
+   * this node. Singletons are taken over in background, failures are only logged
+   */
+  private <T> void takeOver(final List<SingletonRegistration<T>> preferred) {
+    getSingletonMarkerMap().thenAccept(deploymentRegistry -> preferred.stream()
+        .map(SingletonRegistration::descriptor)
+        .filter(descriptor -> !endpoints.containsKey(descriptor))
+        .forEach(descriptor -> retrieveDeploymentMarker(descriptor, deploymentRegistry)
+            .compose(marker -> marker != null
+                && marker.getState() == DeploymentMarker.State.DEPLOYED
+                && marker.getOwner() != null && !nodeId.equals(marker.getOwner())
+                && ClusterNodes.isMember(vertx, marker.getOwner())
+                ? requestTake(descriptor, marker.getOwner())
+                : Future.succeededFuture(marker == null ? null : marker.getOwner()))
+            .setHandler(result -> {
+              if (result.failed()) {
+                LOG.warn("Preferred {} was not taken over by this node", descriptor,
+                    result.cause());
+              }
+            })));
+  }
+
+  private Future<String> requestTake(final String descriptor, final String owner) {
+    LOG.info("Taking over {} from node {}", descriptor, owner);
+    final Future<String> taken = Future.future();
+    // owner undeploys the singleton and waits for this node to deploy it
+    vertx.eventBus().<String>send(controlAddress(owner), new JsonObject()
+            .put(CONTROL_ACTION, TAKE_ACTION)
+            .put(CONTROL_DESCRIPTOR, descriptor)
+            .put(CONTROL_TARGET, nodeId),
+        new DeliveryOptions().setSendTimeout(2 * placementTimeout),
+        reply -> taken.handle(reply.map(Message::body)));
+    return taken;
+  }
+
+  /**
+   * @return partitions split to the ones preferred by this node under current members of cluster,
+   * mapped to true, and the others
+   */
+  private <T> Map<Boolean, List<SingletonRegistration<T>>> byPreference(
+      final List<SingletonRegistration<T>> partitionRegistrations) {
+    final List<String> members = new ArrayList<>(ClusterNodes.nodes(vertx));
+    Collections.sort(members);
+    final int memberIndex = Math.max(0, members.indexOf(nodeId));
+    return IntStream.range(0, partitionRegistrations.size())
+        .boxed()
+        .collect(Collectors.partitioningBy(partition -> partition % members.size() == memberIndex,
+            Collectors.mapping(partitionRegistrations::get, Collectors.toList())));
+  }
+
+  /**
+   * Registers singleton that is not claimed until its first call. Node only listens on {@link
+   * #activationAddress(String)}, proxies with lazy activation send request there once the call
+   * finds no consumer of the service. Node that receives the request registers the singleton the
+   * same way as {@link #registerAll(Collection)} does and replies once it is deployed, on this or
+   * on other node. Lazy singleton is not redeployed once its owner leaves the cluster, the next
+   * call activates it again. Activation requests are not handled after {@link #close()}
+   *
+   * @param registration singleton to register on demand
+   * @return future completed once this node listens for activation requests
+   */
+  public <T> CompletableFuture<Void> registerLazySingleton(
+      final SingletonRegistration<T> registration) {
+    final String descriptor = registration.descriptor();
+    registrations.put(descriptor, registration);
+    lazyDescriptors.add(descriptor);
+
+    final Future<Void> consumerRegistered = Future.future();
+    final MessageConsumer<String> activationConsumer = vertx.eventBus().consumer(
+        activationAddress(registration.getServiceAddress()), message -> {
+          LOG.info("Activation of {} requested", descriptor);
+          registerAll(Collections.singletonList(registration))
+              .whenComplete((aVoid, throwable) -> {
+                if (throwable == null) {
+                  message.reply(descriptor);
+                } else {
+                  LOG.error("Activation of {} failed", descriptor, throwable);
+                  message.fail(ACTIVATION_FAILED, String.valueOf(throwable.getMessage()));
+                }
+              });
+        });
+    activationConsumers.add(activationConsumer);
+    activationConsumer.completionHandler(consumerRegistered);
+    return toCompletable(consumerRegistered);
+  }
+
+  /**
+   * @return address where nodes listen for activation of lazy singleton bound to provided address
+   */
+  public static String activationAddress(final String serviceAddress) {
+    return serviceAddress + ACTIVATION_ADDRESS_SUFFIX;
+  }
+
+  /**
+   * @return address where proxies with result cache listen for invalidations of service bound to
+   * provided address
+   */
+  public static String invalidationAddress(final String serviceAddress) {
+    return serviceAddress + INVALIDATION_ADDRESS_SUFFIX;
+  }
+
+  /**
+   * Publishes invalidation of results cached by proxies of the service on all nodes. Singleton
+   * calls it once its state changes, so {@code @CachedQuery} methods are called again
+   *
+   * @param vertx Vertx instance of the singleton
+   * @param serviceAddress address of the service
+   * @param methods names of methods whose results are invalidated, none to invalidate all
+   */
+  public static void invalidateCaches(final Vertx vertx, final String serviceAddress,
+      final String... methods) {
+    vertx.eventBus().publish(invalidationAddress(serviceAddress),
+        new JsonObject().put("methods", new JsonArray(Arrays.asList(methods))));
+  }
+
+  private CompletableFuture<Void> claimAll(
+      final Collection<? extends SingletonRegistration<?>> registrations) {
+    return getSingletonMarkerMap().thenCompose(deploymentRegistry -> {
+      final PlacementBatch batch = new PlacementBatch();
+      final CompletableFuture<?>[] deployments = registrations.stream()
+          .map(registration -> toCompletable(register(registration, deploymentRegistry, batch)))
+          .toArray(CompletableFuture[]::new);
+      return CompletableFuture.allOf(deployments);
+    });
+  }
+
+  private <T> Future<Void> register(final SingletonRegistration<T> registration,
+      final AsyncMap<String, Object> deploymentRegistry, final PlacementBatch batch) {
+    final long start = System.nanoTime();
+    final String descriptor = registration.descriptor();
+    final DeploymentMarker known = directory.isLoaded() ? directory.lookup(descriptor) : null;
+    if (known != null && known.getState() == DeploymentMarker.State.DEPLOYED
+        && !nodeId.equals(known.getOwner()) && !isOrphaned(known)) {
+      // running on other live member, neither lock nor marker has to be fetched from cluster
+      LOG.info("Deployment marker {} of {} found in directory, skipping deployment on this node",
+          known, descriptor);
+      metrics.recordRegistration(descriptor, System.nanoTime() - start, true);
+      return Future.succeededFuture();
+    }
+
+    final Future<Void> registrationResult = claimStrategy == ClaimStrategy.PUT_IF_ABSENT
+        ? claimAtomically(registration, deploymentRegistry, batch)
+        : claimLocked(registration, deploymentRegistry, batch);
+
+    final Future<Void> recordedResult = Future.future();
+    registrationResult.setHandler(result -> {
+      metrics.recordRegistration(descriptor, System.nanoTime() - start, result.succeeded());
+      recordedResult.handle(result);
+    });
+    return recordedResult;
+  }
+
+  private <T> Future<Void> claimLocked(final SingletonRegistration<T> registration,
+      final AsyncMap<String, Object> deploymentRegistry, final PlacementBatch batch) {
+    final String descriptor = registration.descriptor();
 
-    // syntax sugar to auto release lock no matter what
     // locks deployment by unique descriptor
     // (allows only one node to access this deployment at the same time)
-    try (CloseableLock lock = lockDeploy(descriptor)) {
-      final AsyncMap<String, Boolean> deploymentRegistry = getSingletonMarkerMap();
+    return lockDeploy(descriptor).compose(lock -> {
+      final Future<Void> deployResult = Future.future();
 
       retrieveDeploymentMarker(descriptor, deploymentRegistry)
           .compose(marker -> {
             if (marker == null) {
               // if marker is not present ,service has'nt been deployed yet
-              LOG.info("Deployment marker for {} not present, deploying on this node", descriptor);
+              LOG.info("Deployment marker for {} not present, placing it", descriptor);
 
-              return deployService(serviceAddress, iface, instanceProvider)
-                  .compose(event -> markServiceDeployed(descriptor, deploymentRegistry))
-                  .map(aVoid -> deployFuture.complete(null))
-                  .otherwise(deployFuture::completeExceptionally);
-            } else {
-              LOG.info("Deployment marker found for {}, skipping deployment on this node",
+              return placeService(registration, batch)
+                  .compose(owner -> markServiceDeployed(descriptor, owner, deploymentRegistry));
+            } else if (isOrphaned(marker)) {
+              // owner is gone or failed, so the singleton is not running anywhere
+              LOG.info("Deployment marker {} of {} is orphaned, placing it again", marker,
                   descriptor);
-              deployFuture.complete(null);
-              return Future.succeededFuture();
+
+              return placeService(registration, batch)
+                  .compose(owner -> markServiceDeployed(descriptor, owner, deploymentRegistry));
+            } else {
+              LOG.info("Deployment marker {} found for {}, skipping deployment on this node",
+                  marker, descriptor);
+              return Future.<Void>succeededFuture();
             }
-          }).otherwise(deployFuture::completeExceptionally);
-      deployFuture.get();
-    } catch (Exception e) {
-      throw new IllegalStateException("Error while deploying cluster singleton", e);
+          })
+          .setHandler(result -> {
+            // auto release lock no matter what
+            lock.release();
+            deployResult.handle(result);
+          });
+      return deployResult;
+    });
+  }
+
+  /**
+   * Claims deployment by atomic put-if-absent of {@link DeploymentMarker.State#CLAIMED} marker.
+   * Orphaned markers are taken over by compare-and-set, so exactly one node wins in both cases.
+   * Nodes that lost the claim return immediately, so they don't wait for winner to deploy
+   */
+  private <T> Future<Void> claimAtomically(final SingletonRegistration<T> registration,
+      final AsyncMap<String, Object> deploymentRegistry, final PlacementBatch batch) {
+    final String descriptor = registration.descriptor();
+    final String claim = DeploymentMarker.claimed(nodeId).encode();
+
+    return putMarkerIfAbsent(descriptor, claim, deploymentRegistry)
+        .compose(previous -> {
+          if (previous == null) {
+            LOG.info("Deployment of {} claimed by this node", descriptor);
+            return Future.succeededFuture(true);
+          }
+
+          final DeploymentMarker marker = DeploymentMarker.decode(previous);
+          if (isOrphaned(marker)) {
+            LOG.info("Deployment marker {} of {} is orphaned, trying to take it over", marker,
+                descriptor);
+            return replaceMarker(descriptor, previous, claim, deploymentRegistry);
+          }
+
+          LOG.info("Deployment marker {} found for {}, skipping deployment on this node",
+              marker, descriptor);
+          return Future.succeededFuture(false);
+        })
+        .compose(claimed -> {
+          if (!claimed) {
+            return Future.<Void>succeededFuture();
+          }
+
+          final Future<Void> deployResult = Future.future();
+          placeService(registration, batch).setHandler(deployed -> {
+            final DeploymentMarker outcome = deployed.succeeded()
+                ? DeploymentMarker.deployed(deployed.result())
+                : DeploymentMarker.failed(nodeId);
+
+            replaceMarker(descriptor, claim, outcome.encode(), deploymentRegistry)
+                .setHandler(replaced -> {
+                  if (deployed.failed()) {
+                    deployResult.fail(deployed.cause());
+                  } else if (replaced.failed()) {
+                    deployResult.fail(replaced.cause());
+                  } else {
+                    LOG.info("Service {} marked as {}", descriptor, outcome);
+                    deployResult.complete();
+                  }
+                });
+          });
+          return deployResult;
+        });
+  }
+
+  /**
+   * Marker is orphaned if deployment failed, on any node including this one, or if its owner is no
+   * longer member of the cluster. Failed deployment is thus retried by the next registration, the
+   * same way as with {@link ClaimStrategy#LOCK}, that leaves no marker after failure. Owner of
+   * marker written by older node is not known, so such marker is never orphaned
+   */
+  private boolean isOrphaned(final DeploymentMarker marker) {
+    if (marker.getState() == DeploymentMarker.State.FAILED) {
+      return true;
     }
+    if (marker.getOwner() == null || marker.getOwner().equals(nodeId)) {
+      return false;
+    }
+    return !ClusterNodes.isMember(vertx, marker.getOwner());
   }
 
-  private Future<Void> markServiceDeployed(String descriptor,
-      AsyncMap<String, Boolean> deploymentRegistry) {
+  private Future<Void> markServiceDeployed(String descriptor, String owner,
+      AsyncMap<String, Object> deploymentRegistry) {
     Future<Void> deployMarkingResult = Future.future();
-    deploymentRegistry.put(descriptor, true, voidAsyncResult -> {
+    final DeploymentMarker marker = DeploymentMarker.deployed(owner);
+    deploymentRegistry.put(descriptor, marker.encode(), voidAsyncResult -> {
       if (voidAsyncResult.succeeded()) {
-        LOG.info("Service {} marked as deployed", descriptor);
+        LOG.info("Service {} marked as {}", descriptor, marker);
+        directory.update(descriptor, marker);
         deployMarkingResult.complete(voidAsyncResult.result());
       } else {
         deployMarkingResult.fail(voidAsyncResult.cause());
@@ -98,75 +594,179 @@ public class ClusterSingletonRegistratorBean {
     return deployMarkingResult;
   }
 
-  private <T> Future<Void> deployService(String serviceAddress, Class<T> iface,
-      Provider<? extends T> instanceProvider) {
-    Future<Void> deployFuture = Future.future();
-    final String descriptor = descriptor(serviceAddress, iface);
+  private Future<Object> putMarkerIfAbsent(String descriptor, String marker,
+      AsyncMap<String, Object> deploymentRegistry) {
+    Future<Object> previousResult = Future.future();
+    final long start = System.nanoTime();
+    deploymentRegistry.putIfAbsent(descriptor, marker, previousAsyncResult -> {
+      metrics.recordMarkerRetrieval(descriptor, System.nanoTime() - start);
+      if (previousAsyncResult.succeeded() && previousAsyncResult.result() == null) {
+        directory.update(descriptor, DeploymentMarker.decode(marker));
+      }
+      previousResult.handle(previousAsyncResult);
+    });
+    return previousResult;
+  }
+
+  private Future<Boolean> replaceMarker(String descriptor, Object expected, String marker,
+      AsyncMap<String, Object> deploymentRegistry) {
+    Future<Boolean> replaceResult = Future.future();
+    deploymentRegistry.replaceIfPresent(descriptor, expected, marker, replaced -> {
+      if (replaced.succeeded() && replaced.result()) {
+        directory.update(descriptor, DeploymentMarker.decode(marker));
+      }
+      replaceResult.handle(replaced);
+    });
+    return replaceResult;
+  }
+
+  /**
+   * Deploys singleton on node selected by placement strategy
+   *
+   * @param batch loads shared by registrations placed together
+   * @return future completed with id of node that deployed the singleton
+   */
+  private <T> Future<String> placeService(final SingletonRegistration<T> registration,
+      final PlacementBatch batch) {
+    final Set<String> tags = registration.getOptions().getPlacementTags();
+    final PlacementStrategy strategy = placementStrategy;
+    if (strategy == PlacementStrategy.firstCome() && tags.isEmpty()) {
+      return deployService(registration).map(nodeId);
+    }
+
+    final String descriptor = registration.descriptor();
+    return batch.select(registration, strategy)
+        .recover(cause -> {
+          LOG.warn("Placement of {} failed, it is placed on this node", descriptor, cause);
+          return Future.succeededFuture(nodeId);
+        })
+        .compose(target -> deployOn(registration, target));
+  }
+
+  private <T> Future<String> deployOn(final SingletonRegistration<T> registration,
+      final String target) {
+    if (target.equals(nodeId)) {
+      return deployService(registration).map(nodeId);
+    }
+
+    final String descriptor = registration.descriptor();
+    return requestDeploy(descriptor, target).recover(cause -> {
+      LOG.warn("Node {} did not deploy {}, deploying on this node", target, descriptor, cause);
+      return deployService(registration).map(nodeId);
+    });
+  }
+
+  private Future<String> requestDeploy(final String descriptor, final String target) {
+    LOG.info("Placing {} on node {}", descriptor, target);
+    final Future<String> placed = Future.future();
+    vertx.eventBus().<String>send(controlAddress(target),
+        new JsonObject().put(CONTROL_ACTION, DEPLOY_ACTION).put(CONTROL_DESCRIPTOR, descriptor),
+        new DeliveryOptions().setSendTimeout(placementTimeout),
+        reply -> placed.handle(reply.map(Message::body)));
+    return placed;
+  }
+
+  private <T> Future<Void> deployService(SingletonRegistration<T> registration) {
+    final Future<Void> deployFuture = Future.future();
+    final String descriptor = registration.descriptor();
     LOG.info("Deploying service {}", descriptor);
-    new ServiceBinder(vertx)
-        .setAddress(serviceAddress)
-        .register(iface, instanceProvider.get())
-        .completionHandler(voidAsyncResult -> {
-          if (voidAsyncResult.succeeded()) {
-            LOG.info("Service {} deployed", descriptor);
-            deployFuture.complete(voidAsyncResult.result());
-          } else {
-            LOG.info("Service {} deploy failed", descriptor, voidAsyncResult.cause());
-            deployFuture.fail(voidAsyncResult.cause());
+
+    final long start = System.nanoTime();
+
+    // instance creation may be expensive, so it is done on worker pool to allow parallel deploys
+    vertx.<T>executeBlocking(
+        instanceFuture -> instanceFuture.complete(registration.getInstanceProvider().get()),
+        false,
+        instanceResult -> {
+          if (instanceResult.failed()) {
+            LOG.info("Service {} deploy failed", descriptor, instanceResult.cause());
+            deployFuture.fail(instanceResult.cause());
+            return;
           }
+
+          final T instance = instanceResult.result();
+          final ServiceEndpoint<T> endpoint = new ServiceEndpoint<>(vertx, registration, instance)
+              .setBinaryCodec(binaryCodec)
+              .setBatching(batching)
+              .setTracer(tracer);
+          endpoint.register(voidAsyncResult -> {
+            if (voidAsyncResult.succeeded()) {
+              LOG.info("Service {} deployed with {}", descriptor, registration.getOptions());
+              endpoints.put(descriptor, endpoint);
+              // local calls are executed the same way as calls from event bus consumers
+              LocalSingletonRegistry.forVertx(vertx).register(registration.getServiceAddress(),
+                  registration.getServiceInterface(), instance, endpoint.admissionControl());
+              deployFuture.complete(voidAsyncResult.result());
+            } else {
+              LOG.info("Service {} deploy failed", descriptor, voidAsyncResult.cause());
+              endpoint.unregister();
+              deployFuture.fail(voidAsyncResult.cause());
+            }
+          });
         });
-    return deployFuture;
+
+    final Future<Void> recordedResult = Future.future();
+    deployFuture.setHandler(result -> {
+      metrics.recordDeploy(descriptor, System.nanoTime() - start, result.succeeded());
+      recordedResult.handle(result);
+    });
+    return recordedResult;
   }
 
-  private Future<Boolean> retrieveDeploymentMarker(String descriptor,
-      AsyncMap<String, Boolean> map) {
-    Future<Boolean> markerResult = Future.future();
-    map.get(descriptor, booleanAsyncResult -> {
-      if (booleanAsyncResult.succeeded()) {
-        markerResult.complete(booleanAsyncResult.result());
+  private Future<DeploymentMarker> retrieveDeploymentMarker(String descriptor,
+      AsyncMap<String, Object> map) {
+    Future<DeploymentMarker> markerResult = Future.future();
+    final long start = System.nanoTime();
+    map.get(descriptor, markerAsyncResult -> {
+      metrics.recordMarkerRetrieval(descriptor, System.nanoTime() - start);
+      if (markerAsyncResult.succeeded()) {
+        markerResult.complete(markerAsyncResult.result() == null
+            ? null
+            : DeploymentMarker.decode(markerAsyncResult.result()));
       } else {
-        markerResult.fail(booleanAsyncResult.cause());
+        markerResult.fail(markerAsyncResult.cause());
       }
     });
     return markerResult;
   }
 
-  private CloseableLock lockDeploy(String descriptor) {
-    CompletableFuture<Lock> lockFutureResult = new CompletableFuture<>();
+  private Future<Lock> lockDeploy(String descriptor) {
+    Future<Lock> lockResult = Future.future();
+    final long start = System.nanoTime();
     vertx.sharedData().getLock(descriptor, lockAsyncResult -> {
+      metrics.recordLockAcquisition(descriptor, System.nanoTime() - start);
       if (lockAsyncResult.succeeded()) {
         LOG.info("Deployment lock {} retrieved", descriptor);
-        lockFutureResult.complete(lockAsyncResult.result());
+        lockResult.complete(lockAsyncResult.result());
       } else {
-        lockFutureResult.completeExceptionally(lockAsyncResult.cause());
+        lockResult.fail(new IllegalStateException(
+            "Error while locking deploy of cluster singleton " + descriptor,
+            lockAsyncResult.cause()));
       }
     });
-    try {
-      return new CloseableLock(lockFutureResult.get());
-    } catch (InterruptedException | ExecutionException e) {
-      throw new IllegalStateException("Error while locking deploy of cluster singleton", e);
-    }
+    return lockResult;
   }
 
-  private AsyncMap<String, Boolean> getSingletonMarkerMap() {
-    CompletableFuture<AsyncMap<String, Boolean>> mapResultFuture = new CompletableFuture<>();
-    getSingletonRegisterClusterAware(mapResult -> {
-      if (mapResult.succeeded()) {
-        LOG.info("Singleton marker map retrieved");
-        mapResultFuture.complete(mapResult.result());
-      } else {
-        mapResultFuture.completeExceptionally(mapResult.cause());
-      }
-    });
-    try {
-      return mapResultFuture.get();
-    } catch (InterruptedException | ExecutionException e) {
-      throw new IllegalStateException("Error while retrieving deployment registry", e);
+  private synchronized CompletableFuture<AsyncMap<String, Object>> getSingletonMarkerMap() {
+    if (singletonMarkerMap == null || singletonMarkerMap.isCompletedExceptionally()) {
+      final CompletableFuture<AsyncMap<String, Object>> mapResultFuture =
+          new CompletableFuture<>();
+      getSingletonRegisterClusterAware(mapResult -> {
+        if (mapResult.succeeded()) {
+          LOG.info("Singleton marker map retrieved");
+          mapResultFuture.complete(mapResult.result());
+        } else {
+          mapResultFuture.completeExceptionally(new IllegalStateException(
+              "Error while retrieving deployment registry", mapResult.cause()));
+        }
+      });
+      singletonMarkerMap = mapResultFuture;
     }
+    return singletonMarkerMap;
   }
 
   private void getSingletonRegisterClusterAware(
-      Handler<AsyncResult<AsyncMap<String, Boolean>>> mapHandler) {
+      Handler<AsyncResult<AsyncMap<String, Object>>> mapHandler) {
     if (vertx.isClustered()) {
       vertx.sharedData().getClusterWideMap(SINGLETON_MAP, mapHandler);
     } else {
@@ -174,17 +774,371 @@ public class ClusterSingletonRegistratorBean {
     }
   }
 
-  private static final class CloseableLock implements AutoCloseable {
+  /**
+   * Moves singletons deployed on this node to less loaded nodes. Singleton is moved if this node
+   * hosts at least two singletons more than the least loaded candidate, or if this node does not
+   * have placement tags of the singleton anymore. Moved singleton is undeployed here and deployed
+   * again on the target, so its state is not preserved and calls fail until the target finishes
+   * deployment. If the target fails to deploy it, singleton is deployed on this node again
+   *
+   * @return future completed with count of moved singletons
+   */
+  public CompletableFuture<Integer> rebalance() {
+    return getSingletonMarkerMap().thenCompose(deploymentRegistry ->
+        toCompletable(NodeLoadPublisher.currentLoads(vertx)).thenCompose(currentLoads -> {
+          final List<NodeLoad> loads = new ArrayList<>(currentLoads);
+          CompletableFuture<Integer> moved = CompletableFuture.completedFuture(0);
+          for (ServiceEndpoint<?> endpoint : new ArrayList<>(endpoints.values())) {
+            moved = moved.thenCompose(count -> toCompletable(
+                rebalance(endpoint.registration(), loads, deploymentRegistry))
+                .thenApply(wasMoved -> wasMoved ? count + 1 : count));
+          }
+          return moved;
+        }));
+  }
+
+  private <T> Future<Boolean> rebalance(final SingletonRegistration<T> registration,
+      final List<NodeLoad> loads, final AsyncMap<String, Object> deploymentRegistry) {
+    final Set<String> tags = registration.getOptions().getPlacementTags();
+    final NodeLoad local = loads.stream()
+        .filter(load -> load.getNodeId().equals(nodeId))
+        .findFirst()
+        .orElseGet(() -> new NodeLoad(nodeId, -1, LocalSingletonRegistry.forVertx(vertx).size(),
+            Collections.emptySet()));
+    final NodeLoad target = loads.stream()
+        .filter(load -> !load.getNodeId().equals(nodeId) && load.hasTags(tags))
+        .min(NodeLoad.LEAST_LOADED_FIRST)
+        .orElse(null);
+    if (target == null || (local.hasTags(tags)
+        && local.getSingletonCount() - target.getSingletonCount() < 2)) {
+      return Future.succeededFuture(false);
+    }
+
+    return move(registration, target.getNodeId(), deploymentRegistry).map(owner -> {
+      if (owner == null || owner.equals(nodeId)) {
+        return false;
+      }
+      loads.replaceAll(load -> load == local ? local.withSingletons(-1)
+          : load == target ? target.withSingletons(1) : load);
+      return true;
+    });
+  }
+
+  /**
+   * Undeploys singleton deployed on this node and deploys it on provided target, or again on this
+   * node if the target fails to deploy it
+   *
+   * @return future completed with id of node that deployed the singleton, or with null if the
+   * singleton is not deployed on this node
+   */
+  private <T> Future<String> move(final SingletonRegistration<T> registration,
+      final String target, final AsyncMap<String, Object> deploymentRegistry) {
+    final String descriptor = registration.descriptor();
+    return lockDeploy(descriptor).compose(lock -> {
+      final Future<String> moveResult = Future.future();
+      final ServiceEndpoint<?> endpoint = endpoints.remove(descriptor);
+      if (endpoint == null) {
+        lock.release();
+        return Future.succeededFuture(null);
+      }
+
+      LOG.info("Moving {} from this node to {}", descriptor, target);
+      undeployService(endpoint)
+          .compose(undeployed -> deployOn(registration, target))
+          .compose(owner -> markServiceDeployed(descriptor, owner, deploymentRegistry)
+              .map(owner))
+          .setHandler(result -> {
+            lock.release();
+            moveResult.handle(result);
+          });
+      return moveResult;
+    });
+  }
+
+  private Future<Void> undeployService(final ServiceEndpoint<?> endpoint) {
+    final Future<Void> undeployed = Future.future();
+    LocalSingletonRegistry.forVertx(vertx)
+        .unregister(endpoint.registration().getServiceAddress(), endpoint.instance());
+    endpoint.unregister(undeployed);
+    return undeployed;
+  }
+
+  /**
+   * Hands singletons deployed on this node over to other members, so the node can leave without
+   * failing calls. Each singleton stops executing calls received from event bus and waits up to
+   * the drain timeout for calls in flight. Then it is deployed on node selected by placement
+   * strategy and its marker is moved there. Calls received in the meantime are parked and
+   * forwarded to the new owner, once this node stops consuming them. If no other member takes
+   * the singleton, its marker is removed, so remaining nodes deploy it once this node leaves.
+   * Control requests and cluster membership are not watched anymore, see {@link #close()}
+   *
+   * @return future completed once all singletons are handed over
+   */
+  public CompletableFuture<Void> handOver() {
+    close();
+    return getSingletonMarkerMap().thenCompose(deploymentRegistry -> {
+      final CompletableFuture<?>[] handovers = endpoints.values().stream()
+          .map(endpoint -> toCompletable(handOver(endpoint, deploymentRegistry)))
+          .toArray(CompletableFuture[]::new);
+      return CompletableFuture.allOf(handovers);
+    });
+  }
+
+  /**
+   * Blocking variant of {@link #handOver()}, intended as destroy method of the bean. Waits at
+   * most for drain and placement timeouts, failures are only logged
+   */
+  public void shutdown() {
+    try {
+      handOver().get(drainTimeout + placementTimeout, TimeUnit.MILLISECONDS);
+      LOG.info("Singletons of node {} handed over", nodeId);
+    } catch (ExecutionException | TimeoutException e) {
+      LOG.error("Handover of singletons of node {} did not complete", nodeId, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private <T> Future<Void> handOver(final ServiceEndpoint<T> endpoint,
+      final AsyncMap<String, Object> deploymentRegistry) {
+    final SingletonRegistration<T> registration = endpoint.registration();
+    final String descriptor = registration.descriptor();
+    // local proxies go through event bus from now on, so their calls get forwarded too
+    LocalSingletonRegistry.forVertx(vertx)
+        .unregister(registration.getServiceAddress(), endpoint.instance());
+
+    final Future<Void> drained = Future.future();
+    endpoint.suspend(drainTimeout, result -> {
+      if (result.failed()) {
+        LOG.warn("Handing over {} without waiting for all calls", descriptor, result.cause());
+      }
+      drained.complete();
+    });
+
+    return drained
+        .compose(aVoid -> lockDeploy(descriptor))
+        .compose(lock -> {
+          final Future<Void> handoverResult = Future.future();
+          selectSuccessor(registration)
+              .compose(target -> requestDeploy(descriptor, target))
+              .compose(owner -> markServiceDeployed(descriptor, owner, deploymentRegistry))
+              .recover(cause -> {
+                LOG.warn("No node took over {}, removing its marker", descriptor, cause);
+                return removeMarker(descriptor, deploymentRegistry);
+              })
+              .compose(aVoid -> {
+                endpoints.remove(descriptor, endpoint);
+                final Future<Void> undeployed = Future.future();
+                endpoint.unregister(undeployed);
+                return undeployed;
+              })
+              .setHandler(result -> {
+                lock.release();
+                handoverResult.handle(result);
+              });
+          return handoverResult;
+        });
+  }
+
+  private <T> Future<String> selectSuccessor(final SingletonRegistration<T> registration) {
+    final Set<String> tags = registration.getOptions().getPlacementTags();
+    return NodeLoadPublisher.currentLoads(vertx)
+        .map(loads -> {
+          final List<NodeLoad> candidates = loads.stream()
+              .filter(load -> !load.getNodeId().equals(nodeId) && load.hasTags(tags))
+              .collect(Collectors.toList());
+          if (candidates.isEmpty() && tags.isEmpty()) {
+            // members that do not publish their load can take singletons without tags
+            ClusterNodes.nodes(vertx).stream()
+                .filter(member -> !member.equals(nodeId))
+                .map(member -> new NodeLoad(member, -1, 0, Collections.emptySet()))
+                .forEach(candidates::add);
+          }
+          return candidates;
+        })
+        .compose(candidates -> candidates.isEmpty()
+            ? Future.failedFuture(new IllegalStateException(
+                "No member of cluster can take " + registration.descriptor()))
+            : placementStrategy.select(vertx, registration, candidates));
+  }
+
+  private Future<Void> removeMarker(String descriptor,
+      AsyncMap<String, Object> deploymentRegistry) {
+    Future<Object> removeResult = Future.future();
+    deploymentRegistry.remove(descriptor, removeResult);
+    return removeResult.map(removed -> {
+      directory.remove(descriptor);
+      return (Void) null;
+    });
+  }
+
+  /**
+   * @return address where node with provided id receives requests to deploy singletons placed on
+   * it, to rebalance singletons it hosts and to move them to nodes that prefer them
+   */
+  public static String controlAddress(final String nodeId) {
+    return CONTROL_ADDRESS_PREFIX + nodeId + CONTROL_ADDRESS_SUFFIX;
+  }
 
-    private final Lock lock;
+  /**
+   * @return true if provided singleton is deployed on this node by this registrator
+   */
+  boolean hosts(final String descriptor) {
+    return endpoints.containsKey(descriptor);
+  }
 
-    private CloseableLock(Lock lock) {
-      this.lock = lock;
+  /**
+   * @return true if provided singleton has been registered by this registrator
+   */
+  boolean knows(final String descriptor) {
+    return registrations.containsKey(descriptor);
+  }
+
+  /**
+   * Handles request to deploy or move singleton known to this registrator, dispatched by {@link
+   * NodeControl}
+   */
+  void handleControl(final Message<JsonObject> message) {
+    final String action = message.body().getString(CONTROL_ACTION);
+    final String descriptor = message.body().getString(CONTROL_DESCRIPTOR);
+    final SingletonRegistration<?> registration = registrations.get(descriptor);
+    if (TAKE_ACTION.equals(action) && registration != null) {
+      getSingletonMarkerMap()
+          .thenAccept(deploymentRegistry -> move(registration,
+              message.body().getString(CONTROL_TARGET), deploymentRegistry).setHandler(moved -> {
+                if (moved.succeeded() && moved.result() != null) {
+                  message.reply(moved.result());
+                } else {
+                  message.fail(-1, moved.failed() ? String.valueOf(moved.cause().getMessage())
+                      : descriptor + " is not deployed on node " + nodeId);
+                }
+              }))
+          .exceptionally(throwable -> {
+            message.fail(-1, String.valueOf(throwable.getMessage()));
+            return null;
+          });
+      return;
+    }
+    if (!DEPLOY_ACTION.equals(action) || registration == null) {
+      message.fail(-1, "Unknown control request " + message.body().encode());
+      return;
     }
 
+    LOG.info("Deploying {} placed on this node", descriptor);
+    deployService(registration).setHandler(deployed -> {
+      if (deployed.succeeded()) {
+        message.reply(nodeId);
+      } else {
+        message.fail(-1, String.valueOf(deployed.cause().getMessage()));
+      }
+    });
+  }
+
+  /**
+   * Stops watching control requests, activation requests of lazy singletons and cluster
+   * membership. Singletons deployed on this node are left untouched, see {@link #handOver()}
+   */
+  @Override
+  public void close() {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+    control.detach(this);
+    activationConsumers.forEach(MessageConsumer::unregister);
+    if (failoverListenerId != null) {
+      ClusterNodes.hazelcastClusterManager(vertx).ifPresent(clusterManager -> clusterManager
+          .getHazelcastInstance().getCluster().removeMembershipListener(failoverListenerId));
+    }
+  }
+
+  private static <T> CompletableFuture<T> toCompletable(final Future<T> future) {
+    final CompletableFuture<T> completable = new CompletableFuture<>();
+    future.setHandler(result -> {
+      if (result.succeeded()) {
+        completable.complete(result.result());
+      } else {
+        completable.completeExceptionally(result.cause());
+      }
+    });
+    return completable;
+  }
+
+  /**
+   * Loads of nodes shared by registrations placed together. Published loads are refreshed only
+   * every few seconds, so each placement counts its singleton to the selected node right away, as
+   * {@link #rebalance()} does, otherwise the whole batch would land on the same node
+   */
+  private final class PlacementBatch {
+
+    // retrieved once, by the first placement of the batch
+    private CompletableFuture<List<NodeLoad>> loads;
+
+    private synchronized CompletableFuture<List<NodeLoad>> loads() {
+      if (loads == null) {
+        loads = toCompletable(NodeLoadPublisher.currentLoads(vertx)).thenApply(ArrayList::new);
+      }
+      return loads;
+    }
+
+    private Future<String> select(final SingletonRegistration<?> registration,
+        final PlacementStrategy strategy) {
+      final Set<String> tags = registration.getOptions().getPlacementTags();
+      final Future<String> selected = Future.future();
+      loads().whenComplete((currentLoads, throwable) -> {
+        if (throwable != null) {
+          selected.fail(throwable);
+          return;
+        }
+        synchronized (this) {
+          final List<NodeLoad> candidates = currentLoads.stream()
+              .filter(load -> load.hasTags(tags))
+              .collect(Collectors.toList());
+          if (candidates.isEmpty()) {
+            LOG.warn("No node with tags {} publishes its load, {} is placed on this node", tags,
+                registration.descriptor());
+            selected.complete(nodeId);
+            return;
+          }
+          strategy.select(vertx, registration, candidates).setHandler(result -> {
+            if (result.succeeded()) {
+              placed(currentLoads, result.result());
+            }
+            selected.handle(result);
+          });
+        }
+      });
+      return selected;
+    }
+
+    private synchronized void placed(final List<NodeLoad> currentLoads, final String target) {
+      currentLoads.replaceAll(
+          load -> load.getNodeId().equals(target) ? load.withSingletons(1) : load);
+    }
+  }
+
+  /**
+   * Listens directly on Hazelcast membership, as the Vertx node listener slot is already occupied
+   * by Vertx HA manager. Every surviving node races through deployment lock to redeploy singletons
+   * owned by the node that left, only the first one will find orphaned marker
+   */
+  private final class FailoverListener extends MembershipAdapter {
+
     @Override
-    public void close() throws Exception {
-      lock.release();
+    public void memberRemoved(MembershipEvent membershipEvent) {
+      final String leftNodeId = membershipEvent.getMember().getUuid();
+      final List<SingletonRegistration<?>> eagerRegistrations = registrations.values().stream()
+          .filter(registration -> !lazyDescriptors.contains(registration.descriptor()))
+          .collect(Collectors.toList());
+      if (eagerRegistrations.isEmpty()) {
+        return;
+      }
+
+      LOG.info("Node {} left the cluster, checking orphaned singletons", leftNodeId);
+      claimAll(eagerRegistrations).whenComplete((aVoid, throwable) -> {
+        if (throwable != null) {
+          LOG.error("Error while redeploying singletons of node {}", leftNodeId, throwable);
+        }
+      });
     }
   }
 }
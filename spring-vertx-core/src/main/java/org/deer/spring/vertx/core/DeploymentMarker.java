@@ -0,0 +1,112 @@
+package org.deer.spring.vertx.core;
+
+import java.util.Objects;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Value stored in cluster wide singleton map for each deployed singleton. Marker is stored in its
+ * encoded string form, so it can be compared by value when replaced atomically
+ */
+public final class DeploymentMarker {
+
+  private static final char SEPARATOR = '@';
+  // older nodes mark deployed singletons by Boolean.TRUE, without the owner
+  private static final DeploymentMarker LEGACY = new DeploymentMarker(State.DEPLOYED);
+
+  private final State state;
+  private final String owner;
+
+  public DeploymentMarker(@NonNull final State state, @NonNull final String owner) {
+    this.state = state;
+    this.owner = owner;
+  }
+
+  private DeploymentMarker(final State state) {
+    this.state = state;
+    this.owner = null;
+  }
+
+  public static DeploymentMarker claimed(final String owner) {
+    return new DeploymentMarker(State.CLAIMED, owner);
+  }
+
+  public static DeploymentMarker deployed(final String owner) {
+    return new DeploymentMarker(State.DEPLOYED, owner);
+  }
+
+  public static DeploymentMarker failed(final String owner) {
+    return new DeploymentMarker(State.FAILED, owner);
+  }
+
+  /**
+   * Decodes marker from value of singleton map. Older nodes write {@link Boolean#TRUE} instead of
+   * encoded marker, such marker is considered deployed on unknown owner
+   */
+  public static DeploymentMarker decode(@NonNull final Object value) {
+    if (value instanceof Boolean) {
+      return LEGACY;
+    }
+
+    final String encoded = (String) value;
+    final int separatorIndex = encoded.indexOf(SEPARATOR);
+    if (separatorIndex < 0) {
+      throw new IllegalArgumentException("Invalid deployment marker " + encoded);
+    }
+    return new DeploymentMarker(State.valueOf(encoded.substring(0, separatorIndex)),
+        encoded.substring(separatorIndex + 1));
+  }
+
+  public String encode() {
+    return state.name() + SEPARATOR + owner;
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  /**
+   * @return id of owning node, null if the marker was written by older node
+   */
+  @Nullable
+  public String getOwner() {
+    return owner;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final DeploymentMarker that = (DeploymentMarker) o;
+    return state == that.state && Objects.equals(owner, that.owner);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(state, owner);
+  }
+
+  @Override
+  public String toString() {
+    return owner == null ? state.name() : encode();
+  }
+
+  public enum State {
+    /**
+     * Node won the claim and is deploying the singleton
+     */
+    CLAIMED,
+    /**
+     * Singleton is deployed and running on owner
+     */
+    DEPLOYED,
+    /**
+     * Deployment failed on owner, any node may claim it again
+     */
+    FAILED
+  }
+}
@@ -0,0 +1,25 @@
+package org.deer.spring.vertx.core;
+
+/**
+ * Decides on which threads the methods of deployed singleton are executed
+ */
+public enum ExecutionMode {
+
+  /**
+   * Methods run on event loop of the context that deployed the singleton, as with plain {@code
+   * ServiceBinder}. Suited only for non-blocking implementations
+   */
+  EVENT_LOOP,
+
+  /**
+   * Methods run on named worker pool shared by singletons that use the same pool name, so blocking
+   * implementations do not stall event loops
+   */
+  WORKER_POOL,
+
+  /**
+   * Methods run on virtual threads, one per call. Falls back to {@link #WORKER_POOL} if the JDK
+   * does not support virtual threads
+   */
+  VIRTUAL_THREADS
+}
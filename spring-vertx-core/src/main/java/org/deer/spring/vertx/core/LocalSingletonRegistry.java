@@ -0,0 +1,106 @@
+package org.deer.spring.vertx.core;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.deer.spring.vertx.core.endpoint.AdmissionControl;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Node local registry of singleton instances deployed on this node. Filled by {@link
+ * ClusterSingletonRegistratorBean}, so proxies can call local instance directly, without going
+ * through the event bus
+ */
+public final class LocalSingletonRegistry implements Shareable {
+
+  private static final String LOCAL_MAP = "spring-vertx-local-singletons";
+  private static final String REGISTRY_KEY = "registry";
+
+  private final ConcurrentMap<String, LocalSingleton> singletons = new ConcurrentHashMap<>();
+
+  private LocalSingletonRegistry() {
+  }
+
+  /**
+   * @return registry shared by all beans that use the same Vertx instance
+   */
+  public static LocalSingletonRegistry forVertx(@NonNull final Vertx vertx) {
+    final LocalMap<String, LocalSingletonRegistry> localMap =
+        vertx.sharedData().getLocalMap(LOCAL_MAP);
+    final LocalSingletonRegistry registry = localMap.get(REGISTRY_KEY);
+    if (registry != null) {
+      return registry;
+    }
+
+    final LocalSingletonRegistry newRegistry = new LocalSingletonRegistry();
+    final LocalSingletonRegistry existing = localMap.putIfAbsent(REGISTRY_KEY, newRegistry);
+    return existing != null ? existing : newRegistry;
+  }
+
+  /**
+   * Records instance deployed on this node
+   *
+   * @param serviceAddress address of the service
+   * @param serviceInterface bound interface
+   * @param instance deployed instance
+   * @param admissionControl admits and executes calls of the instance, same as for event bus
+   * consumer
+   */
+  public <T> void register(@NonNull final String serviceAddress,
+      @NonNull final Class<T> serviceInterface,
+      @NonNull final T instance,
+      @NonNull final AdmissionControl admissionControl) {
+    singletons.put(serviceAddress,
+        new LocalSingleton(serviceInterface, instance, admissionControl));
+  }
+
+  /**
+   * Removes instance, if it is still the one registered under the address
+   */
+  public void unregister(@NonNull final String serviceAddress, @NonNull final Object instance) {
+    singletons.computeIfPresent(serviceAddress,
+        (address, singleton) -> singleton.instance == instance ? null : singleton);
+  }
+
+  /**
+   * @return singleton deployed on this node under provided address, null if there is none
+   */
+  @Nullable
+  public LocalSingleton lookup(@NonNull final String serviceAddress,
+      @NonNull final Class<?> serviceInterface) {
+    final LocalSingleton singleton = singletons.get(serviceAddress);
+    return singleton != null && singleton.serviceInterface == serviceInterface ? singleton : null;
+  }
+
+  /**
+   * @return count of singletons deployed on this node
+   */
+  public int size() {
+    return singletons.size();
+  }
+
+  public static final class LocalSingleton {
+
+    private final Class<?> serviceInterface;
+    private final Object instance;
+    private final AdmissionControl admissionControl;
+
+    private LocalSingleton(Class<?> serviceInterface, Object instance,
+        AdmissionControl admissionControl) {
+      this.serviceInterface = serviceInterface;
+      this.instance = instance;
+      this.admissionControl = admissionControl;
+    }
+
+    public Object getInstance() {
+      return instance;
+    }
+
+    public AdmissionControl getAdmissionControl() {
+      return admissionControl;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package org.deer.spring.vertx.core;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+
+/**
+ * Node local consumer of control requests sent to {@link
+ * ClusterSingletonRegistratorBean#controlAddress(String)}. Event bus delivers each request to just
+ * one consumer of the address, so all registrators of the node share this one. Requests for a
+ * singleton are dispatched to the registrator that hosts it or at least knows it, rebalance
+ * requests to all registrators
+ */
+final class NodeControl implements Shareable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(NodeControl.class);
+  private static final String LOCAL_MAP = "spring-vertx-node-controls";
+  private static final String CONTROL_KEY = "control";
+
+  private final Vertx vertx;
+  private final List<ClusterSingletonRegistratorBean> registrators = new CopyOnWriteArrayList<>();
+
+  private MessageConsumer<JsonObject> consumer;
+
+  private NodeControl(final Vertx vertx) {
+    this.vertx = vertx;
+  }
+
+  /**
+   * @return control shared by all registrators that use the same Vertx instance
+   */
+  static NodeControl forVertx(@NonNull final Vertx vertx) {
+    final LocalMap<String, NodeControl> localMap = vertx.sharedData().getLocalMap(LOCAL_MAP);
+    final NodeControl control = localMap.get(CONTROL_KEY);
+    if (control != null) {
+      return control;
+    }
+
+    final NodeControl newControl = new NodeControl(vertx);
+    final NodeControl existing = localMap.putIfAbsent(CONTROL_KEY, newControl);
+    return existing != null ? existing : newControl;
+  }
+
+  /**
+   * Dispatches control requests to provided registrator too, the first one starts consuming them
+   */
+  synchronized void attach(@NonNull final ClusterSingletonRegistratorBean registrator) {
+    registrators.add(registrator);
+    if (consumer == null) {
+      consumer = vertx.eventBus().consumer(
+          ClusterSingletonRegistratorBean.controlAddress(ClusterNodes.localNodeId(vertx)),
+          this::dispatch);
+    }
+  }
+
+  /**
+   * Stops dispatching to provided registrator, once none is left, requests are not consumed
+   */
+  synchronized void detach(@NonNull final ClusterSingletonRegistratorBean registrator) {
+    registrators.remove(registrator);
+    if (registrators.isEmpty() && consumer != null) {
+      consumer.unregister();
+      consumer = null;
+    }
+  }
+
+  private void dispatch(final Message<JsonObject> message) {
+    final String descriptor =
+        message.body().getString(ClusterSingletonRegistratorBean.CONTROL_DESCRIPTOR);
+    if (descriptor == null) {
+      if (ClusterSingletonRegistratorBean.REBALANCE_ACTION.equals(
+          message.body().getString(ClusterSingletonRegistratorBean.CONTROL_ACTION))) {
+        rebalance(message);
+      } else {
+        message.fail(-1, "Unknown control request " + message.body().encode());
+      }
+      return;
+    }
+
+    final ClusterSingletonRegistratorBean registrator = registrators.stream()
+        .filter(candidate -> candidate.hosts(descriptor))
+        .findFirst()
+        .orElseGet(() -> registrators.stream()
+            .filter(candidate -> candidate.knows(descriptor))
+            .findFirst()
+            .orElse(null));
+    if (registrator == null) {
+      message.fail(-1, "Unknown control request " + message.body().encode());
+      return;
+    }
+    registrator.handleControl(message);
+  }
+
+  private void rebalance(final Message<JsonObject> message) {
+    // one registrator after another, so moves of this node do not run all at once
+    CompletableFuture<Integer> moved = CompletableFuture.completedFuture(0);
+    for (ClusterSingletonRegistratorBean registrator : registrators) {
+      moved = moved.thenCompose(count -> registrator.rebalance()
+          .thenApply(registratorMoved -> count + registratorMoved));
+    }
+    moved.whenComplete((count, throwable) -> {
+      if (throwable == null) {
+        message.reply(count);
+      } else {
+        LOG.error("Rebalance of node {} failed", ClusterNodes.localNodeId(vertx), throwable);
+        message.fail(-1, String.valueOf(throwable.getMessage()));
+      }
+    });
+  }
+}
@@ -0,0 +1,41 @@
+package org.deer.spring.vertx.core;
+
+import java.lang.reflect.Method;
+
+/**
+ * Extracts key that decides to which partition of sharded singleton the call will be routed.
+ * Calls with the same key are always routed to the same partition, so their ordering is preserved.
+ * Hash code of returned key must be stable across JVMs, like the one of {@link String} or {@link
+ * Integer}
+ */
+@FunctionalInterface
+public interface ShardKeyExtractor {
+
+  /**
+   * @param method invoked method of service interface
+   * @param args arguments of invocation, including result handler
+   * @return key of the call, null keys are routed to first partition
+   */
+  Object extractKey(Method method, Object[] args);
+
+  /**
+   * @return extractor that uses first argument of each method as the key
+   */
+  static ShardKeyExtractor firstArgument() {
+    return (method, args) -> args == null || args.length == 0 ? null : args[0];
+  }
+
+  /**
+   * @return partition index for provided key
+   */
+  static int partitionOf(final Object key, final int partitions) {
+    return key == null ? 0 : Math.floorMod(key.hashCode(), partitions);
+  }
+
+  /**
+   * @return event bus address of the partition
+   */
+  static String partitionAddress(final String serviceAddress, final int partition) {
+    return serviceAddress + "#" + partition;
+  }
+}
@@ -0,0 +1,110 @@
+package org.deer.spring.vertx.core;
+
+import io.vertx.core.Vertx;
+import io.vertx.serviceproxy.ServiceProxyBuilder;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Factory for providing proxies that call sharded cluster singletons registered by {@link
+ * ClusterSingletonRegistratorBean#registerShardedSingleton}. Each call is routed to one of the
+ * partitions by key provided by {@link ShardKeyExtractor}
+ */
+public class ShardedClusterSingletonProxyFactory<TYPE> implements FactoryBean<TYPE> {
+
+  private final String serviceAddress;
+  private final Vertx vertx;
+  private final Class<TYPE> providedBeanType;
+  private final int partitions;
+  private final ShardKeyExtractor keyExtractor;
+  private final ClusterSingletonProxyRegistry proxyRegistry;
+
+  /**
+   * @param serviceAddress base address of the sharded service
+   * @param vertx Vertx instance
+   * @param providedBeanType type of provided bean
+   * @param partitions number of partitions, must match the one used for registration
+   * @param keyExtractor extracts routing key from each call
+   * @param proxyRegistry registry of shared proxies, null to create new partition proxies for
+   * each provided bean
+   */
+  public ShardedClusterSingletonProxyFactory(
+      @NonNull final String serviceAddress,
+      @NonNull final Vertx vertx,
+      @NonNull final Class<TYPE> providedBeanType,
+      final int partitions,
+      @NonNull final ShardKeyExtractor keyExtractor,
+      @Nullable final ClusterSingletonProxyRegistry proxyRegistry) {
+    if (partitions < 1) {
+      throw new IllegalArgumentException("At least one partition required");
+    }
+    this.serviceAddress = serviceAddress;
+    this.vertx = vertx;
+    this.providedBeanType = providedBeanType;
+    this.partitions = partitions;
+    this.keyExtractor = keyExtractor;
+    this.proxyRegistry = proxyRegistry;
+  }
+
+  @Nullable
+  @Override
+  public TYPE getObject() throws Exception {
+    final Object[] partitionProxies = new Object[partitions];
+    for (int i = 0; i < partitions; i++) {
+      final String partitionAddress = ShardKeyExtractor.partitionAddress(serviceAddress, i);
+      partitionProxies[i] = proxyRegistry != null
+          ? proxyRegistry.getOrCreate(partitionAddress, providedBeanType, null)
+          : new ServiceProxyBuilder(vertx).setAddress(partitionAddress).build(providedBeanType);
+    }
+
+    return providedBeanType.cast(Proxy.newProxyInstance(providedBeanType.getClassLoader(),
+        new Class<?>[]{providedBeanType},
+        new PartitionRoutingHandler(partitionProxies)));
+  }
+
+  @Override
+  public Class<?> getObjectType() {
+    return providedBeanType;
+  }
+
+  @Override
+  public boolean isSingleton() {
+    return false;
+  }
+
+  private final class PartitionRoutingHandler implements InvocationHandler {
+
+    private final Object[] partitionProxies;
+
+    private PartitionRoutingHandler(Object[] partitionProxies) {
+      this.partitionProxies = partitionProxies;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (method.getDeclaringClass() == Object.class) {
+        switch (method.getName()) {
+          case "equals":
+            return proxy == args[0];
+          case "hashCode":
+            return System.identityHashCode(proxy);
+          default:
+            return "ShardedProxy[" + serviceAddress + ", partitions=" + partitions + "]";
+        }
+      }
+
+      final int partition = ShardKeyExtractor
+          .partitionOf(keyExtractor.extractKey(method, args), partitions);
+      try {
+        return method.invoke(partitionProxies[partition], args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+}
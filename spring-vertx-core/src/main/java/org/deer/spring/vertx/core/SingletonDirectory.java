@@ -0,0 +1,191 @@
+package org.deer.spring.vertx.core;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Node local view of cluster wide singleton map. The map is loaded once and kept current by entry
+ * listener of Hazelcast, while markers written by registrators of this node are applied right
+ * away. Queries are served from memory, so they never wait for the cluster, but may lag behind
+ * changes made by other nodes for the time the entry event travels. The listener is removed once
+ * Vertx closes
+ */
+public final class SingletonDirectory implements Shareable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SingletonDirectory.class);
+  private static final String LOCAL_MAP = "spring-vertx-singleton-directory";
+  private static final String DIRECTORY_KEY = "directory";
+  private static final char DESCRIPTOR_SEPARATOR = '[';
+
+  private final ConcurrentMap<String, DeploymentMarker> markers = new ConcurrentHashMap<>();
+  // descriptors of deployed singletons by their addresses, so owner is found without scanning
+  private final ConcurrentMap<String, String> deployedDescriptors = new ConcurrentHashMap<>();
+
+  private volatile boolean loaded;
+
+  private SingletonDirectory() {
+  }
+
+  /**
+   * @return directory shared by all beans that use the same Vertx instance
+   */
+  public static SingletonDirectory forVertx(@NonNull final Vertx vertx) {
+    final LocalMap<String, SingletonDirectory> localMap =
+        vertx.sharedData().getLocalMap(LOCAL_MAP);
+    final SingletonDirectory directory = localMap.get(DIRECTORY_KEY);
+    if (directory != null) {
+      return directory;
+    }
+
+    final SingletonDirectory newDirectory = new SingletonDirectory();
+    final SingletonDirectory existing = localMap.putIfAbsent(DIRECTORY_KEY, newDirectory);
+    if (existing != null) {
+      return existing;
+    }
+    newDirectory.load(vertx);
+    return newDirectory;
+  }
+
+  private void load(final Vertx vertx) {
+    if (!ClusterNodes.hazelcastClusterManager(vertx).isPresent()) {
+      // without cluster, all markers are written by registrators of this node
+      loaded = true;
+      return;
+    }
+
+    vertx.executeBlocking(loadFuture -> {
+      final IMap<String, Object> map = ClusterNodes.hazelcastClusterManager(vertx).get()
+          .getHazelcastInstance().getMap(ClusterSingletonRegistratorBean.SINGLETON_MAP);
+      // listener is added first, so no change is missed while the snapshot is read
+      final String listenerId = map.addEntryListener(new MarkerListener(), true);
+      // failed removal is ignored, listeners of member that is no longer running are gone with it
+      ((VertxInternal) vertx).addCloseHook(completionHandler -> vertx.executeBlocking(
+          removeFuture -> removeFuture.complete(map.removeEntryListener(listenerId)), false,
+          removed -> completionHandler.handle(Future.succeededFuture())));
+      map.forEach((descriptor, marker) -> {
+        final DeploymentMarker decoded = DeploymentMarker.decode(marker);
+        if (markers.putIfAbsent(descriptor, decoded) == null) {
+          index(descriptor, decoded);
+        }
+      });
+      loadFuture.complete();
+    }, false, result -> {
+      if (result.succeeded()) {
+        LOG.info("Singleton directory loaded with {} markers", markers.size());
+        loaded = true;
+      } else {
+        LOG.error("Singleton directory could not be loaded", result.cause());
+      }
+    });
+  }
+
+  /**
+   * @return true once the directory holds all markers of the cluster
+   */
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  /**
+   * @return marker of singleton with provided descriptor, null if it is not known
+   */
+  @Nullable
+  public DeploymentMarker lookup(@NonNull final String descriptor) {
+    return markers.get(descriptor);
+  }
+
+  /**
+   * @return id of node where singleton bound to provided address is deployed, null if it is not
+   * deployed anywhere or its owner is not known
+   */
+  @Nullable
+  public String whereIs(@NonNull final String serviceAddress) {
+    final String descriptor = deployedDescriptors.get(serviceAddress);
+    final DeploymentMarker marker = descriptor != null ? markers.get(descriptor) : null;
+    return marker != null && marker.getState() == DeploymentMarker.State.DEPLOYED
+        ? marker.getOwner() : null;
+  }
+
+  /**
+   * @return markers of all known singletons by their descriptors, ordered by descriptor
+   */
+  public Map<String, DeploymentMarker> listSingletons() {
+    return Collections.unmodifiableMap(new TreeMap<>(markers));
+  }
+
+  /**
+   * Applies marker written by this node
+   */
+  void update(final String descriptor, final DeploymentMarker marker) {
+    put(descriptor, marker);
+  }
+
+  /**
+   * Applies removal of marker made by this node
+   */
+  void remove(final String descriptor) {
+    markers.remove(descriptor);
+    deployedDescriptors.remove(address(descriptor), descriptor);
+  }
+
+  private void put(final String descriptor, final DeploymentMarker marker) {
+    markers.put(descriptor, marker);
+    index(descriptor, marker);
+  }
+
+  private void index(final String descriptor, final DeploymentMarker marker) {
+    if (marker.getState() == DeploymentMarker.State.DEPLOYED) {
+      deployedDescriptors.put(address(descriptor), descriptor);
+    } else {
+      deployedDescriptors.remove(address(descriptor), descriptor);
+    }
+  }
+
+  private static String address(final String descriptor) {
+    final int separatorIndex = descriptor.lastIndexOf(DESCRIPTOR_SEPARATOR);
+    return separatorIndex < 0 ? descriptor : descriptor.substring(0, separatorIndex);
+  }
+
+  private final class MarkerListener implements EntryAddedListener<String, Object>,
+      EntryUpdatedListener<String, Object>, EntryRemovedListener<String, Object>,
+      EntryEvictedListener<String, Object> {
+
+    @Override
+    public void entryAdded(EntryEvent<String, Object> event) {
+      put(event.getKey(), DeploymentMarker.decode(event.getValue()));
+    }
+
+    @Override
+    public void entryUpdated(EntryEvent<String, Object> event) {
+      put(event.getKey(), DeploymentMarker.decode(event.getValue()));
+    }
+
+    @Override
+    public void entryRemoved(EntryEvent<String, Object> event) {
+      remove(event.getKey());
+    }
+
+    @Override
+    public void entryEvicted(EntryEvent<String, Object> event) {
+      remove(event.getKey());
+    }
+  }
+}
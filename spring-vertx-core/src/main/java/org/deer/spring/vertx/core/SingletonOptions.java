@@ -0,0 +1,153 @@
+package org.deer.spring.vertx.core;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Options of single singleton registration, describing how the deployed instance is executed
+ */
+public class SingletonOptions {
+
+  public static final ExecutionMode DEFAULT_EXECUTION_MODE = ExecutionMode.EVENT_LOOP;
+  public static final int DEFAULT_WORKER_POOL_SIZE = 4;
+  public static final boolean DEFAULT_ORDERED = true;
+  public static final int DEFAULT_MAX_IN_FLIGHT = 0;
+  public static final int DEFAULT_MAX_QUEUED = -1;
+
+  private ExecutionMode executionMode = DEFAULT_EXECUTION_MODE;
+  private String workerPoolName;
+  private int workerPoolSize = DEFAULT_WORKER_POOL_SIZE;
+  private boolean ordered = DEFAULT_ORDERED;
+  private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+  private int maxQueued = DEFAULT_MAX_QUEUED;
+  private Set<String> placementTags = Collections.emptySet();
+
+  public SingletonOptions() {
+  }
+
+  public SingletonOptions(@NonNull final SingletonOptions other) {
+    this.executionMode = other.executionMode;
+    this.workerPoolName = other.workerPoolName;
+    this.workerPoolSize = other.workerPoolSize;
+    this.ordered = other.ordered;
+    this.maxInFlight = other.maxInFlight;
+    this.maxQueued = other.maxQueued;
+    this.placementTags = other.placementTags;
+  }
+
+  public ExecutionMode getExecutionMode() {
+    return executionMode;
+  }
+
+  /**
+   * @param executionMode threads on which methods of the singleton are executed
+   */
+  public SingletonOptions setExecutionMode(@NonNull final ExecutionMode executionMode) {
+    this.executionMode = Objects.requireNonNull(executionMode, "executionMode");
+    return this;
+  }
+
+  @Nullable
+  public String getWorkerPoolName() {
+    return workerPoolName;
+  }
+
+  /**
+   * @param workerPoolName name of worker pool used in {@link ExecutionMode#WORKER_POOL}. Singletons
+   * with the same pool name share the pool, null for pool dedicated to the singleton
+   */
+  public SingletonOptions setWorkerPoolName(@Nullable final String workerPoolName) {
+    this.workerPoolName = workerPoolName;
+    return this;
+  }
+
+  public int getWorkerPoolSize() {
+    return workerPoolSize;
+  }
+
+  /**
+   * @param workerPoolSize maximum count of threads of the worker pool, which bounds count of calls
+   * executed concurrently
+   */
+  public SingletonOptions setWorkerPoolSize(final int workerPoolSize) {
+    if (workerPoolSize < 1) {
+      throw new IllegalArgumentException("Worker pool size must be at least 1");
+    }
+    this.workerPoolSize = workerPoolSize;
+    return this;
+  }
+
+  public boolean isOrdered() {
+    return ordered;
+  }
+
+  /**
+   * @param ordered if true, calls are executed one at a time in order of arrival, even on worker
+   * pool or virtual threads. Calls are always ordered in {@link ExecutionMode#EVENT_LOOP}
+   */
+  public SingletonOptions setOrdered(final boolean ordered) {
+    this.ordered = ordered;
+    return this;
+  }
+
+  public int getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  /**
+   * @param maxInFlight maximum count of calls that are executed and not completed yet, 0 for no
+   * limit. Calls over the limit wait in queue
+   */
+  public SingletonOptions setMaxInFlight(final int maxInFlight) {
+    if (maxInFlight < 0) {
+      throw new IllegalArgumentException("Max in-flight calls must not be negative");
+    }
+    this.maxInFlight = maxInFlight;
+    return this;
+  }
+
+  public int getMaxQueued() {
+    return maxQueued;
+  }
+
+  /**
+   * @param maxQueued maximum count of calls waiting for execution once {@link #getMaxInFlight()}
+   * is reached, -1 for no limit. Calls over the limit are rejected with {@link
+   * org.deer.spring.vertx.core.endpoint.AdmissionControl#OVERLOADED}
+   */
+  public SingletonOptions setMaxQueued(final int maxQueued) {
+    if (maxQueued < -1) {
+      throw new IllegalArgumentException("Max queued calls must be -1 or more");
+    }
+    this.maxQueued = maxQueued;
+    return this;
+  }
+
+  public Set<String> getPlacementTags() {
+    return placementTags;
+  }
+
+  /**
+   * @param placementTags tags that node must have to host the singleton, see {@link
+   * org.deer.spring.vertx.core.placement.NodeLoadPublisher}
+   */
+  public SingletonOptions setPlacementTags(@NonNull final Set<String> placementTags) {
+    this.placementTags = Collections.unmodifiableSet(new LinkedHashSet<>(placementTags));
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return "SingletonOptions{executionMode=" + executionMode
+        + ", workerPoolName=" + workerPoolName
+        + ", workerPoolSize=" + workerPoolSize
+        + ", ordered=" + ordered
+        + ", maxInFlight=" + maxInFlight
+        + ", maxQueued=" + maxQueued
+        + ", placementTags=" + placementTags + '}';
+  }
+}
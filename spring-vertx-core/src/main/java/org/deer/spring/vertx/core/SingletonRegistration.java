@@ -0,0 +1,85 @@
+package org.deer.spring.vertx.core;
+
+import javax.inject.Provider;
+import org.springframework.lang.NonNull;
+
+/**
+ * Describes single cluster wide singleton that should be registered by {@link
+ * ClusterSingletonRegistratorBean}
+ */
+public final class SingletonRegistration<T> {
+
+  private final String serviceAddress;
+  private final Class<T> serviceInterface;
+  private final Provider<? extends T> instanceProvider;
+  private final SingletonOptions options;
+
+  /**
+   * @param serviceAddress event bus address of the service
+   * @param serviceInterface interface to bound
+   * @param instanceProvider provider that will be called to create instance
+   */
+  public SingletonRegistration(@NonNull final String serviceAddress,
+      @NonNull final Class<T> serviceInterface,
+      @NonNull final Provider<? extends T> instanceProvider) {
+    this(serviceAddress, serviceInterface, instanceProvider, new SingletonOptions());
+  }
+
+  /**
+   * @param serviceAddress event bus address of the service
+   * @param serviceInterface interface to bound
+   * @param instanceProvider provider that will be called to create instance
+   * @param options execution options of deployed instance
+   */
+  public SingletonRegistration(@NonNull final String serviceAddress,
+      @NonNull final Class<T> serviceInterface,
+      @NonNull final Provider<? extends T> instanceProvider,
+      @NonNull final SingletonOptions options) {
+    this.serviceAddress = serviceAddress;
+    this.serviceInterface = serviceInterface;
+    this.instanceProvider = instanceProvider;
+    this.options = new SingletonOptions(options);
+  }
+
+  public static <T> SingletonRegistration<T> of(final String serviceAddress,
+      final Class<T> serviceInterface,
+      final Provider<? extends T> instanceProvider) {
+    return new SingletonRegistration<>(serviceAddress, serviceInterface, instanceProvider);
+  }
+
+  public static <T> SingletonRegistration<T> of(final String serviceAddress,
+      final Class<T> serviceInterface,
+      final Provider<? extends T> instanceProvider,
+      final SingletonOptions options) {
+    return new SingletonRegistration<>(serviceAddress, serviceInterface, instanceProvider,
+        options);
+  }
+
+  public String getServiceAddress() {
+    return serviceAddress;
+  }
+
+  public Class<T> getServiceInterface() {
+    return serviceInterface;
+  }
+
+  public Provider<? extends T> getInstanceProvider() {
+    return instanceProvider;
+  }
+
+  public SingletonOptions getOptions() {
+    return options;
+  }
+
+  /**
+   * Unique descriptor from event bus address and service interface name
+   */
+  public String descriptor() {
+    return serviceAddress + "[" + serviceInterface.getName() + "]";
+  }
+
+  @Override
+  public String toString() {
+    return descriptor();
+  }
+}
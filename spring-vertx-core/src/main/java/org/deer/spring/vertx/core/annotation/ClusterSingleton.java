@@ -0,0 +1,71 @@
+package org.deer.spring.vertx.core.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.deer.spring.vertx.core.ExecutionMode;
+import org.deer.spring.vertx.core.SingletonOptions;
+
+/**
+ * Marks implementation of {@code @ProxyGen} service interface, that should be deployed as cluster
+ * singleton. Implementations are found by {@link EnableClusterSingletons}, instances are created by
+ * Spring, so their dependencies are injected as into any other bean
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ClusterSingleton {
+
+  /**
+   * @return event bus address of the service
+   */
+  String address();
+
+  /**
+   * @return interface to bind, needed only if implementation implements more than one {@code
+   * @ProxyGen} interface
+   */
+  Class<?> serviceInterface() default void.class;
+
+  /**
+   * @return true to claim and deploy the singleton on its first call, rather than on startup
+   */
+  boolean lazy() default false;
+
+  /**
+   * @return threads on which methods of the singleton are executed
+   */
+  ExecutionMode executionMode() default ExecutionMode.EVENT_LOOP;
+
+  /**
+   * @return name of worker pool shared with other singletons, empty for dedicated pool
+   */
+  String workerPoolName() default "";
+
+  /**
+   * @return maximum count of calls executed concurrently on worker pool
+   */
+  int workerPoolSize() default SingletonOptions.DEFAULT_WORKER_POOL_SIZE;
+
+  /**
+   * @return true to execute calls one at a time in order of arrival
+   */
+  boolean ordered() default SingletonOptions.DEFAULT_ORDERED;
+
+  /**
+   * @return maximum count of calls executed concurrently, 0 for no limit
+   */
+  int maxInFlight() default SingletonOptions.DEFAULT_MAX_IN_FLIGHT;
+
+  /**
+   * @return maximum count of calls waiting for execution, -1 for no limit
+   */
+  int maxQueued() default SingletonOptions.DEFAULT_MAX_QUEUED;
+
+  /**
+   * @return tags that node must have to host the singleton
+   */
+  String[] placementTags() default {};
+}
@@ -0,0 +1,160 @@
+package org.deer.spring.vertx.core.annotation;
+
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.SingletonOptions;
+import org.deer.spring.vertx.core.SingletonRegistration;
+import org.deer.spring.vertx.core.bootstrap.VertxBootstrap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Registers implementations annotated by {@link ClusterSingleton} once all singleton beans are
+ * instantiated. Eager singletons are registered before context refresh finishes, unless the
+ * registration is deferred until Vertx is started. Lazy singletons only listen for activation
+ */
+public class ClusterSingletonDeployer implements BeanFactoryAware, SmartInitializingSingleton,
+    DisposableBean {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ClusterSingletonDeployer.class);
+  private static final String PROXY_GEN = "io.vertx.codegen.annotations.ProxyGen";
+
+  private final List<String> implementations;
+  private final String vertxBeanName;
+  private final boolean deferred;
+
+  private AutowireCapableBeanFactory beanFactory;
+  private volatile ClusterSingletonRegistratorBean registrator;
+
+  /**
+   * @param implementations class names of implementations annotated by {@link ClusterSingleton}
+   * @param vertxBeanName name of Vertx bean, Vertx bean is looked up by type if empty
+   * @param deferred true to register singletons once Vertx of {@link VertxBootstrap} bean is
+   * started, without blocking context refresh
+   */
+  public ClusterSingletonDeployer(final List<String> implementations,
+      final String vertxBeanName, final boolean deferred) {
+    this.implementations = implementations;
+    this.vertxBeanName = vertxBeanName;
+    this.deferred = deferred;
+  }
+
+  @Override
+  public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+    this.beanFactory = (AutowireCapableBeanFactory) beanFactory;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    if (deferred) {
+      final VertxBootstrap bootstrap = beanFactory.getBean(VertxBootstrap.class);
+      bootstrap.vertx().thenCompose(vertx -> {
+        final long start = System.nanoTime();
+        return registerAll(vertx).whenComplete((aVoid, throwable) ->
+            bootstrap.getTimings().record("cluster-singletons-registration", start));
+      }).whenComplete((aVoid, throwable) -> {
+        if (throwable != null) {
+          LOG.error("Error while deploying cluster singletons", throwable);
+        }
+      });
+      return;
+    }
+
+    final Vertx vertx = StringUtils.hasText(vertxBeanName)
+        ? beanFactory.getBean(vertxBeanName, Vertx.class)
+        : beanFactory.getBean(Vertx.class);
+    try {
+      registerAll(vertx).join();
+    } catch (CompletionException e) {
+      throw new IllegalStateException("Error while deploying cluster singletons", e.getCause());
+    }
+  }
+
+  private CompletableFuture<Void> registerAll(final Vertx vertx) {
+    registrator = new ClusterSingletonRegistratorBean(vertx);
+
+    final List<SingletonRegistration<?>> eager = new ArrayList<>();
+    final List<SingletonRegistration<?>> lazy = new ArrayList<>();
+    for (String implementationName : implementations) {
+      final Class<?> implementation =
+          ClassUtils.resolveClassName(implementationName, getClass().getClassLoader());
+      final ClusterSingleton annotation = implementation.getAnnotation(ClusterSingleton.class);
+      final SingletonRegistration<?> registration =
+          registration(annotation, serviceInterface(implementation), implementation);
+
+      if (annotation.lazy()) {
+        lazy.add(registration);
+      } else {
+        eager.add(registration);
+      }
+    }
+
+    LOG.info("Registering {} eager and {} lazy cluster singletons", eager.size(), lazy.size());
+    final List<CompletableFuture<Void>> registrations = new ArrayList<>();
+    for (SingletonRegistration<?> registration : lazy) {
+      registrations.add(registrator.registerLazySingleton(registration));
+    }
+    registrations.add(registrator.registerAll(eager));
+    return CompletableFuture.allOf(registrations.toArray(new CompletableFuture[0]));
+  }
+
+  private <T> SingletonRegistration<T> registration(final ClusterSingleton annotation,
+      final Class<T> serviceInterface, final Class<?> implementation) {
+    final SingletonOptions options = new SingletonOptions()
+        .setExecutionMode(annotation.executionMode())
+        .setWorkerPoolName(annotation.workerPoolName().isEmpty()
+            ? null
+            : annotation.workerPoolName())
+        .setWorkerPoolSize(annotation.workerPoolSize())
+        .setOrdered(annotation.ordered())
+        .setMaxInFlight(annotation.maxInFlight())
+        .setMaxQueued(annotation.maxQueued())
+        .setPlacementTags(new LinkedHashSet<>(Arrays.asList(annotation.placementTags())));
+    return SingletonRegistration.of(annotation.address(), serviceInterface,
+        () -> serviceInterface.cast(beanFactory.createBean(implementation)), options);
+  }
+
+  @Override
+  public void destroy() {
+    if (registrator != null) {
+      registrator.shutdown();
+    }
+  }
+
+  /**
+   * @return interface bound by provided implementation of {@link ClusterSingleton}
+   */
+  static Class<?> serviceInterface(final Class<?> implementation) {
+    final ClusterSingleton annotation = implementation.getAnnotation(ClusterSingleton.class);
+    if (annotation.serviceInterface() != void.class) {
+      return annotation.serviceInterface();
+    }
+
+    // ProxyGen is referenced by name, as codegen is not needed at runtime
+    final List<Class<?>> candidates = ClassUtils.getAllInterfacesForClassAsSet(implementation)
+        .stream()
+        .filter(iface -> Arrays.stream(iface.getAnnotations())
+            .anyMatch(annotated -> annotated.annotationType().getName().equals(PROXY_GEN)))
+        .collect(Collectors.toList());
+    if (candidates.size() != 1) {
+      throw new IllegalStateException("Cluster singleton " + implementation.getName()
+          + " must implement exactly one @ProxyGen interface, found " + candidates);
+    }
+    return candidates.get(0);
+  }
+}
@@ -0,0 +1,84 @@
+package org.deer.spring.vertx.core.annotation;
+
+import io.vertx.core.Vertx;
+import org.deer.spring.vertx.core.ClusterSingletonProxyFactory;
+import org.deer.spring.vertx.core.ClusterSingletonProxyRegistry;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.util.StringUtils;
+
+/**
+ * Proxy factory defined for implementation annotated by {@link ClusterSingleton}. Vertx and
+ * optional {@link ClusterSingletonProxyRegistry} are looked up on first use, so the type of
+ * provided proxy is known without resolving any dependencies. That allows Vertx bean itself to
+ * depend on beans looked up by type
+ */
+public class ClusterSingletonProxyFactoryBean<T> implements FactoryBean<T>, BeanFactoryAware {
+
+  private final String serviceAddress;
+  private final Class<T> serviceInterface;
+  private final boolean lazyActivation;
+  private final String vertxBeanName;
+
+  private ListableBeanFactory beanFactory;
+  private ClusterSingletonProxyFactory<T> delegate;
+
+  /**
+   * @param serviceAddress address for service discovery
+   * @param serviceInterface type of provided bean
+   * @param lazyActivation true if singleton is activated by its first call
+   * @param vertxBeanName name of Vertx bean, Vertx bean is looked up by type if empty
+   */
+  public ClusterSingletonProxyFactoryBean(final String serviceAddress,
+      final Class<T> serviceInterface, final boolean lazyActivation,
+      final String vertxBeanName) {
+    this.serviceAddress = serviceAddress;
+    this.serviceInterface = serviceInterface;
+    this.lazyActivation = lazyActivation;
+    this.vertxBeanName = vertxBeanName;
+  }
+
+  @Override
+  public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+    this.beanFactory = (ListableBeanFactory) beanFactory;
+  }
+
+  @Override
+  public T getObject() throws Exception {
+    return getDelegate().getObject();
+  }
+
+  private synchronized ClusterSingletonProxyFactory<T> getDelegate() {
+    if (delegate == null) {
+      final Vertx vertx = StringUtils.hasText(vertxBeanName)
+          ? beanFactory.getBean(vertxBeanName, Vertx.class)
+          : beanFactory.getBean(Vertx.class);
+      final String[] registries = BeanFactoryUtils.beanNamesForTypeIncludingAncestors(
+          beanFactory, ClusterSingletonProxyRegistry.class);
+      final ClusterSingletonProxyRegistry registry = registries.length == 1
+          ? beanFactory.getBean(registries[0], ClusterSingletonProxyRegistry.class)
+          : null;
+
+      delegate = new ClusterSingletonProxyFactory<>(serviceAddress, vertx, serviceInterface,
+          registry).setLazyActivation(lazyActivation);
+    }
+    return delegate;
+  }
+
+  @Override
+  public Class<?> getObjectType() {
+    return serviceInterface;
+  }
+
+  /**
+   * Same as {@link ClusterSingletonProxyFactory#isSingleton()}
+   */
+  @Override
+  public boolean isSingleton() {
+    return false;
+  }
+}
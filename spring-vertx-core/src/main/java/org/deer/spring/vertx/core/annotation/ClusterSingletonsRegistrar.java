@@ -0,0 +1,92 @@
+package org.deer.spring.vertx.core.annotation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.ResourceLoaderAware;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Defines proxy factory for each implementation annotated by {@link ClusterSingleton} and single
+ * {@link ClusterSingletonDeployer} that registers all of them
+ */
+public class ClusterSingletonsRegistrar implements ImportBeanDefinitionRegistrar,
+    EnvironmentAware, ResourceLoaderAware {
+
+  private Environment environment;
+  private ResourceLoader resourceLoader;
+
+  @Override
+  public void setEnvironment(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public void setResourceLoader(ResourceLoader resourceLoader) {
+    this.resourceLoader = resourceLoader;
+  }
+
+  @Override
+  public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata,
+      BeanDefinitionRegistry registry) {
+    final Map<String, Object> attributes =
+        importingClassMetadata.getAnnotationAttributes(EnableClusterSingletons.class.getName());
+    final String vertxBeanName = (String) attributes.get("vertx");
+    final List<String> basePackages =
+        new ArrayList<>(Arrays.asList((String[]) attributes.get("basePackages")));
+    if (basePackages.isEmpty()) {
+      basePackages.add(ClassUtils.getPackageName(importingClassMetadata.getClassName()));
+    }
+
+    final ClassPathScanningCandidateComponentProvider scanner =
+        new ClassPathScanningCandidateComponentProvider(false, environment);
+    scanner.setResourceLoader(resourceLoader);
+    scanner.addIncludeFilter(new AnnotationTypeFilter(ClusterSingleton.class));
+
+    final List<String> implementations = new ArrayList<>();
+    for (String basePackage : basePackages) {
+      for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+        final Class<?> implementation = ClassUtils.resolveClassName(
+            candidate.getBeanClassName(), resourceLoader.getClassLoader());
+        final ClusterSingleton annotation = implementation.getAnnotation(ClusterSingleton.class);
+        final Class<?> serviceInterface = ClusterSingletonDeployer.serviceInterface(implementation);
+
+        registry.registerBeanDefinition(serviceInterface.getName() + "#" + annotation.address(),
+            proxyFactoryDefinition(annotation, serviceInterface, vertxBeanName));
+        implementations.add(implementation.getName());
+      }
+    }
+
+    final GenericBeanDefinition deployerDefinition = new GenericBeanDefinition();
+    deployerDefinition.setBeanClass(ClusterSingletonDeployer.class);
+    deployerDefinition.getConstructorArgumentValues().addIndexedArgumentValue(0, implementations);
+    deployerDefinition.getConstructorArgumentValues().addIndexedArgumentValue(1, vertxBeanName);
+    deployerDefinition.getConstructorArgumentValues()
+        .addIndexedArgumentValue(2, attributes.get("deferred"));
+    registry.registerBeanDefinition(ClusterSingletonDeployer.class.getName(), deployerDefinition);
+  }
+
+  private static BeanDefinition proxyFactoryDefinition(final ClusterSingleton annotation,
+      final Class<?> serviceInterface, final String vertxBeanName) {
+    final GenericBeanDefinition definition = new GenericBeanDefinition();
+    definition.setBeanClass(ClusterSingletonProxyFactoryBean.class);
+    final ConstructorArgumentValues arguments = definition.getConstructorArgumentValues();
+    arguments.addIndexedArgumentValue(0, annotation.address());
+    arguments.addIndexedArgumentValue(1, serviceInterface);
+    arguments.addIndexedArgumentValue(2, annotation.lazy());
+    arguments.addIndexedArgumentValue(3, vertxBeanName);
+    return definition;
+  }
+}
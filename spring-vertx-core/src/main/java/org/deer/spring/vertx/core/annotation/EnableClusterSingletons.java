@@ -0,0 +1,37 @@
+package org.deer.spring.vertx.core.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Scans for implementations annotated by {@link ClusterSingleton}. For each of them, proxy factory
+ * providing the service interface is defined, and the implementation is registered as cluster
+ * singleton once all singleton beans are instantiated
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Import(ClusterSingletonsRegistrar.class)
+public @interface EnableClusterSingletons {
+
+  /**
+   * @return packages to scan, package of annotated class if empty
+   */
+  String[] basePackages() default {};
+
+  /**
+   * @return name of Vertx bean, Vertx bean is looked up by type if empty
+   */
+  String vertx() default "";
+
+  /**
+   * @return true to register singletons once Vertx of {@link
+   * org.deer.spring.vertx.core.bootstrap.VertxBootstrap} bean is started, rather than during
+   * context refresh
+   */
+  boolean deferred() default false;
+}
@@ -0,0 +1,113 @@
+package org.deer.spring.vertx.core.batch;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.deer.spring.vertx.core.codec.BinaryServiceInvoker;
+import org.deer.spring.vertx.core.codec.MessageCodecs;
+import org.deer.spring.vertx.core.codec.ServiceInvocation;
+import org.deer.spring.vertx.core.endpoint.AdmissionControl;
+import org.deer.spring.vertx.core.endpoint.ServiceEndpoint;
+
+/**
+ * Consumer of batched calls of service instance. Calls of the batch are invoked one by one and the
+ * reply is sent once all of them are completed
+ */
+public class BatchServiceEndpoint<T> {
+
+  private static final String BATCH_ADDRESS_SUFFIX = ".batch";
+
+  private final Vertx vertx;
+  private final AdmissionControl admissionControl;
+  private final String serviceAddress;
+  private final BinaryServiceInvoker<T> invoker;
+  private final DeliveryOptions replyOptions =
+      new DeliveryOptions().setCodecName(ServiceBatchReplyCodec.NAME);
+
+  private MessageConsumer<ServiceBatch> consumer;
+
+  public BatchServiceEndpoint(final Vertx vertx, final String serviceAddress,
+      final Class<T> serviceInterface, final T instance, final AdmissionControl admissionControl) {
+    this.vertx = vertx;
+    this.admissionControl = admissionControl;
+    this.serviceAddress = serviceAddress;
+    this.invoker = new BinaryServiceInvoker<>(serviceAddress, serviceInterface, instance);
+  }
+
+  /**
+   * @return address of batch endpoint of service bound to provided address
+   */
+  public static String batchAddress(final String serviceAddress) {
+    return serviceAddress + BATCH_ADDRESS_SUFFIX;
+  }
+
+  /**
+   * Registers codecs used by batch endpoints and batching proxies
+   */
+  public static void registerCodecs(final Vertx vertx) {
+    MessageCodecs.registerOnce(vertx, new ServiceBatchCodec());
+    MessageCodecs.registerOnce(vertx, new ServiceBatchReplyCodec());
+  }
+
+  /**
+   * Registers consumer, provided handler is called once the registration is propagated
+   */
+  public void register(final Handler<AsyncResult<Void>> completionHandler) {
+    registerCodecs(vertx);
+    consumer = vertx.eventBus().consumer(batchAddress(serviceAddress), this::handle);
+    consumer.completionHandler(completionHandler);
+  }
+
+  public void unregister() {
+    unregister(result -> {
+    });
+  }
+
+  /**
+   * Unregisters consumer, provided handler is called once the unregistration is propagated
+   */
+  public void unregister(final Handler<AsyncResult<Void>> completionHandler) {
+    if (consumer != null) {
+      consumer.unregister(completionHandler);
+    } else {
+      completionHandler.handle(Future.succeededFuture());
+    }
+  }
+
+  private void handle(final Message<ServiceBatch> message) {
+    // whole batch is admitted as single call
+    admissionControl.dispatch(message, release -> invoke(message, release),
+        () -> message.fail(AdmissionControl.OVERLOADED,
+            ServiceEndpoint.overloadedMessage(serviceAddress)));
+  }
+
+  private void invoke(final Message<ServiceBatch> message, final Runnable release) {
+    final List<ServiceInvocation> invocations = message.body().getInvocations();
+    @SuppressWarnings("unchecked") final AsyncResult<Object>[] results =
+        new AsyncResult[invocations.size()];
+    final AtomicInteger remaining = new AtomicInteger(invocations.size());
+    if (invocations.isEmpty()) {
+      release.run();
+      message.reply(new ServiceBatchReply(Arrays.asList(results)), replyOptions);
+      return;
+    }
+
+    for (int i = 0; i < invocations.size(); i++) {
+      final int position = i;
+      invoker.invoke(invocations.get(i), result -> {
+        results[position] = result;
+        if (remaining.decrementAndGet() == 0) {
+          release.run();
+          message.reply(new ServiceBatchReply(Arrays.asList(results)), replyOptions);
+        }
+      });
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package org.deer.spring.vertx.core.batch;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.serviceproxy.ServiceException;
+import java.util.ArrayList;
+import java.util.List;
+import org.deer.spring.vertx.core.codec.BinaryContract;
+import org.deer.spring.vertx.core.codec.BinaryValues;
+import org.deer.spring.vertx.core.codec.ServiceInvocation;
+import org.deer.spring.vertx.core.proxy.AbstractServiceProxyHandler;
+import org.deer.spring.vertx.core.proxy.ServiceMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects calls until batch reaches its maximal size, or until the first call of the batch waits
+ * for maximal delay, and sends them as single message to {@link BatchServiceEndpoint}. Results are
+ * delivered on the context of each caller. Calls of methods that binary layout does not support
+ * and calls of services without batch endpoint are passed to decorated proxy
+ */
+public class BatchingServiceProxyHandler<T> extends AbstractServiceProxyHandler<T> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BatchingServiceProxyHandler.class);
+
+  private final Vertx vertx;
+  private final String serviceAddress;
+  private final String batchAddress;
+  private final BinaryContract contract;
+  private final DeliveryOptions deliveryOptions;
+  private final int maxBatchSize;
+  private final long maxBatchDelay;
+
+  private List<PendingCall> pending = new ArrayList<>();
+  private long flushTimer = -1;
+
+  // set once endpoint refuses contract of this proxy
+  private volatile boolean incompatible;
+
+  /**
+   * @param maxBatchSize count of calls that triggers sending of batch
+   * @param maxBatchDelay time in milliseconds that the first call of batch waits for others
+   */
+  public BatchingServiceProxyHandler(final Class<T> serviceInterface, final T target,
+      final Vertx vertx, final String serviceAddress, final DeliveryOptions deliveryOptions,
+      final int maxBatchSize, final long maxBatchDelay) {
+    super(serviceInterface, target);
+    this.vertx = vertx;
+    this.serviceAddress = serviceAddress;
+    this.batchAddress = BatchServiceEndpoint.batchAddress(serviceAddress);
+    this.contract = BinaryContract.of(serviceInterface);
+    this.deliveryOptions = (deliveryOptions == null
+        ? new DeliveryOptions()
+        : new DeliveryOptions(deliveryOptions))
+        .setCodecName(ServiceBatchCodec.NAME);
+    this.maxBatchSize = maxBatchSize;
+    this.maxBatchDelay = maxBatchDelay;
+    BatchServiceEndpoint.registerCodecs(vertx);
+  }
+
+  @Override
+  protected void invokeAsync(ServiceMethod method, Object[] args,
+      Handler<AsyncResult<Object>> resultHandler) {
+    if (incompatible || !contract.isSupported(method.index())) {
+      proceed(method, args, resultHandler);
+      return;
+    }
+
+    final Object[] arguments = new Object[args.length - 1];
+    for (int i = 0, argument = 0; i < args.length; i++) {
+      if (i != method.handlerIndex()) {
+        arguments[argument++] = args[i];
+      }
+    }
+    final PendingCall call = new PendingCall(method, args, resultHandler,
+        new ServiceInvocation(contract.fingerprint(), method.index(), arguments));
+
+    final List<PendingCall> batch;
+    synchronized (this) {
+      pending.add(call);
+      if (pending.size() < maxBatchSize) {
+        if (flushTimer == -1) {
+          flushTimer = vertx.setTimer(maxBatchDelay, timerId -> flush(timerId));
+        }
+        return;
+      }
+      batch = takePending();
+    }
+    send(batch);
+  }
+
+  private void flush(final long timerId) {
+    final List<PendingCall> batch;
+    synchronized (this) {
+      // timer of batch that has already been sent by size
+      if (flushTimer != timerId || pending.isEmpty()) {
+        return;
+      }
+      batch = takePending();
+    }
+    send(batch);
+  }
+
+  // must be called while holding lock of this handler
+  private List<PendingCall> takePending() {
+    if (flushTimer != -1) {
+      vertx.cancelTimer(flushTimer);
+      flushTimer = -1;
+    }
+    final List<PendingCall> batch = pending;
+    pending = new ArrayList<>(maxBatchSize);
+    return batch;
+  }
+
+  private void send(final List<PendingCall> batch) {
+    final List<ServiceInvocation> invocations = new ArrayList<>(batch.size());
+    batch.forEach(call -> invocations.add(call.invocation));
+
+    vertx.eventBus().<ServiceBatchReply>send(batchAddress, new ServiceBatch(invocations),
+        deliveryOptions, reply -> {
+          if (reply.succeeded()) {
+            final List<AsyncResult<Object>> results = reply.result().body().getResults();
+            for (int i = 0; i < batch.size(); i++) {
+              final PendingCall call = batch.get(i);
+              if (isIncompatible(results.get(i))) {
+                proceed(call.method, call.args, call.resultHandler);
+              } else {
+                call.complete(results.get(i));
+              }
+            }
+          } else if (reply.cause() instanceof ReplyException
+              && ((ReplyException) reply.cause()).failureType() == ReplyFailure.NO_HANDLERS) {
+            // service bound without batch endpoint
+            batch.forEach(call -> proceed(call.method, call.args, call.resultHandler));
+          } else {
+            batch.forEach(call -> call.complete(Future.failedFuture(reply.cause())));
+          }
+        });
+  }
+
+  private boolean isIncompatible(final AsyncResult<Object> result) {
+    if (result.failed() && result.cause() instanceof ServiceException
+        && ((ServiceException) result.cause()).failureCode()
+        == BinaryContract.INCOMPATIBLE_CONTRACT) {
+      if (!incompatible) {
+        LOG.warn("Service {} refused batch contract, falling back to single calls",
+            serviceAddress);
+        incompatible = true;
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private final class PendingCall {
+
+    private final ServiceMethod method;
+    private final Object[] args;
+    private final Handler<AsyncResult<Object>> resultHandler;
+    private final ServiceInvocation invocation;
+    private final Context callerContext = Vertx.currentContext();
+
+    private PendingCall(ServiceMethod method, Object[] args,
+        Handler<AsyncResult<Object>> resultHandler, ServiceInvocation invocation) {
+      this.method = method;
+      this.args = args;
+      this.resultHandler = resultHandler;
+      this.invocation = invocation;
+    }
+
+    private void complete(final AsyncResult<Object> result) {
+      final AsyncResult<Object> converted = result.succeeded()
+          ? Future.succeededFuture(BinaryValues.convert(result.result(),
+          contract.resultType(method.index())))
+          : result;
+      if (callerContext == null || callerContext == Vertx.currentContext()) {
+        resultHandler.handle(converted);
+      } else {
+        callerContext.runOnContext(v -> resultHandler.handle(converted));
+      }
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package org.deer.spring.vertx.core.batch;
+
+import java.util.List;
+import org.deer.spring.vertx.core.codec.ServiceInvocation;
+
+/**
+ * Calls of single service collected by batching proxy and sent as one message
+ */
+public final class ServiceBatch {
+
+  private final List<ServiceInvocation> invocations;
+
+  public ServiceBatch(final List<ServiceInvocation> invocations) {
+    this.invocations = invocations;
+  }
+
+  public List<ServiceInvocation> getInvocations() {
+    return invocations;
+  }
+}
@@ -0,0 +1,55 @@
+package org.deer.spring.vertx.core.batch;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import java.util.ArrayList;
+import java.util.List;
+import org.deer.spring.vertx.core.codec.BinaryValues;
+import org.deer.spring.vertx.core.codec.ServiceInvocation;
+import org.deer.spring.vertx.core.codec.ServiceInvocationCodec;
+
+/**
+ * Writes {@link ServiceBatch} as length, count of invocations and invocations in the layout of
+ * {@link ServiceInvocationCodec}
+ */
+public class ServiceBatchCodec implements MessageCodec<ServiceBatch, ServiceBatch> {
+
+  public static final String NAME = "spring-vertx-service-batch";
+
+  @Override
+  public void encodeToWire(Buffer buffer, ServiceBatch batch) {
+    final int lengthPosition = buffer.length();
+    buffer.appendInt(0).appendInt(batch.getInvocations().size());
+    batch.getInvocations().forEach(invocation -> ServiceInvocationCodec.write(buffer, invocation));
+    buffer.setInt(lengthPosition, buffer.length() - lengthPosition - 4);
+  }
+
+  @Override
+  public ServiceBatch decodeFromWire(int pos, Buffer buffer) {
+    final BinaryValues.Reader reader = new BinaryValues.Reader(buffer, pos + 4);
+    final int size = reader.readInt();
+    final List<ServiceInvocation> invocations = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      invocations.add(ServiceInvocationCodec.read(reader));
+    }
+    return new ServiceBatch(invocations);
+  }
+
+  @Override
+  public ServiceBatch transform(ServiceBatch batch) {
+    final List<ServiceInvocation> invocations = new ArrayList<>(batch.getInvocations().size());
+    batch.getInvocations().forEach(invocation ->
+        invocations.add(ServiceInvocationCodec.copy(invocation)));
+    return new ServiceBatch(invocations);
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public byte systemCodecID() {
+    return -1;
+  }
+}
@@ -0,0 +1,21 @@
+package org.deer.spring.vertx.core.batch;
+
+import io.vertx.core.AsyncResult;
+import java.util.List;
+
+/**
+ * Results of batched calls, in the order of invocations within {@link ServiceBatch}. Failures are
+ * represented by {@link io.vertx.serviceproxy.ServiceException}
+ */
+public final class ServiceBatchReply {
+
+  private final List<AsyncResult<Object>> results;
+
+  public ServiceBatchReply(final List<AsyncResult<Object>> results) {
+    this.results = results;
+  }
+
+  public List<AsyncResult<Object>> getResults() {
+    return results;
+  }
+}
@@ -0,0 +1,78 @@
+package org.deer.spring.vertx.core.batch;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.serviceproxy.ServiceException;
+import java.util.ArrayList;
+import java.util.List;
+import org.deer.spring.vertx.core.codec.BinaryValues;
+
+/**
+ * Writes {@link ServiceBatchReply} as length, count of results and results. Each result is written
+ * as success flag followed by value, or by failure code and message
+ */
+public class ServiceBatchReplyCodec implements MessageCodec<ServiceBatchReply, ServiceBatchReply> {
+
+  public static final String NAME = "spring-vertx-service-batch-reply";
+
+  @Override
+  public void encodeToWire(Buffer buffer, ServiceBatchReply reply) {
+    final int lengthPosition = buffer.length();
+    buffer.appendInt(0).appendInt(reply.getResults().size());
+    for (AsyncResult<Object> result : reply.getResults()) {
+      if (result.succeeded()) {
+        buffer.appendByte((byte) 1);
+        BinaryValues.write(buffer, result.result());
+      } else {
+        buffer.appendByte((byte) 0).appendInt(failureCode(result.cause()));
+        BinaryValues.write(buffer, result.cause().getMessage());
+      }
+    }
+    buffer.setInt(lengthPosition, buffer.length() - lengthPosition - 4);
+  }
+
+  @Override
+  public ServiceBatchReply decodeFromWire(int pos, Buffer buffer) {
+    final BinaryValues.Reader reader = new BinaryValues.Reader(buffer, pos + 4);
+    final int size = reader.readInt();
+    final List<AsyncResult<Object>> results = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      if (reader.readByte() == 1) {
+        results.add(Future.succeededFuture(BinaryValues.read(reader)));
+      } else {
+        final int failureCode = reader.readInt();
+        results.add(Future.failedFuture(
+            new ServiceException(failureCode, (String) BinaryValues.read(reader))));
+      }
+    }
+    return new ServiceBatchReply(results);
+  }
+
+  @Override
+  public ServiceBatchReply transform(ServiceBatchReply reply) {
+    final List<AsyncResult<Object>> results = new ArrayList<>(reply.getResults().size());
+    for (AsyncResult<Object> result : reply.getResults()) {
+      results.add(result.succeeded()
+          ? Future.succeededFuture(BinaryValues.copy(result.result()))
+          : Future.failedFuture(new ServiceException(failureCode(result.cause()),
+              result.cause().getMessage())));
+    }
+    return new ServiceBatchReply(results);
+  }
+
+  private static int failureCode(final Throwable cause) {
+    return cause instanceof ServiceException ? ((ServiceException) cause).failureCode() : -1;
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public byte systemCodecID() {
+    return -1;
+  }
+}
@@ -0,0 +1,91 @@
+package org.deer.spring.vertx.core.bootstrap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects durations of startup phases, that may overlap each other. Times are relative to
+ * creation of this instance
+ */
+public class StartupTimings {
+
+  private final long origin = System.nanoTime();
+  private final ConcurrentLinkedQueue<Phase> phases = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Starts phase, that is recorded once {@link Phase#end()} is called
+   */
+  public Phase start(final String name) {
+    return new Phase(name, System.nanoTime());
+  }
+
+  /**
+   * Records phase that started at provided {@link System#nanoTime()} and ends now
+   */
+  public void record(final String name, final long startNanos) {
+    new Phase(name, startNanos).end();
+  }
+
+  /**
+   * @return recorded phases ordered by their start
+   */
+  public List<Phase> phases() {
+    final List<Phase> ordered = new ArrayList<>(phases);
+    ordered.sort(Comparator.comparingLong(phase -> phase.startNanos));
+    return ordered;
+  }
+
+  /**
+   * @return table of recorded phases, with start offset and duration in milliseconds
+   */
+  public String report() {
+    final StringBuilder report = new StringBuilder("Startup timings:");
+    for (Phase phase : phases()) {
+      report.append(String.format("%n  %-50s start %6d ms  took %6d ms", phase.name,
+          phase.startMillis(), phase.durationMillis()));
+    }
+    report.append(String.format("%n  %-50s %6d ms", "total",
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - origin)));
+    return report.toString();
+  }
+
+  public final class Phase {
+
+    private final String name;
+    private final long startNanos;
+    private volatile long endNanos = -1;
+
+    private Phase(final String name, final long startNanos) {
+      this.name = name;
+      this.startNanos = startNanos;
+    }
+
+    /**
+     * Ends and records this phase, subsequent calls are ignored
+     */
+    public void end() {
+      if (endNanos == -1) {
+        endNanos = System.nanoTime();
+        phases.add(this);
+      }
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * @return start of phase in milliseconds since creation of timings
+     */
+    public long startMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(startNanos - origin);
+    }
+
+    public long durationMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package org.deer.spring.vertx.core.bootstrap;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts Vertx without blocking the calling thread, so cluster discovery runs while the rest of
+ * the context is created. Beans that need Vertx right away can use {@link #getVertx()}, work that
+ * can wait should be chained to {@link #vertx()}
+ */
+public class VertxBootstrap implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(VertxBootstrap.class);
+
+  private final CompletableFuture<Vertx> vertx = new CompletableFuture<>();
+  private final StartupTimings timings;
+
+  private VertxBootstrap(final StartupTimings timings) {
+    this.timings = timings;
+  }
+
+  /**
+   * Starts joining the cluster, see {@link Vertx#clusteredVertx}
+   */
+  public static VertxBootstrap clustered(final VertxOptions options,
+      final StartupTimings timings) {
+    final VertxBootstrap bootstrap = new VertxBootstrap(timings);
+    final StartupTimings.Phase phase = timings.start("vertx-cluster-join");
+    LOG.info("Starting clustered Vertx instance");
+    Vertx.clusteredVertx(options, result -> {
+      phase.end();
+      bootstrap.complete(result);
+    });
+    return bootstrap;
+  }
+
+  public static VertxBootstrap clustered(final VertxOptions options) {
+    return clustered(options, new StartupTimings());
+  }
+
+  /**
+   * Starts single-node Vertx, that is available immediately
+   */
+  public static VertxBootstrap local(final VertxOptions options, final StartupTimings timings) {
+    final VertxBootstrap bootstrap = new VertxBootstrap(timings);
+    final StartupTimings.Phase phase = timings.start("vertx-start");
+    LOG.info("Starting single-node Vertx instance");
+    bootstrap.vertx.complete(Vertx.vertx(options));
+    phase.end();
+    return bootstrap;
+  }
+
+  private void complete(final AsyncResult<Vertx> result) {
+    if (result.succeeded()) {
+      LOG.info("Vertx successfully started");
+      vertx.complete(result.result());
+    } else {
+      LOG.error("Error while starting Vertx", result.cause());
+      vertx.completeExceptionally(result.cause());
+    }
+  }
+
+  /**
+   * @return stage completed once Vertx is started
+   */
+  public CompletionStage<Vertx> vertx() {
+    return vertx;
+  }
+
+  /**
+   * Waits until Vertx is started
+   */
+  public Vertx getVertx() {
+    try {
+      return vertx.join();
+    } catch (CompletionException e) {
+      throw new IllegalStateException("Vertx failed to start", e.getCause());
+    }
+  }
+
+  public StartupTimings getTimings() {
+    return timings;
+  }
+
+  /**
+   * Closes Vertx once it is started
+   */
+  @Override
+  public void close() {
+    vertx.thenAccept(Vertx::close);
+  }
+}
@@ -0,0 +1,21 @@
+package org.deer.spring.vertx.core.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+
+/**
+ * Marks read-only method of singleton interface, whose results may be served from node local cache
+ * of proxies with result cache enabled. Cached results are evicted once the singleton publishes
+ * invalidation by {@link ClusterSingletonRegistratorBean#invalidateCaches}, or once their time to
+ * live elapses
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CachedQuery {
+
+}
@@ -0,0 +1,78 @@
+package org.deer.spring.vertx.core.cache;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.deer.spring.vertx.core.proxy.AbstractServiceProxyHandler;
+import org.deer.spring.vertx.core.proxy.ServiceMethod;
+
+/**
+ * Serves calls of {@link CachedQuery} methods from {@link ResultCache}, other calls are sent as
+ * they are. Once other call completes, cache is invalidated, so the caller reads its own writes
+ * even before invalidation published by the singleton arrives
+ */
+public class CachingServiceProxyHandler<T> extends AbstractServiceProxyHandler<T> {
+
+  private final ResultCache cache;
+  // indexed by method index, annotations are not looked up on each call
+  private final boolean[] cachedQueries;
+
+  public CachingServiceProxyHandler(final Class<T> serviceInterface, final T target,
+      final ResultCache cache) {
+    super(serviceInterface, target);
+    this.cache = cache;
+    this.cachedQueries = new boolean[serviceMethods().size()];
+    serviceMethods().forEach(method -> cachedQueries[method.index()] =
+        method.method().isAnnotationPresent(CachedQuery.class));
+  }
+
+  @Override
+  protected void invokeAsync(ServiceMethod method, Object[] args,
+      Handler<AsyncResult<Object>> resultHandler) {
+    if (!cachedQueries[method.index()]) {
+      proceed(method, args, result -> {
+        cache.invalidateAll();
+        resultHandler.handle(result);
+      });
+      return;
+    }
+
+    final List<Object> arguments = arguments(method, args);
+    final Object cached = cache.get(method, arguments);
+    if (cached != null) {
+      resultHandler.handle(Future.succeededFuture(cached));
+      return;
+    }
+
+    final long generation = cache.generation();
+    proceed(method, args, result -> {
+      if (result.succeeded() && result.result() != null) {
+        cache.put(method, arguments, result.result(), generation);
+      }
+      resultHandler.handle(result);
+    });
+  }
+
+  private static List<Object> arguments(final ServiceMethod method, final Object[] args) {
+    final List<Object> arguments = new ArrayList<>(args.length - 1);
+    for (int i = 0; i < args.length; i++) {
+      if (i == method.handlerIndex()) {
+        continue;
+      }
+      // key must not change when caller modifies its argument later
+      if (args[i] instanceof JsonObject) {
+        arguments.add(((JsonObject) args[i]).copy());
+      } else if (args[i] instanceof JsonArray) {
+        arguments.add(((JsonArray) args[i]).copy());
+      } else {
+        arguments.add(args[i]);
+      }
+    }
+    return Collections.unmodifiableList(arguments);
+  }
+}
@@ -0,0 +1,203 @@
+package org.deer.spring.vertx.core.cache;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.proxy.ServiceMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Node local cache of results of {@link CachedQuery} methods of single service. Cache is bounded by
+ * count of entries, least recently used entries are evicted first, and each entry expires once its
+ * time to live elapses. Cache is shared by all proxies of the service created with the same Vertx
+ * instance and the same bounds, and listens on {@link
+ * ClusterSingletonRegistratorBean#invalidationAddress}
+ */
+public final class ResultCache implements Shareable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ResultCache.class);
+  private static final String LOCAL_MAP = "spring-vertx-result-caches";
+
+  private final String serviceAddress;
+  private final int maxSize;
+  private final long timeToLiveNanos;
+  private final LinkedHashMap<Key, Entry> entries;
+  private final MessageConsumer<JsonObject> invalidationConsumer;
+
+  // incremented by each invalidation, so results of calls sent before it are not cached
+  private long generation;
+
+  private ResultCache(final Vertx vertx, final String serviceAddress, final int maxSize,
+      final long timeToLive) {
+    this.serviceAddress = serviceAddress;
+    this.maxSize = maxSize;
+    this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    this.invalidationConsumer = vertx.eventBus().consumer(
+        ClusterSingletonRegistratorBean.invalidationAddress(serviceAddress),
+        message -> invalidate(message.body()));
+  }
+
+  /**
+   * @param vertx Vertx instance whose proxies share the cache
+   * @param serviceAddress address of the service
+   * @param maxSize maximum count of cached results
+   * @param timeToLive time in milliseconds after which cached result expires
+   * @return cache shared by all proxies of the service with the same size and time to live.
+   * Proxies with other bounds get their own cache, so they see writes of each other once the
+   * singleton publishes invalidation
+   */
+  public static ResultCache forService(@NonNull final Vertx vertx,
+      @NonNull final String serviceAddress, final int maxSize, final long timeToLive) {
+    final LocalMap<String, ResultCache> caches = vertx.sharedData().getLocalMap(LOCAL_MAP);
+    final String cacheKey = serviceAddress + "|" + maxSize + "|" + timeToLive;
+    final ResultCache cache = caches.get(cacheKey);
+    if (cache != null) {
+      return cache;
+    }
+
+    // consumer of cache that lost the race is unregistered right away
+    final ResultCache newCache = new ResultCache(vertx, serviceAddress, maxSize, timeToLive);
+    final ResultCache existing = caches.putIfAbsent(cacheKey, newCache);
+    if (existing != null) {
+      newCache.invalidationConsumer.unregister();
+      return existing;
+    }
+    return newCache;
+  }
+
+  /**
+   * @return generation to pass to {@link #put}, taken before the call is sent
+   */
+  public synchronized long generation() {
+    return generation;
+  }
+
+  /**
+   * @return cached result, null if there is none or it has expired
+   */
+  @Nullable
+  public synchronized Object get(final ServiceMethod method, final List<Object> arguments) {
+    final Key key = new Key(method, arguments);
+    final Entry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (System.nanoTime() - entry.expiresAt >= 0) {
+      entries.remove(key);
+      return null;
+    }
+    return copyIfMutable(entry.result);
+  }
+
+  /**
+   * Caches result, unless the cache has been invalidated since provided generation
+   */
+  public synchronized void put(final ServiceMethod method, final List<Object> arguments,
+      final Object result, final long callGeneration) {
+    if (callGeneration != generation) {
+      return;
+    }
+    entries.put(new Key(method, arguments),
+        new Entry(copyIfMutable(result), System.nanoTime() + timeToLiveNanos));
+    if (entries.size() > maxSize) {
+      final Iterator<Key> eldest = entries.keySet().iterator();
+      eldest.next();
+      eldest.remove();
+    }
+  }
+
+  /**
+   * Evicts all cached results
+   */
+  public synchronized void invalidateAll() {
+    generation++;
+    entries.clear();
+  }
+
+  /**
+   * Evicts cached results of all methods with provided name, including overloaded ones
+   */
+  public synchronized void invalidate(final String method) {
+    generation++;
+    entries.keySet().removeIf(key -> key.methodName.equals(method));
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  private void invalidate(@Nullable final JsonObject invalidation) {
+    final JsonArray methods = invalidation == null ? null : invalidation.getJsonArray("methods");
+    if (methods == null || methods.isEmpty()) {
+      LOG.debug("Invalidating all cached results of {}", serviceAddress);
+      invalidateAll();
+    } else {
+      LOG.debug("Invalidating cached results of {} {}", serviceAddress, methods);
+      methods.forEach(method -> invalidate(String.valueOf(method)));
+    }
+  }
+
+  private static Object copyIfMutable(final Object value) {
+    if (value instanceof JsonObject) {
+      return ((JsonObject) value).copy();
+    } else if (value instanceof JsonArray) {
+      return ((JsonArray) value).copy();
+    }
+    return value;
+  }
+
+  private static final class Key {
+
+    // index tells apart overloaded methods, name is kept for invalidation
+    private final int methodIndex;
+    private final String methodName;
+    private final List<Object> arguments;
+
+    private Key(final ServiceMethod method, final List<Object> arguments) {
+      this.methodIndex = method.index();
+      this.methodName = method.name();
+      this.arguments = arguments;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final Key key = (Key) o;
+      return methodIndex == key.methodIndex && arguments.equals(key.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(methodIndex, arguments);
+    }
+  }
+
+  private static final class Entry {
+
+    private final Object result;
+    private final long expiresAt;
+
+    private Entry(final Object result, final long expiresAt) {
+      this.result = result;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package org.deer.spring.vertx.core.codec;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import org.deer.spring.vertx.core.proxy.AbstractServiceProxyHandler;
+import org.deer.spring.vertx.core.proxy.ServiceMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends calls to {@link BinaryServiceEndpoint} of the service. Calls of methods that binary layout
+ * does not support, calls of services without binary endpoint and calls of services with
+ * incompatible contract are passed to decorated JSON proxy
+ */
+public class BinaryCodecServiceProxyHandler<T> extends AbstractServiceProxyHandler<T> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BinaryCodecServiceProxyHandler.class);
+
+  private final Vertx vertx;
+  private final String serviceAddress;
+  private final String binaryAddress;
+  private final BinaryContract contract;
+  private final DeliveryOptions deliveryOptions;
+
+  // set once endpoint refuses contract of this proxy
+  private volatile boolean incompatible;
+
+  public BinaryCodecServiceProxyHandler(final Class<T> serviceInterface, final T target,
+      final Vertx vertx, final String serviceAddress, final DeliveryOptions deliveryOptions) {
+    super(serviceInterface, target);
+    this.vertx = vertx;
+    this.serviceAddress = serviceAddress;
+    this.binaryAddress = BinaryContract.binaryAddress(serviceAddress);
+    this.contract = BinaryContract.of(serviceInterface);
+    this.deliveryOptions = (deliveryOptions == null
+        ? new DeliveryOptions()
+        : new DeliveryOptions(deliveryOptions))
+        .setCodecName(ServiceInvocationCodec.NAME);
+    BinaryContract.registerCodecs(vertx);
+  }
+
+  @Override
+  protected void invokeAsync(ServiceMethod method, Object[] args,
+      Handler<AsyncResult<Object>> resultHandler) {
+    if (incompatible || !contract.isSupported(method.index())) {
+      proceed(method, args, resultHandler);
+      return;
+    }
+
+    final Object[] arguments = new Object[args.length - 1];
+    for (int i = 0, argument = 0; i < args.length; i++) {
+      if (i != method.handlerIndex()) {
+        arguments[argument++] = args[i];
+      }
+    }
+
+    vertx.eventBus().<ServiceReply>send(binaryAddress,
+        new ServiceInvocation(contract.fingerprint(), method.index(), arguments),
+        deliveryOptions, reply -> {
+          if (reply.succeeded()) {
+            resultHandler.handle(Future.succeededFuture(BinaryValues.convert(
+                reply.result().body().getResult(), contract.resultType(method.index()))));
+          } else if (isFallbackRequired(reply.cause())) {
+            proceed(method, args, resultHandler);
+          } else {
+            resultHandler.handle(Future.failedFuture(reply.cause()));
+          }
+        });
+  }
+
+  private boolean isFallbackRequired(final Throwable cause) {
+    if (!(cause instanceof ReplyException)) {
+      return false;
+    }
+
+    final ReplyException replyException = (ReplyException) cause;
+    if (replyException.failureType() == ReplyFailure.NO_HANDLERS) {
+      // service bound without binary endpoint
+      return true;
+    }
+    if (replyException.failureType() == ReplyFailure.RECIPIENT_FAILURE
+        && replyException.failureCode() == BinaryContract.INCOMPATIBLE_CONTRACT) {
+      LOG.warn("Service {} refused binary contract, falling back to JSON", serviceAddress);
+      incompatible = true;
+      return true;
+    }
+    return false;
+  }
+}
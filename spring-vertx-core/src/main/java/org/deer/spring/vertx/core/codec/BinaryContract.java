@@ -0,0 +1,119 @@
+package org.deer.spring.vertx.core.codec;
+
+import io.vertx.core.Vertx;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import org.deer.spring.vertx.core.proxy.ServiceMethod;
+
+/**
+ * Methods of service interface that can be called through binary codec. Contract is identified by
+ * fingerprint of method signatures, so peers with different version of the interface refuse
+ * binary calls and proxies fall back to JSON
+ */
+public final class BinaryContract {
+
+  /**
+   * Failure code sent back by endpoint when the contract of caller does not match
+   */
+  public static final int INCOMPATIBLE_CONTRACT = -32001;
+
+  private static final String BINARY_ADDRESS_SUFFIX = ".binary";
+
+  private static final ClassValue<BinaryContract> CONTRACTS = new ClassValue<BinaryContract>() {
+    @Override
+    protected BinaryContract computeValue(Class<?> type) {
+      return new BinaryContract(type);
+    }
+  };
+
+  private final List<ServiceMethod> methods;
+  private final Type[] resultTypes;
+  private final boolean[] supported;
+  private final int fingerprint;
+
+  private BinaryContract(final Class<?> serviceInterface) {
+    this.methods = ServiceMethod.of(serviceInterface);
+    this.resultTypes = new Type[methods.size()];
+    this.supported = new boolean[methods.size()];
+
+    int hash = serviceInterface.getName().hashCode();
+    for (ServiceMethod serviceMethod : methods) {
+      final Method method = serviceMethod.method();
+      hash = 31 * hash + method.toGenericString().hashCode();
+      if (serviceMethod.isAsync()) {
+        resultTypes[serviceMethod.index()] = resultType(method, serviceMethod.handlerIndex());
+        supported[serviceMethod.index()] = isSupported(serviceMethod);
+      }
+    }
+    this.fingerprint = hash;
+  }
+
+  public static BinaryContract of(final Class<?> serviceInterface) {
+    return CONTRACTS.get(serviceInterface);
+  }
+
+  /**
+   * @return address of binary endpoint of service bound to provided address
+   */
+  public static String binaryAddress(final String serviceAddress) {
+    return serviceAddress + BINARY_ADDRESS_SUFFIX;
+  }
+
+  /**
+   * Registers binary codecs to event bus of provided Vertx, if they are not registered yet
+   */
+  public static void registerCodecs(final Vertx vertx) {
+    MessageCodecs.registerOnce(vertx, new ServiceInvocationCodec());
+    MessageCodecs.registerOnce(vertx, new ServiceReplyCodec());
+  }
+
+  private static Type resultType(final Method method, final int handlerIndex) {
+    // Handler<AsyncResult<T>>, verified by ServiceMethod
+    final ParameterizedType handlerType =
+        (ParameterizedType) method.getGenericParameterTypes()[handlerIndex];
+    final ParameterizedType asyncResultType =
+        (ParameterizedType) handlerType.getActualTypeArguments()[0];
+    return asyncResultType.getActualTypeArguments()[0];
+  }
+
+  private boolean isSupported(final ServiceMethod serviceMethod) {
+    if (!BinaryValues.isSupported(resultTypes[serviceMethod.index()])) {
+      return false;
+    }
+    final Type[] parameterTypes = serviceMethod.method().getGenericParameterTypes();
+    for (int i = 0; i < parameterTypes.length; i++) {
+      if (i != serviceMethod.handlerIndex() && !BinaryValues.isSupported(parameterTypes[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public int fingerprint() {
+    return fingerprint;
+  }
+
+  public ServiceMethod method(final int index) {
+    return methods.get(index);
+  }
+
+  public int methodCount() {
+    return methods.size();
+  }
+
+  /**
+   * @return true if method with provided index can be called through binary codec
+   */
+  public boolean isSupported(final int methodIndex) {
+    return supported[methodIndex];
+  }
+
+  /**
+   * @return type of value passed to result handler of method with provided index
+   */
+  public Type resultType(final int methodIndex) {
+    return resultTypes[methodIndex];
+  }
+}
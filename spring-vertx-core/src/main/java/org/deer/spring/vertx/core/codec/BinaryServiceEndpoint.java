@@ -0,0 +1,87 @@
+package org.deer.spring.vertx.core.codec;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.serviceproxy.ServiceException;
+import org.deer.spring.vertx.core.endpoint.AdmissionControl;
+import org.deer.spring.vertx.core.endpoint.ServiceEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Consumer of binary calls of service instance. Bound next to the generated JSON consumer, at
+ * {@link BinaryContract#binaryAddress}
+ */
+public class BinaryServiceEndpoint<T> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BinaryServiceEndpoint.class);
+
+  private final Vertx vertx;
+  private final AdmissionControl admissionControl;
+  private final String serviceAddress;
+  private final BinaryServiceInvoker<T> invoker;
+  private final DeliveryOptions replyOptions =
+      new DeliveryOptions().setCodecName(ServiceReplyCodec.NAME);
+
+  private MessageConsumer<ServiceInvocation> consumer;
+
+  public BinaryServiceEndpoint(final Vertx vertx, final String serviceAddress,
+      final Class<T> serviceInterface, final T instance, final AdmissionControl admissionControl) {
+    this.vertx = vertx;
+    this.admissionControl = admissionControl;
+    this.serviceAddress = serviceAddress;
+    this.invoker = new BinaryServiceInvoker<>(serviceAddress, serviceInterface, instance);
+  }
+
+  /**
+   * Registers consumer, provided handler is called once the registration is propagated
+   */
+  public void register(final Handler<AsyncResult<Void>> completionHandler) {
+    BinaryContract.registerCodecs(vertx);
+    consumer = vertx.eventBus()
+        .consumer(BinaryContract.binaryAddress(serviceAddress), this::handle);
+    consumer.completionHandler(completionHandler);
+  }
+
+  public void unregister() {
+    unregister(result -> {
+    });
+  }
+
+  /**
+   * Unregisters consumer, provided handler is called once the unregistration is propagated
+   */
+  public void unregister(final Handler<AsyncResult<Void>> completionHandler) {
+    if (consumer != null) {
+      consumer.unregister(completionHandler);
+    } else {
+      completionHandler.handle(Future.succeededFuture());
+    }
+  }
+
+  private void handle(final Message<ServiceInvocation> message) {
+    admissionControl.dispatch(message, release -> invoker.invoke(message.body(), result -> {
+      release.run();
+      if (result.succeeded()) {
+        message.reply(new ServiceReply(result.result()), replyOptions);
+      } else {
+        fail(message, result.cause());
+      }
+    }), () -> message.fail(AdmissionControl.OVERLOADED,
+        ServiceEndpoint.overloadedMessage(serviceAddress)));
+  }
+
+  private void fail(final Message<?> message, final Throwable cause) {
+    if (cause instanceof ServiceException) {
+      message.fail(((ServiceException) cause).failureCode(), cause.getMessage());
+    } else {
+      LOG.debug("Binary call of service {} failed", serviceAddress, cause);
+      message.fail(-1, cause.getMessage());
+    }
+  }
+}
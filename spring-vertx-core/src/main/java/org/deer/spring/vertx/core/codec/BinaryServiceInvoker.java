@@ -0,0 +1,59 @@
+package org.deer.spring.vertx.core.codec;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.serviceproxy.ServiceException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Type;
+import org.deer.spring.vertx.core.proxy.ServiceMethod;
+
+/**
+ * Calls service instance with decoded {@link ServiceInvocation}. Refused invocations fail with
+ * {@link ServiceException} with code {@link BinaryContract#INCOMPATIBLE_CONTRACT}
+ */
+public class BinaryServiceInvoker<T> {
+
+  private final String serviceAddress;
+  private final T instance;
+  private final BinaryContract contract;
+
+  public BinaryServiceInvoker(final String serviceAddress, final Class<T> serviceInterface,
+      final T instance) {
+    this.serviceAddress = serviceAddress;
+    this.instance = instance;
+    this.contract = BinaryContract.of(serviceInterface);
+  }
+
+  public void invoke(final ServiceInvocation invocation,
+      final Handler<AsyncResult<Object>> resultHandler) {
+    final int methodIndex = invocation.getMethodIndex();
+    if (invocation.getFingerprint() != contract.fingerprint()
+        || methodIndex < 0 || methodIndex >= contract.methodCount()
+        || !contract.isSupported(methodIndex)) {
+      resultHandler.handle(Future.failedFuture(new ServiceException(
+          BinaryContract.INCOMPATIBLE_CONTRACT,
+          "Incompatible binary call of service " + serviceAddress)));
+      return;
+    }
+
+    final ServiceMethod method = contract.method(methodIndex);
+    final Type[] parameterTypes = method.method().getGenericParameterTypes();
+    final Object[] arguments = new Object[parameterTypes.length];
+    final Object[] received = invocation.getArguments();
+    for (int i = 0, argument = 0; i < arguments.length; i++) {
+      if (i != method.handlerIndex()) {
+        arguments[i] = BinaryValues.convert(received[argument++], parameterTypes[i]);
+      }
+    }
+    arguments[method.handlerIndex()] = resultHandler;
+
+    try {
+      method.method().invoke(instance, arguments);
+    } catch (InvocationTargetException e) {
+      resultHandler.handle(Future.failedFuture(e.getCause()));
+    } catch (IllegalAccessException | RuntimeException e) {
+      resultHandler.handle(Future.failedFuture(e));
+    }
+  }
+}
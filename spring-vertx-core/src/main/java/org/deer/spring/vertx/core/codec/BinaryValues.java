@@ -0,0 +1,279 @@
+package org.deer.spring.vertx.core.codec;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact binary layout of values that can be passed to service proxy methods. Each value is
+ * written as single byte tag followed by its content, so it can be decoded without knowing the
+ * declared type. Enums are written as their names and converted back by {@link #convert}
+ */
+public final class BinaryValues {
+
+  private static final byte NULL = 0;
+  private static final byte TRUE = 1;
+  private static final byte FALSE = 2;
+  private static final byte BYTE = 3;
+  private static final byte SHORT = 4;
+  private static final byte INT = 5;
+  private static final byte LONG = 6;
+  private static final byte FLOAT = 7;
+  private static final byte DOUBLE = 8;
+  private static final byte CHAR = 9;
+  private static final byte STRING = 10;
+  private static final byte JSON_OBJECT = 11;
+  private static final byte JSON_ARRAY = 12;
+  private static final byte BUFFER = 13;
+  private static final byte LIST = 14;
+  private static final byte SET = 15;
+  private static final byte MAP = 16;
+
+  private static final Set<Class<?>> BASIC_TYPES = new HashSet<>(Arrays.asList(
+      Boolean.class, boolean.class, Byte.class, byte.class, Short.class, short.class,
+      Integer.class, int.class, Long.class, long.class, Float.class, float.class,
+      Double.class, double.class, Character.class, char.class, String.class,
+      JsonObject.class, JsonArray.class, Buffer.class));
+
+  private BinaryValues() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  /**
+   * @return true if values of provided declared type can be written by {@link #write}
+   */
+  public static boolean isSupported(final Type type) {
+    if (type instanceof Class) {
+      final Class<?> rawType = (Class<?>) type;
+      return rawType == Void.class || rawType.isEnum() || BASIC_TYPES.contains(rawType);
+    }
+    if (type instanceof ParameterizedType) {
+      final ParameterizedType parameterized = (ParameterizedType) type;
+      final Type[] arguments = parameterized.getActualTypeArguments();
+      if (parameterized.getRawType() == List.class || parameterized.getRawType() == Set.class) {
+        return isSupportedElement(arguments[0]);
+      }
+      if (parameterized.getRawType() == Map.class) {
+        return arguments[0] == String.class && isSupportedElement(arguments[1]);
+      }
+    }
+    return false;
+  }
+
+  // elements of collections are not converted after decoding, so enums are not allowed
+  private static boolean isSupportedElement(final Type type) {
+    return type instanceof Class && BASIC_TYPES.contains(type);
+  }
+
+  public static void write(final Buffer buffer, final Object value) {
+    if (value == null) {
+      buffer.appendByte(NULL);
+    } else if (value instanceof Boolean) {
+      buffer.appendByte((Boolean) value ? TRUE : FALSE);
+    } else if (value instanceof Integer) {
+      buffer.appendByte(INT).appendInt((Integer) value);
+    } else if (value instanceof Long) {
+      buffer.appendByte(LONG).appendLong((Long) value);
+    } else if (value instanceof String) {
+      writeBytes(buffer.appendByte(STRING), ((String) value).getBytes(StandardCharsets.UTF_8));
+    } else if (value instanceof Double) {
+      buffer.appendByte(DOUBLE).appendDouble((Double) value);
+    } else if (value instanceof Float) {
+      buffer.appendByte(FLOAT).appendFloat((Float) value);
+    } else if (value instanceof Short) {
+      buffer.appendByte(SHORT).appendShort((Short) value);
+    } else if (value instanceof Byte) {
+      buffer.appendByte(BYTE).appendByte((Byte) value);
+    } else if (value instanceof Character) {
+      buffer.appendByte(CHAR).appendShort((short) ((Character) value).charValue());
+    } else if (value instanceof Enum) {
+      writeBytes(buffer.appendByte(STRING),
+          ((Enum<?>) value).name().getBytes(StandardCharsets.UTF_8));
+    } else if (value instanceof JsonObject) {
+      writeBuffer(buffer.appendByte(JSON_OBJECT), ((JsonObject) value).toBuffer());
+    } else if (value instanceof JsonArray) {
+      writeBuffer(buffer.appendByte(JSON_ARRAY), ((JsonArray) value).toBuffer());
+    } else if (value instanceof Buffer) {
+      writeBuffer(buffer.appendByte(BUFFER), (Buffer) value);
+    } else if (value instanceof List) {
+      writeCollection(buffer.appendByte(LIST), (List<?>) value);
+    } else if (value instanceof Set) {
+      writeCollection(buffer.appendByte(SET), (Set<?>) value);
+    } else if (value instanceof Map) {
+      final Map<?, ?> map = (Map<?, ?>) value;
+      buffer.appendByte(MAP).appendInt(map.size());
+      map.forEach((key, entryValue) -> {
+        writeBytes(buffer, String.valueOf(key).getBytes(StandardCharsets.UTF_8));
+        write(buffer, entryValue);
+      });
+    } else {
+      throw new IllegalArgumentException(
+          "Unsupported type of value " + value.getClass().getName());
+    }
+  }
+
+  private static void writeBytes(final Buffer buffer, final byte[] bytes) {
+    buffer.appendInt(bytes.length).appendBytes(bytes);
+  }
+
+  private static void writeBuffer(final Buffer buffer, final Buffer value) {
+    buffer.appendInt(value.length()).appendBuffer(value);
+  }
+
+  private static void writeCollection(final Buffer buffer, final Collection<?> values) {
+    buffer.appendInt(values.size());
+    values.forEach(value -> write(buffer, value));
+  }
+
+  public static Object read(final Reader reader) {
+    final byte tag = reader.buffer.getByte(reader.position++);
+    switch (tag) {
+      case NULL:
+        return null;
+      case TRUE:
+        return Boolean.TRUE;
+      case FALSE:
+        return Boolean.FALSE;
+      case BYTE:
+        return reader.buffer.getByte(reader.advance(1));
+      case SHORT:
+        return reader.buffer.getShort(reader.advance(2));
+      case INT:
+        return reader.buffer.getInt(reader.advance(4));
+      case LONG:
+        return reader.buffer.getLong(reader.advance(8));
+      case FLOAT:
+        return reader.buffer.getFloat(reader.advance(4));
+      case DOUBLE:
+        return reader.buffer.getDouble(reader.advance(8));
+      case CHAR:
+        return (char) reader.buffer.getShort(reader.advance(2));
+      case STRING:
+        return reader.readString();
+      case JSON_OBJECT:
+        return new JsonObject(reader.readBuffer());
+      case JSON_ARRAY:
+        return new JsonArray(reader.readBuffer());
+      case BUFFER:
+        return reader.readBuffer();
+      case LIST:
+        return readCollection(reader, new ArrayList<>());
+      case SET:
+        return readCollection(reader, new LinkedHashSet<>());
+      case MAP:
+        final int size = reader.readInt();
+        final Map<String, Object> map = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+          map.put(reader.readString(), read(reader));
+        }
+        return map;
+      default:
+        throw new IllegalArgumentException("Unknown value tag " + tag);
+    }
+  }
+
+  private static <C extends Collection<Object>> C readCollection(final Reader reader,
+      final C collection) {
+    final int size = reader.readInt();
+    for (int i = 0; i < size; i++) {
+      collection.add(read(reader));
+    }
+    return collection;
+  }
+
+  /**
+   * Converts decoded value to declared type, where the binary layout loses the type
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public static Object convert(final Object value, final Type type) {
+    if (value instanceof String && type instanceof Class && ((Class<?>) type).isEnum()) {
+      return Enum.valueOf((Class<? extends Enum>) type, (String) value);
+    }
+    return value;
+  }
+
+  /**
+   * @return copy of mutable value, same value if it is immutable
+   */
+  public static Object copy(final Object value) {
+    if (value instanceof JsonObject) {
+      return ((JsonObject) value).copy();
+    } else if (value instanceof JsonArray) {
+      return ((JsonArray) value).copy();
+    } else if (value instanceof Buffer) {
+      return ((Buffer) value).copy();
+    } else if (value instanceof List) {
+      final List<Object> copy = new ArrayList<>(((List<?>) value).size());
+      ((List<?>) value).forEach(element -> copy.add(copy(element)));
+      return copy;
+    } else if (value instanceof Set) {
+      final Set<Object> copy = new LinkedHashSet<>();
+      ((Set<?>) value).forEach(element -> copy.add(copy(element)));
+      return copy;
+    } else if (value instanceof Map) {
+      final Map<Object, Object> copy = new LinkedHashMap<>();
+      ((Map<?, ?>) value).forEach((key, element) -> copy.put(key, copy(element)));
+      return copy;
+    }
+    return value;
+  }
+
+  /**
+   * Reads values from buffer, starting at provided position
+   */
+  public static final class Reader {
+
+    private final Buffer buffer;
+    private int position;
+
+    public Reader(final Buffer buffer, final int position) {
+      this.buffer = buffer;
+      this.position = position;
+    }
+
+    public int position() {
+      return position;
+    }
+
+    public byte readByte() {
+      return buffer.getByte(advance(1));
+    }
+
+    public short readShort() {
+      return buffer.getShort(advance(2));
+    }
+
+    public int readInt() {
+      return buffer.getInt(advance(4));
+    }
+
+    private String readString() {
+      final int length = readInt();
+      return buffer.getString(advance(length), position, StandardCharsets.UTF_8.name());
+    }
+
+    private Buffer readBuffer() {
+      final int length = readInt();
+      return buffer.getBuffer(advance(length), position);
+    }
+
+    // moves position by provided length and returns the original one
+    private int advance(final int length) {
+      final int start = position;
+      position += length;
+      return start;
+    }
+  }
+}
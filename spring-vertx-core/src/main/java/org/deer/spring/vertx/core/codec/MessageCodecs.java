@@ -0,0 +1,30 @@
+package org.deer.spring.vertx.core.codec;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.core.shareddata.LocalMap;
+
+/**
+ * Registration of message codecs shared by all beans that use the same Vertx instance
+ */
+public final class MessageCodecs {
+
+  private static final String CODECS_MAP = "spring-vertx-codecs";
+
+  private MessageCodecs() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  /**
+   * Registers codec to event bus of provided Vertx, if codec with the same name is not registered
+   * yet
+   */
+  public static void registerOnce(final Vertx vertx, final MessageCodec<?, ?> codec) {
+    final LocalMap<String, Boolean> codecs = vertx.sharedData().getLocalMap(CODECS_MAP);
+    synchronized (MessageCodecs.class) {
+      if (codecs.putIfAbsent(codec.name(), Boolean.TRUE) == null) {
+        vertx.eventBus().registerCodec(codec);
+      }
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package org.deer.spring.vertx.core.codec;
+
+/**
+ * Call of service method sent by binary codec. Method is identified by its index within
+ * service contract, which is verified by fingerprint of the contract
+ */
+public final class ServiceInvocation {
+
+  private final int fingerprint;
+  private final int methodIndex;
+  private final Object[] arguments;
+
+  public ServiceInvocation(final int fingerprint, final int methodIndex,
+      final Object[] arguments) {
+    this.fingerprint = fingerprint;
+    this.methodIndex = methodIndex;
+    this.arguments = arguments;
+  }
+
+  public int getFingerprint() {
+    return fingerprint;
+  }
+
+  public int getMethodIndex() {
+    return methodIndex;
+  }
+
+  /**
+   * @return arguments of called method, without result handler
+   */
+  public Object[] getArguments() {
+    return arguments;
+  }
+}
@@ -0,0 +1,70 @@
+package org.deer.spring.vertx.core.codec;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+/**
+ * Writes {@link ServiceInvocation} as length, contract fingerprint, method index, argument count
+ * and arguments in layout of {@link BinaryValues}
+ */
+public class ServiceInvocationCodec implements MessageCodec<ServiceInvocation, ServiceInvocation> {
+
+  public static final String NAME = "spring-vertx-service-invocation";
+
+  @Override
+  public void encodeToWire(Buffer buffer, ServiceInvocation invocation) {
+    final int lengthPosition = buffer.length();
+    buffer.appendInt(0);
+    write(buffer, invocation);
+    buffer.setInt(lengthPosition, buffer.length() - lengthPosition - 4);
+  }
+
+  @Override
+  public ServiceInvocation decodeFromWire(int pos, Buffer buffer) {
+    return read(new BinaryValues.Reader(buffer, pos + 4));
+  }
+
+  @Override
+  public ServiceInvocation transform(ServiceInvocation invocation) {
+    return copy(invocation);
+  }
+
+  public static void write(final Buffer buffer, final ServiceInvocation invocation) {
+    buffer.appendInt(invocation.getFingerprint())
+        .appendShort((short) invocation.getMethodIndex())
+        .appendByte((byte) invocation.getArguments().length);
+    for (Object argument : invocation.getArguments()) {
+      BinaryValues.write(buffer, argument);
+    }
+  }
+
+  public static ServiceInvocation read(final BinaryValues.Reader reader) {
+    final int fingerprint = reader.readInt();
+    final int methodIndex = reader.readShort();
+    final Object[] arguments = new Object[reader.readByte()];
+    for (int i = 0; i < arguments.length; i++) {
+      arguments[i] = BinaryValues.read(reader);
+    }
+    return new ServiceInvocation(fingerprint, methodIndex, arguments);
+  }
+
+  // local delivery, only mutable arguments are copied
+  public static ServiceInvocation copy(final ServiceInvocation invocation) {
+    final Object[] arguments = invocation.getArguments().clone();
+    for (int i = 0; i < arguments.length; i++) {
+      arguments[i] = BinaryValues.copy(arguments[i]);
+    }
+    return new ServiceInvocation(invocation.getFingerprint(), invocation.getMethodIndex(),
+        arguments);
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public byte systemCodecID() {
+    return -1;
+  }
+}
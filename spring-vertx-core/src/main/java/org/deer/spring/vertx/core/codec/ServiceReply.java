@@ -0,0 +1,17 @@
+package org.deer.spring.vertx.core.codec;
+
+/**
+ * Result of service method sent back by binary codec
+ */
+public final class ServiceReply {
+
+  private final Object result;
+
+  public ServiceReply(final Object result) {
+    this.result = result;
+  }
+
+  public Object getResult() {
+    return result;
+  }
+}
@@ -0,0 +1,40 @@
+package org.deer.spring.vertx.core.codec;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+/**
+ * Writes {@link ServiceReply} as length and result in layout of {@link BinaryValues}
+ */
+public class ServiceReplyCodec implements MessageCodec<ServiceReply, ServiceReply> {
+
+  public static final String NAME = "spring-vertx-service-reply";
+
+  @Override
+  public void encodeToWire(Buffer buffer, ServiceReply reply) {
+    final int lengthPosition = buffer.length();
+    buffer.appendInt(0);
+    BinaryValues.write(buffer, reply.getResult());
+    buffer.setInt(lengthPosition, buffer.length() - lengthPosition - 4);
+  }
+
+  @Override
+  public ServiceReply decodeFromWire(int pos, Buffer buffer) {
+    return new ServiceReply(BinaryValues.read(new BinaryValues.Reader(buffer, pos + 4)));
+  }
+
+  @Override
+  public ServiceReply transform(ServiceReply reply) {
+    return new ServiceReply(BinaryValues.copy(reply.getResult()));
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public byte systemCodecID() {
+    return -1;
+  }
+}
@@ -0,0 +1,213 @@
+package org.deer.spring.vertx.core.endpoint;
+
+import io.vertx.core.Handler;
+import io.vertx.core.eventbus.Message;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.deer.spring.vertx.core.SingletonOptions;
+import org.deer.spring.vertx.core.execution.SingletonExecutor;
+import org.deer.spring.vertx.core.trace.CallSpan;
+import org.deer.spring.vertx.core.trace.CallSpan.Hop;
+import org.deer.spring.vertx.core.trace.CallTracer;
+
+/**
+ * Limits count of calls of deployed singleton, that are executed or waiting for execution. Calls
+ * over {@link SingletonOptions#getMaxInFlight()} wait in queue, calls that do not fit in {@link
+ * SingletonOptions#getMaxQueued()} are rejected immediately, so callers fail fast with {@link
+ * #OVERLOADED} instead of waiting for send timeout. Once {@link #suspend() suspended}, calls
+ * received from consumers are parked instead of executed, so they can be forwarded to the next
+ * owner of the singleton. With {@link CallTracer}, calls sampled by callers are traced from
+ * receipt by consumer until release
+ */
+public class AdmissionControl {
+
+  /**
+   * Failure code of calls rejected because the singleton is overloaded
+   */
+  public static final int OVERLOADED = -32002;
+
+  private final SingletonExecutor executor;
+  private final int maxInFlight;
+  private final int maxQueued;
+  private final Queue<Runnable> queued = new ArrayDeque<>();
+  private final List<Runnable> drainHandlers = new ArrayList<>();
+
+  private int inFlight;
+  private List<Message<?>> parked;
+  private CallTracer tracer;
+
+  public AdmissionControl(final SingletonExecutor executor, final SingletonOptions options) {
+    this.executor = executor;
+    this.maxInFlight = options.getMaxInFlight();
+    this.maxQueued = options.getMaxQueued();
+  }
+
+  /**
+   * @param tracer tracer that records calls received by consumers, null to disable tracing
+   */
+  public AdmissionControl setTracer(final CallTracer tracer) {
+    this.tracer = tracer;
+    return this;
+  }
+
+  /**
+   * Admits call received by consumer of the singleton, see {@link SingletonExecutor#dispatch}
+   *
+   * @param message received message, parked instead of executed while admission is suspended
+   * @param call executes the call, must run provided release callback once the call completes
+   * @param rejectHandler called if the call is rejected
+   */
+  public void dispatch(final Message<?> message, final Handler<Runnable> call,
+      final Runnable rejectHandler) {
+    synchronized (this) {
+      if (parked != null) {
+        parked.add(message);
+        return;
+      }
+    }
+    final CallSpan span = tracer == null ? null : tracer.startReceive(message);
+    if (span == null) {
+      admit(call, rejectHandler, true);
+      return;
+    }
+
+    admit(release -> {
+      tracer.mark(span, Hop.START);
+      call.handle(() -> {
+        tracer.finish(span, false);
+        release.run();
+      });
+    }, () -> {
+      tracer.finish(span, true);
+      rejectHandler.run();
+    }, true);
+  }
+
+  /**
+   * Admits call that is always executed asynchronously, see {@link SingletonExecutor#execute}
+   *
+   * @param call executes the call, must run provided release callback once the call completes
+   * @param rejectHandler called if the call is rejected
+   */
+  public void execute(final Handler<Runnable> call, final Runnable rejectHandler) {
+    admit(call, rejectHandler, false);
+  }
+
+  /**
+   * @return count of calls that are executed, but not completed yet
+   */
+  public synchronized int inFlight() {
+    return inFlight;
+  }
+
+  /**
+   * @return count of calls that wait for execution
+   */
+  public synchronized int queued() {
+    return queued.size();
+  }
+
+  /**
+   * Stops execution of calls received from consumers, they are parked until {@link
+   * #takeParked()}. Local calls, that already hold the instance, are still executed
+   */
+  public synchronized void suspend() {
+    if (parked == null) {
+      parked = new ArrayList<>();
+    }
+  }
+
+  /**
+   * @return messages parked since admission was suspended, the list is cleared
+   */
+  public synchronized List<Message<?>> takeParked() {
+    if (parked == null) {
+      return new ArrayList<>();
+    }
+    final List<Message<?>> taken = parked;
+    parked = new ArrayList<>();
+    return taken;
+  }
+
+  /**
+   * Provided handler is called once there is no call in flight or waiting in queue, immediately
+   * if there is none already
+   */
+  public void drain(final Runnable drainHandler) {
+    synchronized (this) {
+      if (inFlight > 0 || !queued.isEmpty()) {
+        drainHandlers.add(drainHandler);
+        return;
+      }
+    }
+    drainHandler.run();
+  }
+
+  private void admit(final Handler<Runnable> call, final Runnable rejectHandler,
+      final boolean dispatch) {
+    final Runnable release = releaseOnce();
+    synchronized (this) {
+      // unlimited calls are only counted, so they can be drained
+      if (maxInFlight > 0 && inFlight >= maxInFlight) {
+        if (maxQueued >= 0 && queued.size() >= maxQueued) {
+          rejectHandler.run();
+        } else {
+          queued.add(() -> run(call, release, false));
+        }
+        return;
+      }
+      inFlight++;
+    }
+    run(call, release, dispatch);
+  }
+
+  private void run(final Handler<Runnable> call, final Runnable release,
+      final boolean dispatch) {
+    final Runnable task = () -> {
+      try {
+        call.handle(release);
+      } catch (RuntimeException e) {
+        release.run();
+        throw e;
+      }
+    };
+    if (dispatch) {
+      executor.dispatch(task);
+    } else {
+      executor.execute(task);
+    }
+  }
+
+  private Runnable releaseOnce() {
+    final AtomicBoolean released = new AtomicBoolean();
+    return () -> {
+      if (!released.compareAndSet(false, true)) {
+        return;
+      }
+      final Runnable next;
+      final List<Runnable> drained;
+      synchronized (this) {
+        next = queued.poll();
+        if (next == null) {
+          inFlight--;
+        }
+        if (inFlight == 0 && !drainHandlers.isEmpty()) {
+          drained = new ArrayList<>(drainHandlers);
+          drainHandlers.clear();
+        } else {
+          drained = null;
+        }
+      }
+      // permit is passed to the next queued call
+      if (next != null) {
+        next.run();
+      }
+      if (drained != null) {
+        drained.forEach(Runnable::run);
+      }
+    };
+  }
+}
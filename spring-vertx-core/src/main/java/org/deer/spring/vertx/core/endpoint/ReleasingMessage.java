@@ -0,0 +1,79 @@
+package org.deer.spring.vertx.core.endpoint;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+
+/**
+ * Message that runs release callback once it is replied or failed, so the generated handler
+ * signals completion of the call without knowing about {@link AdmissionControl}
+ */
+final class ReleasingMessage<T> implements Message<T> {
+
+  private final Message<T> delegate;
+  private final Runnable release;
+
+  ReleasingMessage(final Message<T> delegate, final Runnable release) {
+    this.delegate = delegate;
+    this.release = release;
+  }
+
+  @Override
+  public String address() {
+    return delegate.address();
+  }
+
+  @Override
+  public MultiMap headers() {
+    return delegate.headers();
+  }
+
+  @Override
+  public T body() {
+    return delegate.body();
+  }
+
+  @Override
+  public String replyAddress() {
+    return delegate.replyAddress();
+  }
+
+  @Override
+  public boolean isSend() {
+    return delegate.isSend();
+  }
+
+  @Override
+  public void reply(final Object message) {
+    release.run();
+    delegate.reply(message);
+  }
+
+  @Override
+  public <R> void reply(final Object message,
+      final Handler<AsyncResult<Message<R>>> replyHandler) {
+    release.run();
+    delegate.reply(message, replyHandler);
+  }
+
+  @Override
+  public void reply(final Object message, final DeliveryOptions options) {
+    release.run();
+    delegate.reply(message, options);
+  }
+
+  @Override
+  public <R> void reply(final Object message, final DeliveryOptions options,
+      final Handler<AsyncResult<Message<R>>> replyHandler) {
+    release.run();
+    delegate.reply(message, options, replyHandler);
+  }
+
+  @Override
+  public void fail(final int failureCode, final String message) {
+    release.run();
+    delegate.fail(failureCode, message);
+  }
+}
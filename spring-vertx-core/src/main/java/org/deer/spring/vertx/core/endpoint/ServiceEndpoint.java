@@ -0,0 +1,375 @@
+package org.deer.spring.vertx.core.endpoint;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.json.JsonObject;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.deer.spring.vertx.core.SingletonOptions;
+import org.deer.spring.vertx.core.SingletonRegistration;
+import org.deer.spring.vertx.core.batch.BatchServiceEndpoint;
+import org.deer.spring.vertx.core.batch.ServiceBatch;
+import org.deer.spring.vertx.core.batch.ServiceBatchCodec;
+import org.deer.spring.vertx.core.batch.ServiceBatchReply;
+import org.deer.spring.vertx.core.batch.ServiceBatchReplyCodec;
+import org.deer.spring.vertx.core.codec.BinaryContract;
+import org.deer.spring.vertx.core.codec.BinaryServiceEndpoint;
+import org.deer.spring.vertx.core.codec.ServiceInvocation;
+import org.deer.spring.vertx.core.codec.ServiceInvocationCodec;
+import org.deer.spring.vertx.core.codec.ServiceReply;
+import org.deer.spring.vertx.core.codec.ServiceReplyCodec;
+import org.deer.spring.vertx.core.execution.SingletonExecutor;
+import org.deer.spring.vertx.core.execution.SingletonExecutors;
+import org.deer.spring.vertx.core.proxy.ServiceMethod;
+import org.deer.spring.vertx.core.stream.StreamingServiceEndpoint;
+import org.deer.spring.vertx.core.trace.CallTracer;
+
+/**
+ * Event bus consumers of deployed singleton instance. JSON calls are handled by the handler
+ * generated for the service interface, same as with {@code ServiceBinder}, but all calls, including
+ * binary and batched ones, are admitted by {@link AdmissionControl} and executed by {@link
+ * SingletonExecutor} created from {@link SingletonOptions} of the registration. Calls parked while
+ * the endpoint is {@link #suspend suspended} are forwarded to the service address once it is
+ * unregistered, as well as calls that other nodes still send here until they see the
+ * unregistration. Instances that implement interfaces marked by {@code StreamingContract} get
+ * streaming endpoint as well
+ */
+public class ServiceEndpoint<T> {
+
+  private static final String HANDLER_SUFFIX = "VertxProxyHandler";
+  private static final String ACTION_HEADER = "action";
+  // same timeout as ServiceBinder uses, top level handlers do not time out anyway
+  private static final long HANDLER_TIMEOUT_SECONDS = 5 * 60;
+  // local consumers are not visible to other nodes, but still receive calls sent here by nodes
+  // that did not see the unregistration yet
+  private static final long FORWARDING_PERIOD = 5000;
+  private static final String FORWARDS_HEADER = "spring-vertx-forwards";
+  private static final int MAX_FORWARDS = 3;
+  private static final long FORWARD_RETRY_DELAY = 100;
+
+  private static final ClassValue<Constructor<?>> HANDLER_CONSTRUCTORS =
+      new ClassValue<Constructor<?>>() {
+        @Override
+        protected Constructor<?> computeValue(final Class<?> serviceInterface) {
+          final String handlerName = serviceInterface.getName() + HANDLER_SUFFIX;
+          try {
+            return Class.forName(handlerName, true, serviceInterface.getClassLoader())
+                .getConstructor(Vertx.class, serviceInterface, boolean.class, long.class);
+          } catch (ClassNotFoundException | NoSuchMethodException e) {
+            throw new IllegalStateException(
+                "No generated proxy handler " + handlerName + " found", e);
+          }
+        }
+      };
+
+  private final Vertx vertx;
+  private final SingletonRegistration<T> registration;
+  private final T instance;
+
+  private boolean binaryCodec;
+  private boolean batching;
+  private CallTracer tracer;
+
+  private SingletonExecutor executor;
+  private AdmissionControl admissionControl;
+  private MessageConsumer<JsonObject> consumer;
+  private BinaryServiceEndpoint<T> binaryEndpoint;
+  private BatchServiceEndpoint<T> batchEndpoint;
+  private StreamingServiceEndpoint streamingEndpoint;
+
+  public ServiceEndpoint(final Vertx vertx, final SingletonRegistration<T> registration,
+      final T instance) {
+    this.vertx = vertx;
+    this.registration = registration;
+    this.instance = instance;
+  }
+
+  /**
+   * @param binaryCodec if enabled, binary endpoint is bound next to the JSON consumer
+   */
+  public ServiceEndpoint<T> setBinaryCodec(final boolean binaryCodec) {
+    this.binaryCodec = binaryCodec;
+    return this;
+  }
+
+  /**
+   * @param batching if enabled, batch endpoint is bound next to the JSON consumer
+   */
+  public ServiceEndpoint<T> setBatching(final boolean batching) {
+    this.batching = batching;
+    return this;
+  }
+
+  /**
+   * @param tracer tracer that records calls sampled by callers, null to disable tracing
+   */
+  public ServiceEndpoint<T> setTracer(final CallTracer tracer) {
+    this.tracer = tracer;
+    return this;
+  }
+
+  /**
+   * Registers consumers on current context, provided handler is called once all registrations are
+   * propagated
+   */
+  public void register(final Handler<AsyncResult<Void>> completionHandler) {
+    final Handler<Message<JsonObject>> jsonHandler;
+    try {
+      jsonHandler = createJsonHandler();
+    } catch (IllegalStateException e) {
+      completionHandler.handle(Future.failedFuture(e));
+      return;
+    }
+
+    final String serviceAddress = registration.getServiceAddress();
+    executor = SingletonExecutors.create(vertx, vertx.getOrCreateContext(), serviceAddress,
+        registration.getOptions());
+    admissionControl = new AdmissionControl(executor, registration.getOptions())
+        .setTracer(tracer);
+    final Set<String> oneWayActions = ServiceMethod.of(registration.getServiceInterface())
+        .stream()
+        .filter(method -> !method.isAsync())
+        .map(ServiceMethod::name)
+        .collect(Collectors.toSet());
+
+    final List<Future> registrations = new ArrayList<>(4);
+    final Future<Void> jsonRegistration = Future.future();
+    consumer = vertx.eventBus().consumer(serviceAddress,
+        message -> admissionControl.dispatch(message, release -> {
+          jsonHandler.handle(new ReleasingMessage<>(message, release));
+          // one way calls are never replied
+          if (oneWayActions.contains(message.headers().get(ACTION_HEADER))) {
+            release.run();
+          }
+        }, () -> message.fail(AdmissionControl.OVERLOADED, overloadedMessage(serviceAddress))));
+    consumer.completionHandler(jsonRegistration);
+    registrations.add(jsonRegistration);
+
+    if (binaryCodec) {
+      final Future<Void> binaryRegistration = Future.future();
+      binaryEndpoint = new BinaryServiceEndpoint<>(vertx, serviceAddress,
+          registration.getServiceInterface(), instance, admissionControl);
+      binaryEndpoint.register(binaryRegistration);
+      registrations.add(binaryRegistration);
+    }
+    if (batching) {
+      final Future<Void> batchRegistration = Future.future();
+      batchEndpoint = new BatchServiceEndpoint<>(vertx, serviceAddress,
+          registration.getServiceInterface(), instance, admissionControl);
+      batchEndpoint.register(batchRegistration);
+      registrations.add(batchRegistration);
+    }
+    if (!StreamingServiceEndpoint.streamingContracts(instance.getClass()).isEmpty()) {
+      final Future<Void> streamingRegistration = Future.future();
+      streamingEndpoint = new StreamingServiceEndpoint(vertx, serviceAddress, instance,
+          admissionControl);
+      streamingEndpoint.register(streamingRegistration);
+      registrations.add(streamingRegistration);
+    }
+
+    CompositeFuture.all(registrations).setHandler(result -> completionHandler.handle(
+        result.succeeded() ? Future.succeededFuture() : Future.failedFuture(result.cause())));
+  }
+
+  /**
+   * @return executor of the singleton, available once the endpoint is registered
+   */
+  public SingletonExecutor executor() {
+    return executor;
+  }
+
+  /**
+   * @return admission control of the singleton, available once the endpoint is registered
+   */
+  public AdmissionControl admissionControl() {
+    return admissionControl;
+  }
+
+  /**
+   * @return failure message of calls rejected by admission control of service
+   */
+  public static String overloadedMessage(final String serviceAddress) {
+    return "Service " + serviceAddress + " is overloaded";
+  }
+
+  public SingletonRegistration<T> registration() {
+    return registration;
+  }
+
+  public T instance() {
+    return instance;
+  }
+
+  /**
+   * Stops execution of calls received by consumers, see {@link AdmissionControl#suspend()}.
+   * Provided handler is called once calls in flight complete, or fails once the drain timeout
+   * elapses before that
+   *
+   * @param drainTimeout time in milliseconds to wait for calls in flight
+   */
+  public void suspend(final long drainTimeout, final Handler<AsyncResult<Void>> drainHandler) {
+    admissionControl.suspend();
+    final AtomicBoolean done = new AtomicBoolean();
+    final long timer = vertx.setTimer(drainTimeout, id -> {
+      if (done.compareAndSet(false, true)) {
+        drainHandler.handle(Future.failedFuture(new IllegalStateException(
+            admissionControl.inFlight() + " calls of " + registration.descriptor()
+                + " still in flight after " + drainTimeout + " ms")));
+      }
+    });
+    admissionControl.drain(() -> {
+      if (done.compareAndSet(false, true)) {
+        vertx.cancelTimer(timer);
+        drainHandler.handle(Future.succeededFuture());
+      }
+    });
+  }
+
+  /**
+   * Unregisters all consumers and releases the executor
+   */
+  public void unregister() {
+    unregister(result -> {
+    });
+  }
+
+  /**
+   * Unregisters all consumers and releases the executor, provided handler is called once the
+   * unregistrations are propagated
+   */
+  public void unregister(final Handler<AsyncResult<Void>> completionHandler) {
+    final List<Future> unregistrations = new ArrayList<>(4);
+    if (consumer != null) {
+      final Future<Void> jsonUnregistration = Future.future();
+      consumer.unregister(jsonUnregistration);
+      unregistrations.add(jsonUnregistration);
+    }
+    if (binaryEndpoint != null) {
+      final Future<Void> binaryUnregistration = Future.future();
+      binaryEndpoint.unregister(binaryUnregistration);
+      unregistrations.add(binaryUnregistration);
+    }
+    if (batchEndpoint != null) {
+      final Future<Void> batchUnregistration = Future.future();
+      batchEndpoint.unregister(batchUnregistration);
+      unregistrations.add(batchUnregistration);
+    }
+    if (streamingEndpoint != null) {
+      final Future<Void> streamingUnregistration = Future.future();
+      streamingEndpoint.unregister(streamingUnregistration);
+      unregistrations.add(streamingUnregistration);
+    }
+    if (executor != null) {
+      executor.close();
+    }
+    CompositeFuture.all(unregistrations).setHandler(result -> {
+      // no consumer receives calls anymore, so calls parked by suspended admission reach the
+      // next owner of the singleton
+      final List<Future> forwards = new ArrayList<>();
+      if (admissionControl != null) {
+        forwardLateCalls();
+        admissionControl.takeParked().forEach(message -> forwards.add(forward(message)));
+      }
+      // replies of forwarded calls travel back through this node, so it has to wait for them
+      CompositeFuture.join(forwards).setHandler(forwarded -> completionHandler.handle(
+          result.succeeded() ? Future.succeededFuture() : Future.failedFuture(result.cause())));
+    });
+  }
+
+  private void forwardLateCalls() {
+    final String serviceAddress = registration.getServiceAddress();
+    final List<MessageConsumer<Object>> forwarders = new ArrayList<>(3);
+    forwarders.add(vertx.eventBus().localConsumer(serviceAddress, this::forward));
+    if (binaryEndpoint != null) {
+      forwarders.add(vertx.eventBus()
+          .localConsumer(BinaryContract.binaryAddress(serviceAddress), this::forward));
+    }
+    if (batchEndpoint != null) {
+      forwarders.add(vertx.eventBus()
+          .localConsumer(BatchServiceEndpoint.batchAddress(serviceAddress), this::forward));
+    }
+    vertx.setTimer(FORWARDING_PERIOD, id -> forwarders.forEach(MessageConsumer::unregister));
+  }
+
+  private Future<Void> forward(final Message<?> message) {
+    final String forwardsHeader = message.headers().get(FORWARDS_HEADER);
+    final int forwards = forwardsHeader == null ? 0 : Integer.parseInt(forwardsHeader);
+    final Future<Void> forwarded = Future.future();
+    if (forwards == 0) {
+      forward(message, 1, forwarded);
+    } else if (forwards < MAX_FORWARDS) {
+      // came back, as this node still saw itself as consumer, so it tries again a bit later
+      vertx.setTimer(FORWARD_RETRY_DELAY, id -> forward(message, forwards + 1, forwarded));
+    } else {
+      if (message.replyAddress() != null) {
+        message.fail(-1, "No handlers for address " + message.address());
+      }
+      forwarded.complete();
+    }
+    return forwarded;
+  }
+
+  private void forward(final Message<?> message, final int forwards,
+      final Future<Void> forwarded) {
+    final DeliveryOptions options = codecOptions(message.body())
+        .setHeaders(MultiMap.caseInsensitiveMultiMap()
+            .addAll(message.headers())
+            .set(FORWARDS_HEADER, String.valueOf(forwards)));
+    if (message.replyAddress() == null) {
+      vertx.eventBus().send(message.address(), message.body(), options);
+      forwarded.complete();
+      return;
+    }
+
+    vertx.eventBus().send(message.address(), message.body(), options, reply -> {
+      if (reply.succeeded()) {
+        message.reply(reply.result().body(), codecOptions(reply.result().body()));
+      } else if (reply.cause() instanceof ReplyException) {
+        final ReplyException cause = (ReplyException) reply.cause();
+        message.fail(cause.failureCode(), cause.getMessage());
+      } else {
+        message.fail(-1, reply.cause().getMessage());
+      }
+      forwarded.complete();
+    });
+  }
+
+  private static DeliveryOptions codecOptions(final Object body) {
+    final DeliveryOptions options = new DeliveryOptions();
+    if (body instanceof ServiceInvocation) {
+      options.setCodecName(ServiceInvocationCodec.NAME);
+    } else if (body instanceof ServiceReply) {
+      options.setCodecName(ServiceReplyCodec.NAME);
+    } else if (body instanceof ServiceBatch) {
+      options.setCodecName(ServiceBatchCodec.NAME);
+    } else if (body instanceof ServiceBatchReply) {
+      options.setCodecName(ServiceBatchReplyCodec.NAME);
+    }
+    return options;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Handler<Message<JsonObject>> createJsonHandler() {
+    final Constructor<?> constructor =
+        HANDLER_CONSTRUCTORS.get(registration.getServiceInterface());
+    try {
+      return (Handler<Message<JsonObject>>) constructor
+          .newInstance(vertx, instance, true, HANDLER_TIMEOUT_SECONDS);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(
+          "Proxy handler of " + registration.descriptor() + " could not be created", e);
+    }
+  }
+}
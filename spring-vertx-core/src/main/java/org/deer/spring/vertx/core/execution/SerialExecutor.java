@@ -0,0 +1,46 @@
+package org.deer.spring.vertx.core.execution;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+/**
+ * Executes tasks one at a time in order of submission, on threads of the delegate executor
+ */
+final class SerialExecutor implements Executor {
+
+  private final Queue<Runnable> tasks = new ArrayDeque<>();
+  private final Executor delegate;
+
+  private boolean running;
+
+  SerialExecutor(final Executor delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public void execute(final Runnable task) {
+    synchronized (tasks) {
+      tasks.add(task);
+      if (running) {
+        return;
+      }
+      running = true;
+    }
+    delegate.execute(this::drain);
+  }
+
+  private void drain() {
+    while (true) {
+      final Runnable task;
+      synchronized (tasks) {
+        task = tasks.poll();
+        if (task == null) {
+          running = false;
+          return;
+        }
+      }
+      task.run();
+    }
+  }
+}
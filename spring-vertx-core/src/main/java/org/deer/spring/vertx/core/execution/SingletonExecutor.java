@@ -0,0 +1,30 @@
+package org.deer.spring.vertx.core.execution;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executes calls of deployed singleton, according to its {@link
+ * org.deer.spring.vertx.core.ExecutionMode}. Created by {@link SingletonExecutors}
+ */
+public interface SingletonExecutor extends Executor {
+
+  /**
+   * Executes task asynchronously, never on the calling thread
+   */
+  @Override
+  void execute(Runnable task);
+
+  /**
+   * Executes task received by consumer of the singleton. Task may run on the calling thread, if
+   * the thread is the one that executes the singleton
+   */
+  default void dispatch(final Runnable task) {
+    execute(task);
+  }
+
+  /**
+   * Releases threads held by this executor
+   */
+  default void close() {
+  }
+}
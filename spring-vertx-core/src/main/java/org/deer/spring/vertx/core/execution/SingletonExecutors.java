@@ -0,0 +1,168 @@
+package org.deer.spring.vertx.core.execution;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.deer.spring.vertx.core.ExecutionMode;
+import org.deer.spring.vertx.core.SingletonOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates {@link SingletonExecutor} for execution mode of the singleton
+ */
+public final class SingletonExecutors {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SingletonExecutors.class);
+
+  private static final String WORKER_POOL_PREFIX = "spring-vertx-singleton-";
+
+  private SingletonExecutors() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  /**
+   * @param vertx Vertx instance
+   * @param context context that deployed the singleton, used in {@link ExecutionMode#EVENT_LOOP}
+   * @param serviceAddress address of the singleton, used to name its dedicated worker pool
+   * @param options execution options of the singleton
+   */
+  public static SingletonExecutor create(final Vertx vertx, final Context context,
+      final String serviceAddress, final SingletonOptions options) {
+    switch (options.getExecutionMode()) {
+      case WORKER_POOL:
+        return workerPool(vertx, serviceAddress, options);
+      case VIRTUAL_THREADS:
+        final ExecutorService virtualThreads = newVirtualThreadPerTaskExecutor();
+        if (virtualThreads == null) {
+          LOG.warn("Virtual threads are not supported by this JDK, singleton {} will use worker "
+              + "pool", serviceAddress);
+          return workerPool(vertx, serviceAddress, options);
+        }
+        return new VirtualThreadExecutor(virtualThreads, options.isOrdered());
+      case EVENT_LOOP:
+      default:
+        return new EventLoopExecutor(context);
+    }
+  }
+
+  /**
+   * @return true if the running JDK supports virtual threads
+   */
+  public static boolean virtualThreadsSupported() {
+    try {
+      Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  private static SingletonExecutor workerPool(final Vertx vertx, final String serviceAddress,
+      final SingletonOptions options) {
+    final String poolName = options.getWorkerPoolName() != null
+        ? options.getWorkerPoolName()
+        : WORKER_POOL_PREFIX + serviceAddress;
+    return new WorkerPoolExecutor(
+        vertx.createSharedWorkerExecutor(poolName, options.getWorkerPoolSize()),
+        options.isOrdered());
+  }
+
+  // project is built for Java 8, so virtual threads are available only by reflection
+  private static ExecutorService newVirtualThreadPerTaskExecutor() {
+    if (!virtualThreadsSupported()) {
+      return null;
+    }
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+          .invoke(null);
+    } catch (ReflectiveOperationException e) {
+      LOG.warn("Virtual thread executor could not be created", e);
+      return null;
+    }
+  }
+
+  // failure of single task must not break ordering of the following ones
+  private static Runnable guarded(final Runnable task) {
+    return () -> {
+      try {
+        task.run();
+      } catch (RuntimeException e) {
+        LOG.error("Call of singleton failed", e);
+      }
+    };
+  }
+
+  private static final class EventLoopExecutor implements SingletonExecutor {
+
+    private final Context context;
+
+    private EventLoopExecutor(final Context context) {
+      this.context = context;
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+      context.runOnContext(v -> guarded(task).run());
+    }
+
+    @Override
+    public void dispatch(final Runnable task) {
+      if (Vertx.currentContext() == context) {
+        guarded(task).run();
+      } else {
+        execute(task);
+      }
+    }
+  }
+
+  private static final class WorkerPoolExecutor implements SingletonExecutor {
+
+    private final WorkerExecutor workerExecutor;
+    private final Executor executor;
+
+    private WorkerPoolExecutor(final WorkerExecutor workerExecutor, final boolean ordered) {
+      this.workerExecutor = workerExecutor;
+      // ordering of worker executor is kept per calling context only, so it is done here instead
+      final Executor unordered = task -> workerExecutor.executeBlocking(future -> {
+        task.run();
+        future.complete();
+      }, false, null);
+      this.executor = ordered ? new SerialExecutor(unordered) : unordered;
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+      executor.execute(guarded(task));
+    }
+
+    @Override
+    public void close() {
+      workerExecutor.close();
+    }
+  }
+
+  private static final class VirtualThreadExecutor implements SingletonExecutor {
+
+    private final ExecutorService virtualThreads;
+    private final Executor executor;
+
+    private VirtualThreadExecutor(final ExecutorService virtualThreads, final boolean ordered) {
+      this.virtualThreads = virtualThreads;
+      this.executor = ordered ? new SerialExecutor(virtualThreads) : virtualThreads;
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+      executor.execute(guarded(task));
+    }
+
+    @Override
+    public void close() {
+      virtualThreads.shutdown();
+    }
+  }
+}
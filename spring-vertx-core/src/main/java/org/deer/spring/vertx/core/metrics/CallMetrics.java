@@ -0,0 +1,28 @@
+package org.deer.spring.vertx.core.metrics;
+
+/**
+ * Metrics of calls of single method of service behind single address. Instance is resolved once
+ * when proxy is created, so recording does not need any lookup
+ */
+public interface CallMetrics {
+
+  CallMetrics NOOP = new CallMetrics() {
+    @Override
+    public void callStarted() {
+    }
+
+    @Override
+    public void callFinished(long durationNanos, CallOutcome outcome) {
+    }
+  };
+
+  /**
+   * Invoked when call is sent
+   */
+  void callStarted();
+
+  /**
+   * Invoked when result of call is received or call failed
+   */
+  void callFinished(long durationNanos, CallOutcome outcome);
+}
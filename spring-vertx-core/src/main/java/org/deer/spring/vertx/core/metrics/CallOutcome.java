@@ -0,0 +1,10 @@
+package org.deer.spring.vertx.core.metrics;
+
+/**
+ * Outcome of proxied call
+ */
+public enum CallOutcome {
+  SUCCESS,
+  FAILURE,
+  TIMEOUT
+}
@@ -0,0 +1,116 @@
+package org.deer.spring.vertx.core.metrics;
+
+import io.vertx.core.json.JsonObject;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link SingletonMetrics} kept in memory of this node. Can be exposed as Spring bean and read by
+ * {@link #snapshot()}, or used as template for adapter to metrics library of choice
+ */
+public class InMemorySingletonMetrics implements SingletonMetrics {
+
+  private final ConcurrentMap<String, LatencyHistogram> lockAcquisition =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LatencyHistogram> markerRetrieval =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LatencyHistogram> deploy = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LatencyHistogram> registration = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LongAdder> failures = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, InMemoryCallMetrics> calls = new ConcurrentHashMap<>();
+
+  @Override
+  public void recordLockAcquisition(String descriptor, long durationNanos) {
+    histogram(lockAcquisition, descriptor).record(durationNanos);
+  }
+
+  @Override
+  public void recordMarkerRetrieval(String descriptor, long durationNanos) {
+    histogram(markerRetrieval, descriptor).record(durationNanos);
+  }
+
+  @Override
+  public void recordDeploy(String descriptor, long durationNanos, boolean succeeded) {
+    histogram(deploy, descriptor).record(durationNanos);
+    if (!succeeded) {
+      failures.computeIfAbsent("deploy:" + descriptor, key -> new LongAdder()).increment();
+    }
+  }
+
+  @Override
+  public void recordRegistration(String descriptor, long durationNanos, boolean succeeded) {
+    histogram(registration, descriptor).record(durationNanos);
+    if (!succeeded) {
+      failures.computeIfAbsent("registration:" + descriptor, key -> new LongAdder())
+          .increment();
+    }
+  }
+
+  @Override
+  public CallMetrics callMetrics(String serviceAddress, String method) {
+    return calls.computeIfAbsent(serviceAddress + "." + method,
+        key -> new InMemoryCallMetrics());
+  }
+
+  /**
+   * @return current state of all metrics
+   */
+  public JsonObject snapshot() {
+    final JsonObject callsSnapshot = new JsonObject();
+    calls.forEach((name, metrics) -> callsSnapshot.put(name, metrics.toJson()));
+
+    final JsonObject failuresSnapshot = new JsonObject();
+    failures.forEach((name, counter) -> failuresSnapshot.put(name, counter.sum()));
+
+    return new JsonObject()
+        .put("lockAcquisition", toJson(lockAcquisition))
+        .put("markerRetrieval", toJson(markerRetrieval))
+        .put("deploy", toJson(deploy))
+        .put("registration", toJson(registration))
+        .put("failures", failuresSnapshot)
+        .put("calls", callsSnapshot);
+  }
+
+  private static LatencyHistogram histogram(ConcurrentMap<String, LatencyHistogram> histograms,
+      String name) {
+    return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+  }
+
+  private static JsonObject toJson(ConcurrentMap<String, LatencyHistogram> histograms) {
+    final JsonObject snapshot = new JsonObject();
+    histograms.forEach((name, histogram) -> snapshot.put(name, histogram.toJson()));
+    return snapshot;
+  }
+
+  private static final class InMemoryCallMetrics implements CallMetrics {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    @Override
+    public void callStarted() {
+      inFlight.increment();
+    }
+
+    @Override
+    public void callFinished(long durationNanos, CallOutcome outcome) {
+      inFlight.decrement();
+      latency.record(durationNanos);
+      if (outcome == CallOutcome.FAILURE) {
+        failures.increment();
+      } else if (outcome == CallOutcome.TIMEOUT) {
+        timeouts.increment();
+      }
+    }
+
+    private JsonObject toJson() {
+      return latency.toJson()
+          .put("inFlight", inFlight.sum())
+          .put("failures", failures.sum())
+          .put("timeouts", timeouts.sum());
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package org.deer.spring.vertx.core.metrics;
+
+import io.vertx.core.json.JsonObject;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram with power of two buckets in microseconds. Recording does not allocate
+ */
+public final class LatencyHistogram {
+
+  private static final int BUCKETS = 40;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+  public void record(final long durationNanos) {
+    final long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(durationNanos));
+    final int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    buckets.incrementAndGet(bucket);
+    count.increment();
+    totalNanos.add(durationNanos);
+    maxNanos.accumulate(durationNanos);
+  }
+
+  public long count() {
+    return count.sum();
+  }
+
+  /**
+   * @return upper bound of bucket that contains requested percentile, in microseconds
+   */
+  public long percentileMicros(final double percentile) {
+    final long total = count.sum();
+    if (total == 0) {
+      return 0;
+    }
+
+    final long threshold = (long) Math.ceil(total * percentile);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += buckets.get(i);
+      if (seen >= threshold) {
+        return i == 0 ? 0 : 1L << i;
+      }
+    }
+    return 1L << (BUCKETS - 1);
+  }
+
+  public JsonObject toJson() {
+    final long total = count.sum();
+    return new JsonObject()
+        .put("count", total)
+        .put("meanMicros", total == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos.sum() / total))
+        .put("maxMicros", TimeUnit.NANOSECONDS.toMicros(maxNanos.get()))
+        .put("p50Micros", percentileMicros(0.5))
+        .put("p90Micros", percentileMicros(0.9))
+        .put("p99Micros", percentileMicros(0.99));
+  }
+}
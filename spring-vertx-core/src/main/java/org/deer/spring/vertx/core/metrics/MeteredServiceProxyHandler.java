@@ -0,0 +1,54 @@
+package org.deer.spring.vertx.core.metrics;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.deer.spring.vertx.core.proxy.AbstractServiceProxyHandler;
+import org.deer.spring.vertx.core.proxy.ServiceMethod;
+
+/**
+ * Records latency, in-flight count and outcome of each call of decorated proxy
+ */
+public class MeteredServiceProxyHandler<T> extends AbstractServiceProxyHandler<T> {
+
+  private final CallMetrics[] callMetrics;
+
+  public MeteredServiceProxyHandler(final Class<T> serviceInterface, final T target,
+      final String serviceAddress, final SingletonMetrics metrics) {
+    super(serviceInterface, target);
+    // overloaded methods are told apart by signature, others keep their plain name
+    final Map<String, Long> overloads = serviceMethods().stream()
+        .collect(Collectors.groupingBy(ServiceMethod::name, Collectors.counting()));
+    this.callMetrics = serviceMethods().stream()
+        .map(method -> metrics.callMetrics(serviceAddress,
+            overloads.get(method.name()) > 1 ? method.signature() : method.name()))
+        .toArray(CallMetrics[]::new);
+  }
+
+  @Override
+  protected void invokeAsync(ServiceMethod method, Object[] args,
+      Handler<AsyncResult<Object>> resultHandler) {
+    final CallMetrics metrics = callMetrics[method.index()];
+    final long start = System.nanoTime();
+    metrics.callStarted();
+
+    proceed(method, args, result -> {
+      metrics.callFinished(System.nanoTime() - start, outcome(result));
+      resultHandler.handle(result);
+    });
+  }
+
+  private static CallOutcome outcome(final AsyncResult<?> result) {
+    if (result.succeeded()) {
+      return CallOutcome.SUCCESS;
+    }
+    if (result.cause() instanceof ReplyException
+        && ((ReplyException) result.cause()).failureType() == ReplyFailure.TIMEOUT) {
+      return CallOutcome.TIMEOUT;
+    }
+    return CallOutcome.FAILURE;
+  }
+}
@@ -0,0 +1,45 @@
+package org.deer.spring.vertx.core.metrics;
+
+/**
+ * Pluggable metrics of singleton deployment and proxied calls. Implementations should avoid
+ * allocations when recording, as calls are recorded on event loop
+ */
+public interface SingletonMetrics {
+
+  SingletonMetrics NOOP = new SingletonMetrics() {
+  };
+
+  /**
+   * Time spent waiting for cluster wide deployment lock
+   */
+  default void recordLockAcquisition(String descriptor, long durationNanos) {
+  }
+
+  /**
+   * Time spent retrieving or claiming deployment marker
+   */
+  default void recordMarkerRetrieval(String descriptor, long durationNanos) {
+  }
+
+  /**
+   * Time spent creating and binding instance of service
+   */
+  default void recordDeploy(String descriptor, long durationNanos, boolean succeeded) {
+  }
+
+  /**
+   * End to end time of singleton registration on this node, whether deployed here or not
+   */
+  default void recordRegistration(String descriptor, long durationNanos, boolean succeeded) {
+  }
+
+  /**
+   * @param method name of the method, or its {@link
+   * org.deer.spring.vertx.core.proxy.ServiceMethod#signature() signature} if the method is
+   * overloaded
+   * @return metrics of calls of method of service behind address
+   */
+  default CallMetrics callMetrics(String serviceAddress, String method) {
+    return CallMetrics.NOOP;
+  }
+}
@@ -0,0 +1,95 @@
+package org.deer.spring.vertx.core.placement;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.springframework.lang.NonNull;
+
+/**
+ * Load of single node, published into cluster map by {@link NodeLoadPublisher} and used by {@link
+ * PlacementStrategy} to select node that hosts singleton
+ */
+public final class NodeLoad {
+
+  /**
+   * Orders nodes by count of singletons, then by cpu load
+   */
+  public static final Comparator<NodeLoad> LEAST_LOADED_FIRST = Comparator
+      .comparingInt(NodeLoad::getSingletonCount)
+      .thenComparingDouble(NodeLoad::getCpuLoad);
+
+  private final String nodeId;
+  private final double cpuLoad;
+  private final int singletonCount;
+  private final Set<String> tags;
+
+  /**
+   * @param nodeId id of the node
+   * @param cpuLoad recent cpu load of the node process between 0 and 1, negative if not available
+   * @param singletonCount count of singletons deployed on the node
+   * @param tags labels of the node, used for affinity of singletons
+   */
+  public NodeLoad(@NonNull final String nodeId, final double cpuLoad, final int singletonCount,
+      @NonNull final Set<String> tags) {
+    this.nodeId = nodeId;
+    this.cpuLoad = cpuLoad;
+    this.singletonCount = singletonCount;
+    this.tags = Collections.unmodifiableSet(new LinkedHashSet<>(tags));
+  }
+
+  public static NodeLoad decode(@NonNull final String encoded) {
+    final JsonObject json = new JsonObject(encoded);
+    final Set<String> tags = new LinkedHashSet<>();
+    json.getJsonArray("tags", new JsonArray()).forEach(tag -> tags.add(String.valueOf(tag)));
+    return new NodeLoad(json.getString("nodeId"), json.getDouble("cpuLoad", -1D),
+        json.getInteger("singletonCount", 0), tags);
+  }
+
+  public String encode() {
+    return new JsonObject()
+        .put("nodeId", nodeId)
+        .put("cpuLoad", cpuLoad)
+        .put("singletonCount", singletonCount)
+        .put("tags", new JsonArray(new ArrayList<>(tags)))
+        .encode();
+  }
+
+  /**
+   * @return copy of this load with singleton count changed by provided delta
+   */
+  public NodeLoad withSingletons(final int delta) {
+    return new NodeLoad(nodeId, cpuLoad, Math.max(0, singletonCount + delta), tags);
+  }
+
+  /**
+   * @return true if node has all provided tags
+   */
+  public boolean hasTags(@NonNull final Set<String> requiredTags) {
+    return tags.containsAll(requiredTags);
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  public double getCpuLoad() {
+    return cpuLoad;
+  }
+
+  public int getSingletonCount() {
+    return singletonCount;
+  }
+
+  public Set<String> getTags() {
+    return tags;
+  }
+
+  @Override
+  public String toString() {
+    return encode();
+  }
+}
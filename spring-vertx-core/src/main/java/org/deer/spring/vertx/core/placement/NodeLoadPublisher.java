@@ -0,0 +1,148 @@
+package org.deer.spring.vertx.core.placement;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.AsyncMap;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.deer.spring.vertx.core.ClusterNodes;
+import org.deer.spring.vertx.core.LocalSingletonRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+
+/**
+ * Periodically publishes {@link NodeLoad} of this node into cluster map, where it is read by nodes
+ * that place singletons. Entries expire after three missed publications, so loads of nodes that
+ * crashed disappear even before they are removed from cluster membership
+ */
+public class NodeLoadPublisher implements AutoCloseable {
+
+  public static final String NODE_LOAD_MAP = "spring-vertx-node-load";
+  public static final long DEFAULT_PUBLISH_INTERVAL = 2000;
+
+  private static final Logger LOG = LoggerFactory.getLogger(NodeLoadPublisher.class);
+
+  private final Vertx vertx;
+  private final String nodeId;
+  private final Set<String> tags;
+
+  private long publishInterval = DEFAULT_PUBLISH_INTERVAL;
+  private long timerId = -1;
+
+  /**
+   * @param vertx Vertx instance of this node
+   * @param tags labels of this node, singletons with affinity are placed only on nodes that have
+   * all of their tags
+   */
+  public NodeLoadPublisher(@NonNull final Vertx vertx, @NonNull final Set<String> tags) {
+    this.vertx = vertx;
+    this.nodeId = ClusterNodes.localNodeId(vertx);
+    this.tags = new LinkedHashSet<>(tags);
+  }
+
+  /**
+   * @param publishInterval time in milliseconds between publications
+   */
+  public NodeLoadPublisher setPublishInterval(final long publishInterval) {
+    this.publishInterval = publishInterval;
+    return this;
+  }
+
+  /**
+   * Publishes load of this node and schedules periodic publications
+   *
+   * @return future completed once the first publication is written
+   */
+  public Future<Void> start() {
+    if (timerId == -1) {
+      timerId = vertx.setPeriodic(Math.max(1, publishInterval), id -> publish());
+    }
+    return publish();
+  }
+
+  /**
+   * Publishes current load of this node immediately
+   */
+  public Future<Void> publish() {
+    final NodeLoad load = currentLoad();
+    final Future<Void> published = Future.future();
+    loadMap(vertx).compose(map -> {
+      final Future<Void> put = Future.future();
+      map.put(nodeId, load.encode(), publishInterval * 3, put);
+      return put;
+    }).setHandler(result -> {
+      if (result.failed()) {
+        LOG.warn("Load of node {} could not be published", nodeId, result.cause());
+      }
+      published.handle(result);
+    });
+    return published;
+  }
+
+  /**
+   * @return load of this node
+   */
+  public NodeLoad currentLoad() {
+    return new NodeLoad(nodeId, cpuLoad(), LocalSingletonRegistry.forVertx(vertx).size(), tags);
+  }
+
+  /**
+   * @return loads published by current members of the cluster, sorted by node id
+   */
+  public static Future<List<NodeLoad>> currentLoads(@NonNull final Vertx vertx) {
+    return loadMap(vertx).compose(map -> {
+      final Future<List<NodeLoad>> loads = Future.future();
+      map.values(values -> {
+        if (values.failed()) {
+          loads.fail(values.cause());
+          return;
+        }
+        final List<String> members = ClusterNodes.nodes(vertx);
+        loads.complete(values.result().stream()
+            .map(NodeLoad::decode)
+            .filter(load -> members.contains(load.getNodeId()))
+            .sorted(Comparator.comparing(NodeLoad::getNodeId))
+            .collect(Collectors.toList()));
+      });
+      return loads;
+    });
+  }
+
+  /**
+   * Stops publishing and removes load of this node from cluster map
+   */
+  @Override
+  public void close() {
+    if (timerId != -1) {
+      vertx.cancelTimer(timerId);
+      timerId = -1;
+    }
+    loadMap(vertx).setHandler(map -> {
+      if (map.succeeded()) {
+        map.result().remove(nodeId, removed -> {
+        });
+      }
+    });
+  }
+
+  private static Future<AsyncMap<String, String>> loadMap(final Vertx vertx) {
+    final Future<AsyncMap<String, String>> map = Future.future();
+    vertx.sharedData().getAsyncMap(NODE_LOAD_MAP, map);
+    return map;
+  }
+
+  private static double cpuLoad() {
+    final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    if (os instanceof com.sun.management.OperatingSystemMXBean) {
+      return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuLoad();
+    }
+    final double loadAverage = os.getSystemLoadAverage();
+    return loadAverage < 0 ? -1 : Math.min(1, loadAverage / os.getAvailableProcessors());
+  }
+}
@@ -0,0 +1,74 @@
+package org.deer.spring.vertx.core.placement;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.Counter;
+import java.util.List;
+import org.deer.spring.vertx.core.ClusterNodes;
+import org.deer.spring.vertx.core.SingletonRegistration;
+
+/**
+ * Built-in implementations of {@link PlacementStrategy}
+ */
+final class PlacementStrategies {
+
+  static final String ROUND_ROBIN_COUNTER = "spring-vertx-placement-round-robin";
+
+  static final PlacementStrategy FIRST_COME = new PlacementStrategy() {
+    @Override
+    public Future<String> select(Vertx vertx, SingletonRegistration<?> registration,
+        List<NodeLoad> candidates) {
+      final String localNodeId = ClusterNodes.localNodeId(vertx);
+      return Future.succeededFuture(candidates.stream()
+          .map(NodeLoad::getNodeId)
+          .filter(localNodeId::equals)
+          .findFirst()
+          .orElse(candidates.get(0).getNodeId()));
+    }
+
+    @Override
+    public String toString() {
+      return "first-come";
+    }
+  };
+
+  static final PlacementStrategy LEAST_LOADED = new PlacementStrategy() {
+    @Override
+    public Future<String> select(Vertx vertx, SingletonRegistration<?> registration,
+        List<NodeLoad> candidates) {
+      return Future.succeededFuture(candidates.stream()
+          .min(NodeLoad.LEAST_LOADED_FIRST)
+          .map(NodeLoad::getNodeId)
+          .orElseThrow(IllegalStateException::new));
+    }
+
+    @Override
+    public String toString() {
+      return "least-loaded";
+    }
+  };
+
+  static final PlacementStrategy ROUND_ROBIN = new PlacementStrategy() {
+    @Override
+    public Future<String> select(Vertx vertx, SingletonRegistration<?> registration,
+        List<NodeLoad> candidates) {
+      final Future<Counter> counter = Future.future();
+      vertx.sharedData().getCounter(ROUND_ROBIN_COUNTER, counter);
+      return counter.compose(turns -> {
+        final Future<Long> turn = Future.future();
+        turns.getAndIncrement(turn);
+        return turn;
+      }).map(turn -> candidates.get((int) Math.floorMod(turn, (long) candidates.size()))
+          .getNodeId());
+    }
+
+    @Override
+    public String toString() {
+      return "round-robin";
+    }
+  };
+
+  private PlacementStrategies() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+}
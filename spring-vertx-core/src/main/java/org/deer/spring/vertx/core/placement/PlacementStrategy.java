@@ -0,0 +1,67 @@
+package org.deer.spring.vertx.core.placement;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import java.util.List;
+import java.util.Locale;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.SingletonRegistration;
+import org.springframework.lang.NonNull;
+
+/**
+ * Selects node that hosts singleton, once {@link ClusterSingletonRegistratorBean} finds out the
+ * singleton is not deployed anywhere. Strategy is called by the node that won the claim, while it
+ * still holds it. Candidates are nodes that publish their load by {@link NodeLoadPublisher} and
+ * have all placement tags of the singleton
+ */
+@FunctionalInterface
+public interface PlacementStrategy {
+
+  /**
+   * @param vertx Vertx instance of the node that won the claim
+   * @param registration singleton to place
+   * @param candidates loads of nodes that may host the singleton, sorted by node id, never empty
+   * @return future completed with id of the selected node
+   */
+  Future<String> select(Vertx vertx, SingletonRegistration<?> registration,
+      List<NodeLoad> candidates);
+
+  /**
+   * Singleton is deployed on the node that won the claim, if the node is one of the candidates
+   */
+  static PlacementStrategy firstCome() {
+    return PlacementStrategies.FIRST_COME;
+  }
+
+  /**
+   * Singleton is deployed on the candidate with the fewest singletons, ties are broken by cpu
+   * load
+   */
+  static PlacementStrategy leastLoaded() {
+    return PlacementStrategies.LEAST_LOADED;
+  }
+
+  /**
+   * Singletons are deployed on candidates in turns, using cluster wide counter
+   */
+  static PlacementStrategy roundRobin() {
+    return PlacementStrategies.ROUND_ROBIN;
+  }
+
+  /**
+   * @param name one of first-come, least-loaded or round-robin, case insensitive
+   * @return strategy with provided name
+   */
+  static PlacementStrategy forName(@NonNull final String name) {
+    switch (name.trim().toLowerCase(Locale.ROOT).replace('_', '-')) {
+      case "first-come":
+        return firstCome();
+      case "least-loaded":
+        return leastLoaded();
+      case "round-robin":
+        return roundRobin();
+      default:
+        throw new IllegalArgumentException("Unknown placement strategy " + name);
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package org.deer.spring.vertx.core.proxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base of invocation handlers that decorate service proxies. Calls of methods with result handler
+ * are passed to {@link #invokeAsync}, all other calls are passed to decorated target as they are
+ */
+public abstract class AbstractServiceProxyHandler<T> implements InvocationHandler {
+
+  private final Class<T> serviceInterface;
+  private final T target;
+  private final List<ServiceMethod> serviceMethods;
+  private final Map<Method, ServiceMethod> methodLookup;
+
+  protected AbstractServiceProxyHandler(final Class<T> serviceInterface, final T target) {
+    this.serviceInterface = serviceInterface;
+    this.target = target;
+    this.serviceMethods = ServiceMethod.of(serviceInterface);
+    this.methodLookup = new HashMap<>();
+    serviceMethods.forEach(serviceMethod ->
+        methodLookup.put(serviceMethod.method(), serviceMethod));
+  }
+
+  @Override
+  public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (method.getDeclaringClass() == Object.class) {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        default:
+          return getClass().getSimpleName() + "[" + target + "]";
+      }
+    }
+
+    final ServiceMethod serviceMethod = methodLookup.get(method);
+    if (serviceMethod == null || !serviceMethod.isAsync()) {
+      return invokeTarget(target, method, args);
+    }
+
+    @SuppressWarnings("unchecked") final Handler<AsyncResult<Object>> resultHandler =
+        (Handler<AsyncResult<Object>>) args[serviceMethod.handlerIndex()];
+    try {
+      invokeAsync(serviceMethod, args, resultHandler == null ? result -> {
+      } : resultHandler);
+    } catch (RuntimeException e) {
+      if (resultHandler == null) {
+        throw e;
+      }
+      resultHandler.handle(Future.failedFuture(e));
+    }
+    return null;
+  }
+
+  /**
+   * Invoked for each call of method with result handler
+   *
+   * @param method called method
+   * @param args original arguments, including original result handler
+   * @param resultHandler original result handler
+   */
+  protected abstract void invokeAsync(ServiceMethod method, Object[] args,
+      Handler<AsyncResult<Object>> resultHandler);
+
+  /**
+   * Passes call to decorated target, with result handler replaced by provided one
+   */
+  protected void proceed(final ServiceMethod method, final Object[] args,
+      final Handler<AsyncResult<Object>> resultHandler) {
+    proceed(target, method, args, resultHandler);
+  }
+
+  /**
+   * Passes call to provided target instead of the decorated one, with result handler replaced by
+   * provided one
+   */
+  protected void proceed(final T target, final ServiceMethod method, final Object[] args,
+      final Handler<AsyncResult<Object>> resultHandler) {
+    try {
+      invokeTarget(target, method.method(), method.withHandler(args, resultHandler));
+    } catch (Throwable e) {
+      resultHandler.handle(Future.failedFuture(e));
+    }
+  }
+
+  private static Object invokeTarget(Object target, Method method, Object[] args)
+      throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  protected Class<T> serviceInterface() {
+    return serviceInterface;
+  }
+
+  protected T target() {
+    return target;
+  }
+
+  /**
+   * @return all methods of decorated interface, indexed by {@link ServiceMethod#index()}
+   */
+  protected List<ServiceMethod> serviceMethods() {
+    return serviceMethods;
+  }
+}
@@ -0,0 +1,63 @@
+package org.deer.spring.vertx.core.proxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Activates lazy singleton once the call finds no consumer of the service, and repeats the call
+ * after activation. See {@link ClusterSingletonRegistratorBean#registerLazySingleton}
+ */
+public class ActivatingServiceProxyHandler<T> extends AbstractServiceProxyHandler<T> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ActivatingServiceProxyHandler.class);
+
+  private final Vertx vertx;
+  private final String serviceAddress;
+  private final DeliveryOptions activationOptions;
+
+  /**
+   * @param activationTimeout time in milliseconds to wait for deployment of the singleton
+   */
+  public ActivatingServiceProxyHandler(final Class<T> serviceInterface, final T target,
+      final Vertx vertx, final String serviceAddress, final long activationTimeout) {
+    super(serviceInterface, target);
+    this.vertx = vertx;
+    this.serviceAddress = serviceAddress;
+    this.activationOptions = new DeliveryOptions().setSendTimeout(activationTimeout);
+  }
+
+  @Override
+  protected void invokeAsync(ServiceMethod method, Object[] args,
+      Handler<AsyncResult<Object>> resultHandler) {
+    proceed(method, args, result -> {
+      if (result.succeeded() || !isNotDeployed(result.cause())) {
+        resultHandler.handle(result);
+        return;
+      }
+
+      LOG.debug("Service {} not deployed, requesting activation", serviceAddress);
+      vertx.eventBus().send(ClusterSingletonRegistratorBean.activationAddress(serviceAddress),
+          serviceAddress, activationOptions, activation -> {
+            if (activation.succeeded()) {
+              proceed(method, args, resultHandler);
+            } else {
+              LOG.warn("Activation of service {} failed", serviceAddress, activation.cause());
+              resultHandler.handle(Future.failedFuture(result.cause()));
+            }
+          });
+    });
+  }
+
+  private static boolean isNotDeployed(final Throwable cause) {
+    return cause instanceof ReplyException
+        && ((ReplyException) cause).failureType() == ReplyFailure.NO_HANDLERS;
+  }
+}
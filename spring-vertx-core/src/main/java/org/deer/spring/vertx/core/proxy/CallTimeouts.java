@@ -0,0 +1,133 @@
+package org.deer.spring.vertx.core.proxy;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.lang.NonNull;
+
+/**
+ * Timeouts of calls of single service derived from latencies of its recent calls, kept for each
+ * method apart, so slow method does not stretch timeouts of fast ones. The timeout is {@link
+ * #LATENCY_MULTIPLIER} times the 99th percentile of the last {@link #WINDOW} latencies of the
+ * method, bounded by provided minimum and maximum. Until enough calls complete, the maximum is
+ * used. Calls that time out are recorded with latency of their timeout, as their real latency is
+ * not known, and double the timeout of the method right away, so it catches up with latency that
+ * rose for good. Timeouts are shared by all proxies of the service created with the same Vertx
+ * instance and the same bounds
+ */
+public final class CallTimeouts implements Shareable {
+
+  static final int WINDOW = 256;
+  static final int LATENCY_MULTIPLIER = 4;
+
+  private static final String LOCAL_MAP = "spring-vertx-call-timeouts";
+  private static final int MIN_SAMPLES = 32;
+  // timeout is recomputed once per this many recorded latencies, so recording stays cheap
+  private static final int RECOMPUTE_INTERVAL = 32;
+  private static final double PERCENTILE = 0.99;
+
+  private final long minTimeout;
+  private final long maxTimeout;
+  private final ConcurrentMap<String, MethodTimeout> methodTimeouts = new ConcurrentHashMap<>();
+
+  private CallTimeouts(final long minTimeout, final long maxTimeout) {
+    this.minTimeout = minTimeout;
+    this.maxTimeout = maxTimeout;
+  }
+
+  /**
+   * @param vertx Vertx instance whose proxies share the timeouts
+   * @param serviceAddress address of the service
+   * @param minTimeout lower bound of timeout in milliseconds
+   * @param maxTimeout upper bound of timeout in milliseconds, used until enough calls complete
+   * @return timeouts shared by all proxies of the service with the same bounds
+   */
+  public static CallTimeouts forService(@NonNull final Vertx vertx,
+      @NonNull final String serviceAddress, final long minTimeout, final long maxTimeout) {
+    if (minTimeout < 1 || maxTimeout < minTimeout) {
+      throw new IllegalArgumentException(
+          "Timeout bounds must be positive, with minimum not above maximum");
+    }
+    final LocalMap<String, CallTimeouts> timeouts = vertx.sharedData().getLocalMap(LOCAL_MAP);
+    final String timeoutsKey = serviceAddress + "|" + minTimeout + "|" + maxTimeout;
+    final CallTimeouts existing = timeouts.get(timeoutsKey);
+    if (existing != null) {
+      return existing;
+    }
+
+    final CallTimeouts newTimeouts = new CallTimeouts(minTimeout, maxTimeout);
+    final CallTimeouts raced = timeouts.putIfAbsent(timeoutsKey, newTimeouts);
+    return raced != null ? raced : newTimeouts;
+  }
+
+  /**
+   * @param method name of the method, or its {@link ServiceMethod#signature() signature} if the
+   * method is overloaded
+   * @return timeout in milliseconds for the next call of the method
+   */
+  public long timeout(@NonNull final String method) {
+    final MethodTimeout methodTimeout = methodTimeouts.get(method);
+    return methodTimeout != null ? methodTimeout.timeout : maxTimeout;
+  }
+
+  public long getMaxTimeout() {
+    return maxTimeout;
+  }
+
+  /**
+   * Records latency of successful call of the method
+   */
+  public void record(@NonNull final String method, final long durationNanos) {
+    methodTimeout(method).record(durationNanos, minTimeout);
+  }
+
+  /**
+   * Records call of the method that got no reply within provided timeout
+   *
+   * @param timeout timeout of the call in milliseconds
+   */
+  public void timedOut(@NonNull final String method, final long timeout) {
+    methodTimeout(method).record(TimeUnit.MILLISECONDS.toNanos(timeout),
+        Math.min(maxTimeout, timeout * 2));
+  }
+
+  private MethodTimeout methodTimeout(final String method) {
+    return methodTimeouts.computeIfAbsent(method, key -> new MethodTimeout());
+  }
+
+  private final class MethodTimeout {
+
+    private final long[] latencies = new long[WINDOW];
+
+    // guarded by this
+    private long recorded;
+
+    private volatile long timeout = maxTimeout;
+
+    /**
+     * @param floor timeout in milliseconds that the new timeout does not go below
+     */
+    private void record(final long durationNanos, final long floor) {
+      final long[] window;
+      synchronized (this) {
+        latencies[(int) (recorded++ % WINDOW)] = durationNanos;
+        if (recorded < MIN_SAMPLES || recorded % RECOMPUTE_INTERVAL != 0) {
+          timeout = Math.max(timeout, floor);
+          return;
+        }
+        window = Arrays.copyOf(latencies, (int) Math.min(recorded, WINDOW));
+      }
+
+      Arrays.sort(window);
+      final long percentileNanos =
+          window[Math.min(window.length - 1, (int) Math.ceil(window.length * PERCENTILE) - 1)];
+      final long percentileMillis = TimeUnit.NANOSECONDS.toMillis(percentileNanos) + 1;
+      timeout = Math.max(floor,
+          Math.max(minTimeout, Math.min(maxTimeout, percentileMillis * LATENCY_MULTIPLIER)));
+    }
+  }
+}
@@ -0,0 +1,224 @@
+package org.deer.spring.vertx.core.proxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+import org.deer.spring.vertx.core.SingletonDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounds calls of singleton that may be moving between nodes. Each call is sent with send timeout
+ * taken from {@link CallTimeouts} of its method instead of fixed one, and fails with {@link
+ * #OWNER_GONE} as soon as {@link OwnerWatch} sees the owner from {@link SingletonDirectory} leave
+ * the cluster. Calls of {@link Idempotent} methods that timed out, found no consumer or lost their
+ * owner are called again once the singleton is deployed on a live member, up to provided count of
+ * retries. Late replies of abandoned calls are ignored
+ */
+public class FailoverServiceProxyHandler<T> extends AbstractServiceProxyHandler<T> {
+
+  /**
+   * Failure code of calls whose singleton owner left the cluster
+   */
+  public static final int OWNER_GONE = -32003;
+
+  static final long FAILOVER_POLL_INTERVAL = 100;
+  // timeouts follow latencies, so transports of timeouts no longer used are dropped now and then
+  private static final int MAX_TRANSPORTS = 32;
+
+  private static final Logger LOG = LoggerFactory.getLogger(FailoverServiceProxyHandler.class);
+
+  private final Vertx vertx;
+  private final String serviceAddress;
+  private final CallTimeouts timeouts;
+  private final LongFunction<T> transportFactory;
+  private final ConcurrentMap<Long, T> transports = new ConcurrentHashMap<>();
+  private final SingletonDirectory directory;
+  private final OwnerWatch ownerWatch;
+  private final int[] retries;
+  private final String[] timeoutKeys;
+
+  /**
+   * @param transportFactory creates proxy whose calls time out after provided milliseconds
+   * @param timeouts timeouts of the service
+   * @param maxRetries count of retries of {@link Idempotent} methods, 0 to never retry
+   */
+  public FailoverServiceProxyHandler(final Class<T> serviceInterface,
+      final LongFunction<T> transportFactory, final Vertx vertx, final String serviceAddress,
+      final CallTimeouts timeouts, final int maxRetries) {
+    super(serviceInterface, transportFactory.apply(timeouts.getMaxTimeout()));
+    this.vertx = vertx;
+    this.serviceAddress = serviceAddress;
+    this.timeouts = timeouts;
+    this.transportFactory = transportFactory;
+    this.directory = SingletonDirectory.forVertx(vertx);
+    this.ownerWatch = OwnerWatch.forVertx(vertx);
+    this.retries = serviceMethods().stream()
+        .mapToInt(method -> method.method().isAnnotationPresent(Idempotent.class)
+            ? maxRetries : 0)
+        .toArray();
+    final Map<String, Long> overloads = serviceMethods().stream()
+        .collect(Collectors.groupingBy(ServiceMethod::name, Collectors.counting()));
+    this.timeoutKeys = serviceMethods().stream()
+        .map(method -> overloads.get(method.name()) > 1 ? method.signature() : method.name())
+        .toArray(String[]::new);
+  }
+
+  @Override
+  protected void invokeAsync(ServiceMethod method, Object[] args,
+      Handler<AsyncResult<Object>> resultHandler) {
+    attempt(method, args, retries[method.index()], resultHandler);
+  }
+
+  private void attempt(final ServiceMethod method, final Object[] args, final int retriesLeft,
+      final Handler<AsyncResult<Object>> resultHandler) {
+    final String owner = owner();
+    if (isGone(owner)) {
+      retryOrFail(method, args, retriesLeft, owner, ownerGone(owner), resultHandler);
+      return;
+    }
+
+    new Attempt(method, args, retriesLeft, owner, resultHandler).send();
+  }
+
+  private void retryOrFail(final ServiceMethod method, final Object[] args,
+      final int retriesLeft, final String failedOwner, final Throwable cause,
+      final Handler<AsyncResult<Object>> resultHandler) {
+    if (retriesLeft == 0 || !isRetriable(cause)) {
+      resultHandler.handle(Future.failedFuture(cause));
+      return;
+    }
+
+    LOG.debug("Call of {} on {} failed, retrying once singleton has live owner",
+        method.name(), serviceAddress, cause);
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(
+        timeouts.getMaxTimeout());
+    awaitFailover(failedOwner, deadline, ready -> {
+      if (ready) {
+        attempt(method, args, retriesLeft - 1, resultHandler);
+      } else {
+        resultHandler.handle(Future.failedFuture(cause));
+      }
+    });
+  }
+
+  private void awaitFailover(final String failedOwner, final long deadline,
+      final Handler<Boolean> readyHandler) {
+    final String owner = owner();
+    // unknown owner is only waited for, if the singleton had one before
+    if (owner == null ? failedOwner == null : !isGone(owner)) {
+      readyHandler.handle(true);
+    } else if (System.nanoTime() - deadline >= 0) {
+      readyHandler.handle(false);
+    } else {
+      vertx.setTimer(FAILOVER_POLL_INTERVAL,
+          id -> awaitFailover(failedOwner, deadline, readyHandler));
+    }
+  }
+
+  private T transport(final long timeout) {
+    final T transport = transports.get(timeout);
+    if (transport != null) {
+      return transport;
+    }
+    if (transports.size() >= MAX_TRANSPORTS) {
+      transports.clear();
+    }
+    return transports.computeIfAbsent(timeout, transportFactory::apply);
+  }
+
+  private String owner() {
+    return directory.isLoaded() ? directory.whereIs(serviceAddress) : null;
+  }
+
+  private boolean isGone(final String owner) {
+    return owner != null && !ownerWatch.isMember(owner);
+  }
+
+  private ReplyException ownerGone(final String owner) {
+    return new ReplyException(ReplyFailure.RECIPIENT_FAILURE, OWNER_GONE,
+        "Owner " + owner + " of service " + serviceAddress + " left the cluster");
+  }
+
+  private static boolean isRetriable(final Throwable cause) {
+    if (!(cause instanceof ReplyException)) {
+      return false;
+    }
+    final ReplyException replyException = (ReplyException) cause;
+    return replyException.failureType() == ReplyFailure.TIMEOUT
+        || replyException.failureType() == ReplyFailure.NO_HANDLERS
+        || replyException.failureCode() == OWNER_GONE;
+  }
+
+  /**
+   * Single sending of the call, that completes by the first of reply, timeout and departure of
+   * the owner
+   */
+  private final class Attempt {
+
+    private final ServiceMethod method;
+    private final Object[] args;
+    private final int retriesLeft;
+    private final String owner;
+    private final Handler<AsyncResult<Object>> resultHandler;
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    private Runnable unwatch;
+
+    private Attempt(final ServiceMethod method, final Object[] args, final int retriesLeft,
+        final String owner, final Handler<AsyncResult<Object>> resultHandler) {
+      this.method = method;
+      this.args = args;
+      this.retriesLeft = retriesLeft;
+      this.owner = owner;
+      this.resultHandler = resultHandler;
+    }
+
+    private void send() {
+      final String timeoutKey = timeoutKeys[method.index()];
+      final long timeout = timeouts.timeout(timeoutKey);
+      final long start = System.nanoTime();
+      if (owner != null) {
+        final Context context = vertx.getOrCreateContext();
+        unwatch = ownerWatch.watch(owner, () -> context.runOnContext(
+            v -> complete(Future.failedFuture(ownerGone(owner)))));
+      }
+
+      // send timeout of the transport is the only timer of the call
+      proceed(transport(timeout), method, args, result -> {
+        if (result.succeeded()) {
+          timeouts.record(timeoutKey, System.nanoTime() - start);
+        } else if (result.cause() instanceof ReplyException
+            && ((ReplyException) result.cause()).failureType() == ReplyFailure.TIMEOUT) {
+          timeouts.timedOut(timeoutKey, timeout);
+        }
+        complete(result);
+      });
+    }
+
+    private void complete(final AsyncResult<Object> result) {
+      if (!done.compareAndSet(false, true)) {
+        return;
+      }
+      if (unwatch != null) {
+        unwatch.run();
+      }
+      if (result.succeeded()) {
+        resultHandler.handle(result);
+      } else {
+        retryOrFail(method, args, retriesLeft, owner, result.cause(), resultHandler);
+      }
+    }
+  }
+}
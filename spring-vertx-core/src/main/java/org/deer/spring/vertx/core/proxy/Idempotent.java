@@ -0,0 +1,19 @@
+package org.deer.spring.vertx.core.proxy;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks method of singleton interface that can be called again without changing the outcome.
+ * Proxies with failover retries call it again once the singleton is deployed on a live member,
+ * when the call timed out or its owner left the cluster
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Idempotent {
+
+}
@@ -0,0 +1,96 @@
+package org.deer.spring.vertx.core.proxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.lang.reflect.InvocationTargetException;
+import org.deer.spring.vertx.core.LocalSingletonRegistry;
+import org.deer.spring.vertx.core.LocalSingletonRegistry.LocalSingleton;
+import org.deer.spring.vertx.core.endpoint.AdmissionControl;
+import org.deer.spring.vertx.core.endpoint.ServiceEndpoint;
+
+/**
+ * Calls singleton instance directly, if it is deployed on this node. Call is still admitted and
+ * executed by the endpoint of the singleton and result is delivered back on the context of the
+ * caller, so the threading is the same as with event bus. Mutable arguments and results are
+ * copied, same as event bus codecs would do. If singleton is not deployed on this node, call goes
+ * through the event bus
+ */
+public class LocalDispatchServiceProxyHandler<T> extends AbstractServiceProxyHandler<T> {
+
+  private final String serviceAddress;
+  private final LocalSingletonRegistry localRegistry;
+
+  public LocalDispatchServiceProxyHandler(final Class<T> serviceInterface, final T target,
+      final String serviceAddress, final LocalSingletonRegistry localRegistry) {
+    super(serviceInterface, target);
+    this.serviceAddress = serviceAddress;
+    this.localRegistry = localRegistry;
+  }
+
+  @Override
+  protected void invokeAsync(ServiceMethod method, Object[] args,
+      Handler<AsyncResult<Object>> resultHandler) {
+    final LocalSingleton singleton = localRegistry.lookup(serviceAddress, serviceInterface());
+    if (singleton == null) {
+      proceed(method, args, resultHandler);
+      return;
+    }
+
+    final Context callerContext = Vertx.currentContext();
+    final Handler<AsyncResult<Object>> replyHandler = result -> {
+      final AsyncResult<Object> reply = result.succeeded()
+          ? Future.succeededFuture(copyIfMutable(result.result()))
+          : result;
+      if (callerContext == null || callerContext == Vertx.currentContext()) {
+        resultHandler.handle(reply);
+      } else {
+        callerContext.runOnContext(v -> resultHandler.handle(reply));
+      }
+    };
+
+    // arguments are copied at the time of the call, as event bus would encode them
+    final Object[] localArgs = method.withHandler(args, replyHandler);
+    for (int i = 0; i < localArgs.length; i++) {
+      if (i != method.handlerIndex()) {
+        localArgs[i] = copyIfMutable(localArgs[i]);
+      }
+    }
+
+    singleton.getAdmissionControl().execute(release -> {
+      final Handler<AsyncResult<Object>> releasingHandler = result -> {
+        release.run();
+        replyHandler.handle(result);
+      };
+      localArgs[method.handlerIndex()] = releasingHandler;
+
+      try {
+        method.method().invoke(singleton.getInstance(), localArgs);
+      } catch (InvocationTargetException e) {
+        releasingHandler.handle(Future.failedFuture(e.getCause()));
+      } catch (IllegalAccessException | RuntimeException e) {
+        releasingHandler.handle(Future.failedFuture(e));
+      }
+    }, () -> replyHandler.handle(Future.failedFuture(new ReplyException(
+        ReplyFailure.RECIPIENT_FAILURE, AdmissionControl.OVERLOADED,
+        ServiceEndpoint.overloadedMessage(serviceAddress)))));
+  }
+
+  private static Object copyIfMutable(final Object value) {
+    if (value instanceof JsonObject) {
+      return ((JsonObject) value).copy();
+    } else if (value instanceof JsonArray) {
+      return ((JsonArray) value).copy();
+    } else if (value instanceof Buffer) {
+      return ((Buffer) value).copy();
+    }
+    return value;
+  }
+}
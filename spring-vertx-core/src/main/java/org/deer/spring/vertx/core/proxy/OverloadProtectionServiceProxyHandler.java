@@ -0,0 +1,100 @@
+package org.deer.spring.vertx.core.proxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.deer.spring.vertx.core.endpoint.AdmissionControl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Circuit breaker for calls rejected with {@link AdmissionControl#OVERLOADED}. Once the singleton
+ * rejects a call, circuit opens and following calls fail immediately, without being sent, until
+ * the backoff elapses. Then single probe call is let through, its success closes the circuit,
+ * another rejection opens it again for twice as long, up to {@link #MAX_BACKOFF_MULTIPLIER} times
+ * the initial backoff
+ */
+public class OverloadProtectionServiceProxyHandler<T> extends AbstractServiceProxyHandler<T> {
+
+  static final int MAX_BACKOFF_MULTIPLIER = 32;
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(OverloadProtectionServiceProxyHandler.class);
+
+  private final String serviceAddress;
+  private final long backoffNanos;
+  private final AtomicBoolean probing = new AtomicBoolean();
+
+  // guarded by this
+  private long openUntil;
+  private int consecutiveRejections;
+
+  /**
+   * @param backoff time in milliseconds for which the circuit stays open after first rejection
+   */
+  public OverloadProtectionServiceProxyHandler(final Class<T> serviceInterface, final T target,
+      final String serviceAddress, final long backoff) {
+    super(serviceInterface, target);
+    this.serviceAddress = serviceAddress;
+    this.backoffNanos = TimeUnit.MILLISECONDS.toNanos(backoff);
+  }
+
+  @Override
+  protected void invokeAsync(ServiceMethod method, Object[] args,
+      Handler<AsyncResult<Object>> resultHandler) {
+    final boolean probe;
+    synchronized (this) {
+      if (consecutiveRejections == 0) {
+        probe = false;
+      } else if (System.nanoTime() - openUntil < 0 || !probing.compareAndSet(false, true)) {
+        resultHandler.handle(Future.failedFuture(new ReplyException(
+            ReplyFailure.RECIPIENT_FAILURE, AdmissionControl.OVERLOADED,
+            "Circuit of service " + serviceAddress + " is open")));
+        return;
+      } else {
+        probe = true;
+      }
+    }
+
+    proceed(method, args, result -> {
+      if (!result.succeeded() && isOverloaded(result.cause())) {
+        open(probe);
+      } else if (probe) {
+        close();
+      }
+      if (probe) {
+        probing.set(false);
+      }
+      resultHandler.handle(result);
+    });
+  }
+
+  private synchronized void open(final boolean probe) {
+    // rejections of calls sent before the circuit opened do not prolong it
+    if (consecutiveRejections > 0 && !probe) {
+      return;
+    }
+    consecutiveRejections++;
+    final int multiplier = 1 << Math.min(consecutiveRejections - 1,
+        Integer.numberOfTrailingZeros(MAX_BACKOFF_MULTIPLIER));
+    openUntil = System.nanoTime() + backoffNanos * multiplier;
+    LOG.debug("Service {} overloaded, circuit open for {} ms", serviceAddress,
+        TimeUnit.NANOSECONDS.toMillis(backoffNanos * multiplier));
+  }
+
+  private synchronized void close() {
+    if (consecutiveRejections > 0) {
+      LOG.debug("Service {} recovered, circuit closed", serviceAddress);
+    }
+    consecutiveRejections = 0;
+  }
+
+  private static boolean isOverloaded(final Throwable cause) {
+    return cause instanceof ReplyException
+        && ((ReplyException) cause).failureCode() == AdmissionControl.OVERLOADED;
+  }
+}
@@ -0,0 +1,129 @@
+package org.deer.spring.vertx.core.proxy;
+
+import com.hazelcast.core.Cluster;
+import com.hazelcast.core.MembershipAdapter;
+import com.hazelcast.core.MembershipEvent;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.deer.spring.vertx.core.ClusterNodes;
+import org.springframework.lang.NonNull;
+
+/**
+ * Node local watch of cluster members, that notifies calls in flight once the owner of their
+ * singleton leaves the cluster. Single membership listener of Hazelcast serves all proxies created
+ * with the same Vertx instance, so calls neither poll membership nor copy the member list. Without
+ * Hazelcast cluster, every node is considered a member. The listener is removed once Vertx closes
+ */
+public final class OwnerWatch implements Shareable {
+
+  private static final String LOCAL_MAP = "spring-vertx-owner-watches";
+  private static final String WATCH_KEY = "watch";
+  private static final Runnable NO_WATCH = () -> {
+  };
+
+  private final Set<String> members = ConcurrentHashMap.newKeySet();
+  // handlers of calls in flight by id of the owner they were sent to
+  private final ConcurrentMap<String, Set<Runnable>> departureHandlers =
+      new ConcurrentHashMap<>();
+
+  private volatile boolean clustered;
+
+  private OwnerWatch() {
+  }
+
+  /**
+   * @return watch shared by all proxies that use the same Vertx instance
+   */
+  public static OwnerWatch forVertx(@NonNull final Vertx vertx) {
+    final LocalMap<String, OwnerWatch> localMap = vertx.sharedData().getLocalMap(LOCAL_MAP);
+    final OwnerWatch watch = localMap.get(WATCH_KEY);
+    if (watch != null) {
+      return watch;
+    }
+
+    final OwnerWatch newWatch = new OwnerWatch();
+    final OwnerWatch existing = localMap.putIfAbsent(WATCH_KEY, newWatch);
+    if (existing != null) {
+      return existing;
+    }
+    newWatch.listen(vertx);
+    return newWatch;
+  }
+
+  private void listen(final Vertx vertx) {
+    ClusterNodes.hazelcastClusterManager(vertx).ifPresent(clusterManager -> {
+      final Cluster cluster = clusterManager.getHazelcastInstance().getCluster();
+      // listener is added first, so no departure is missed while members are read
+      final String listenerId = cluster.addMembershipListener(new MemberListener());
+      cluster.getMembers().forEach(member -> members.add(member.getUuid()));
+      clustered = true;
+      // failed removal is ignored, listeners of member that is no longer running are gone with it
+      ((VertxInternal) vertx).addCloseHook(completionHandler -> vertx.executeBlocking(
+          removeFuture -> removeFuture.complete(cluster.removeMembershipListener(listenerId)),
+          false, removed -> completionHandler.handle(Future.succeededFuture())));
+    });
+  }
+
+  /**
+   * @return true if node with provided id is currently member of cluster
+   */
+  public boolean isMember(@NonNull final String nodeId) {
+    return !clustered || members.contains(nodeId);
+  }
+
+  /**
+   * Runs provided handler once node with provided id leaves the cluster, right away if it is not
+   * a member anymore. Handler is run by thread of the cluster manager, or by calling thread if the
+   * node has already left
+   *
+   * @return cancels the watch, run once the call completes
+   */
+  public Runnable watch(@NonNull final String nodeId, @NonNull final Runnable departureHandler) {
+    if (!clustered) {
+      return NO_WATCH;
+    }
+
+    departureHandlers.compute(nodeId, (id, handlers) -> {
+      final Set<Runnable> watched = handlers != null ? handlers : new HashSet<>();
+      watched.add(departureHandler);
+      return watched;
+    });
+    if (!members.contains(nodeId)) {
+      departed(nodeId);
+    }
+    return () -> departureHandlers.computeIfPresent(nodeId, (id, handlers) -> {
+      handlers.remove(departureHandler);
+      return handlers.isEmpty() ? null : handlers;
+    });
+  }
+
+  private void departed(final String nodeId) {
+    // removed set is not changed anymore, handlers of new calls go to a new one
+    final Set<Runnable> handlers = departureHandlers.remove(nodeId);
+    if (handlers != null) {
+      handlers.forEach(Runnable::run);
+    }
+  }
+
+  private final class MemberListener extends MembershipAdapter {
+
+    @Override
+    public void memberAdded(MembershipEvent membershipEvent) {
+      members.add(membershipEvent.getMember().getUuid());
+    }
+
+    @Override
+    public void memberRemoved(MembershipEvent membershipEvent) {
+      final String nodeId = membershipEvent.getMember().getUuid();
+      members.remove(nodeId);
+      departed(nodeId);
+    }
+  }
+}
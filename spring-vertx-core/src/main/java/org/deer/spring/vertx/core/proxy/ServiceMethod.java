@@ -0,0 +1,122 @@
+package org.deer.spring.vertx.core.proxy;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Method of service interface resolved once per interface. Methods are ordered by their signature,
+ * so the index of method is the same on all nodes that use the same interface
+ */
+public final class ServiceMethod {
+
+  private final int index;
+  private final Method method;
+  private final int handlerIndex;
+
+  private ServiceMethod(int index, Method method) {
+    this.index = index;
+    this.method = method;
+    this.handlerIndex = resolveHandlerIndex(method);
+  }
+
+  /**
+   * @return all methods of service interface ordered by signature
+   */
+  public static List<ServiceMethod> of(final Class<?> serviceInterface) {
+    final List<Method> methods = new ArrayList<>(Arrays.asList(serviceInterface.getMethods()));
+    methods.removeIf(method -> method.isDefault()
+        || Modifier.isStatic(method.getModifiers()));
+    methods.sort(Comparator.comparing(ServiceMethod::signature));
+
+    final List<ServiceMethod> serviceMethods = new ArrayList<>(methods.size());
+    for (int i = 0; i < methods.size(); i++) {
+      serviceMethods.add(new ServiceMethod(i, methods.get(i)));
+    }
+    return Collections.unmodifiableList(serviceMethods);
+  }
+
+  private static String signature(final Method method) {
+    return method.getName() + Arrays.toString(method.getParameterTypes());
+  }
+
+  private static int resolveHandlerIndex(final Method method) {
+    final Type[] parameterTypes = method.getGenericParameterTypes();
+    if (parameterTypes.length == 0) {
+      return -1;
+    }
+
+    final Type lastParameter = parameterTypes[parameterTypes.length - 1];
+    if (lastParameter instanceof ParameterizedType
+        && ((ParameterizedType) lastParameter).getRawType() == Handler.class) {
+      final Type handled = ((ParameterizedType) lastParameter).getActualTypeArguments()[0];
+      if (handled instanceof ParameterizedType
+          && ((ParameterizedType) handled).getRawType() == AsyncResult.class) {
+        return parameterTypes.length - 1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return position of this method within service interface
+   */
+  public int index() {
+    return index;
+  }
+
+  public Method method() {
+    return method;
+  }
+
+  public String name() {
+    return method.getName();
+  }
+
+  /**
+   * @return name of method with fully qualified names of its parameter types, that tells apart
+   * overloaded methods
+   */
+  public String signature() {
+    return Arrays.stream(method.getParameterTypes())
+        .map(Class::getTypeName)
+        .collect(Collectors.joining(",", method.getName() + "(", ")"));
+  }
+
+  /**
+   * @return true if last parameter of method is {@code Handler<AsyncResult<T>>}
+   */
+  public boolean isAsync() {
+    return handlerIndex >= 0;
+  }
+
+  /**
+   * @return index of result handler parameter, -1 for fire and forget methods
+   */
+  public int handlerIndex() {
+    return handlerIndex;
+  }
+
+  /**
+   * @return copy of arguments with result handler replaced by provided one
+   */
+  public Object[] withHandler(final Object[] args, final Handler<?> resultHandler) {
+    final Object[] copy = args.clone();
+    copy[handlerIndex] = resultHandler;
+    return copy;
+  }
+
+  @Override
+  public String toString() {
+    return signature(method);
+  }
+}
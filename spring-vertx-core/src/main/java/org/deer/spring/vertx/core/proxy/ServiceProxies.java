@@ -0,0 +1,22 @@
+package org.deer.spring.vertx.core.proxy;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Utility methods to create decorated service proxies
+ */
+public final class ServiceProxies {
+
+  private ServiceProxies() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  /**
+   * @return proxy of service interface, that passes all calls to provided handler
+   */
+  public static <T> T decorate(final AbstractServiceProxyHandler<T> handler) {
+    final Class<T> serviceInterface = handler.serviceInterface();
+    return serviceInterface.cast(Proxy.newProxyInstance(serviceInterface.getClassLoader(),
+        new Class<?>[]{serviceInterface}, handler));
+  }
+}
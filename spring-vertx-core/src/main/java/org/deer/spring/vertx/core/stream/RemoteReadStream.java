@@ -0,0 +1,214 @@
+package org.deer.spring.vertx.core.stream;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.serviceproxy.ServiceException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.UUID;
+
+/**
+ * Caller side of stream opened on singleton. Items are received on temporary address and buffered
+ * until they are delivered to the handler. Credits are granted back in halves of the window as
+ * items are delivered, so at most the window of items is buffered and paused stream stops the
+ * singleton once the window is used up. All handlers are called on context of the caller
+ */
+final class RemoteReadStream<T> implements ReadStream<T> {
+
+  private final Vertx vertx;
+  private final Context context;
+  private final String streamAddress;
+  private final String clientAddress =
+      StreamProtocol.CLIENT_ADDRESS_PREFIX + UUID.randomUUID().toString();
+  private final int window;
+  private final Queue<T> buffer = new ArrayDeque<>();
+
+  private MessageConsumer<T> consumer;
+  private Handler<T> handler;
+  private Handler<Void> endHandler;
+  private Handler<Throwable> exceptionHandler;
+  private boolean paused;
+  private boolean ended;
+  private boolean closed;
+  private int delivered;
+
+  RemoteReadStream(Vertx vertx, String streamAddress, int window) {
+    this.vertx = vertx;
+    this.context = vertx.getOrCreateContext();
+    this.streamAddress = streamAddress;
+    this.window = window;
+  }
+
+  /**
+   * Registers temporary address and asks singleton to open the stream once it is propagated
+   */
+  void open(final String contract, final String method, final Object[] args) {
+    context.runOnContext(start -> {
+      consumer = vertx.eventBus().consumer(clientAddress, this::receive);
+      consumer.completionHandler(registered -> {
+        if (registered.failed()) {
+          fail(registered.cause());
+          return;
+        }
+        synchronized (this) {
+          if (closed) {
+            consumer.unregister();
+            return;
+          }
+        }
+        vertx.eventBus().send(streamAddress, StreamProtocol.encodeArguments(args),
+            new DeliveryOptions()
+                .addHeader(StreamProtocol.ACTION, StreamProtocol.OPEN)
+                .addHeader(StreamProtocol.CONTRACT, contract)
+                .addHeader(StreamProtocol.METHOD, method)
+                .addHeader(StreamProtocol.STREAM, clientAddress)
+                .addHeader(StreamProtocol.CREDITS, String.valueOf(window)), opened -> {
+              if (opened.failed()) {
+                fail(opened.cause());
+              }
+            });
+      });
+    });
+  }
+
+  @Override
+  public synchronized RemoteReadStream<T> exceptionHandler(final Handler<Throwable> handler) {
+    this.exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public RemoteReadStream<T> handler(final Handler<T> handler) {
+    final boolean cancel;
+    synchronized (this) {
+      this.handler = handler;
+      cancel = handler == null && !ended && !closed;
+    }
+    if (cancel) {
+      // caller is not interested anymore
+      control(StreamProtocol.CANCEL, null);
+      close();
+    } else {
+      context.runOnContext(aVoid -> drain());
+    }
+    return this;
+  }
+
+  @Override
+  public synchronized RemoteReadStream<T> pause() {
+    paused = true;
+    return this;
+  }
+
+  @Override
+  public RemoteReadStream<T> resume() {
+    synchronized (this) {
+      paused = false;
+    }
+    context.runOnContext(aVoid -> drain());
+    return this;
+  }
+
+  @Override
+  public synchronized RemoteReadStream<T> endHandler(final Handler<Void> endHandler) {
+    this.endHandler = endHandler;
+    return this;
+  }
+
+  private void receive(final Message<T> message) {
+    final String type = message.headers().get(StreamProtocol.TYPE);
+    if (StreamProtocol.ITEM.equals(type)) {
+      synchronized (this) {
+        buffer.add(message.body());
+      }
+    } else if (StreamProtocol.END.equals(type)) {
+      synchronized (this) {
+        ended = true;
+      }
+    } else if (StreamProtocol.ERROR.equals(type)) {
+      fail(new ServiceException(-1, String.valueOf(message.body())));
+      return;
+    }
+    drain();
+  }
+
+  private void drain() {
+    while (true) {
+      final Handler<T> itemHandler;
+      final T item;
+      int granted = 0;
+      synchronized (this) {
+        if (closed || paused || handler == null || buffer.isEmpty()) {
+          break;
+        }
+        itemHandler = handler;
+        item = buffer.poll();
+        if (!ended && ++delivered >= Math.max(1, window / 2)) {
+          granted = delivered;
+          delivered = 0;
+        }
+      }
+      if (granted > 0) {
+        control(StreamProtocol.CREDIT, String.valueOf(granted));
+      }
+      itemHandler.handle(item);
+    }
+
+    final Handler<Void> completionHandler;
+    synchronized (this) {
+      if (!ended || closed || !buffer.isEmpty()) {
+        return;
+      }
+      completionHandler = endHandler;
+    }
+    close();
+    if (completionHandler != null) {
+      completionHandler.handle(null);
+    }
+  }
+
+  private void fail(final Throwable cause) {
+    final Handler<Throwable> failureHandler;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      failureHandler = exceptionHandler;
+    }
+    close();
+    if (failureHandler != null) {
+      failureHandler.handle(cause instanceof ReplyException ? cause
+          : new ServiceException(-1, String.valueOf(cause.getMessage())));
+    }
+  }
+
+  private void close() {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      buffer.clear();
+    }
+    if (consumer != null) {
+      consumer.unregister();
+    }
+  }
+
+  private void control(final String action, final String credits) {
+    final DeliveryOptions options = new DeliveryOptions()
+        .addHeader(StreamProtocol.ACTION, action)
+        .addHeader(StreamProtocol.STREAM, clientAddress);
+    if (credits != null) {
+      options.addHeader(StreamProtocol.CREDITS, credits);
+    }
+    vertx.eventBus().send(streamAddress, new JsonArray(), options);
+  }
+}
@@ -0,0 +1,75 @@
+package org.deer.spring.vertx.core.stream;
+
+import io.vertx.core.json.JsonArray;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Headers and values exchanged by {@link StreamingServiceEndpoint} and {@link
+ * StreamingServiceProxy}
+ */
+final class StreamProtocol {
+
+  static final String STREAM_ADDRESS_SUFFIX = ".stream";
+  static final String CLIENT_ADDRESS_PREFIX = "spring-vertx-stream.";
+
+  static final String ACTION = "action";
+  static final String CONTRACT = "contract";
+  static final String METHOD = "method";
+  static final String STREAM = "stream";
+  static final String CREDITS = "credits";
+  static final String TYPE = "type";
+
+  // actions sent by caller to stream address of the singleton
+  static final String OPEN = "open";
+  static final String CREDIT = "credit";
+  static final String CANCEL = "cancel";
+
+  // types of messages sent by singleton to temporary address of the caller
+  static final String ITEM = "item";
+  static final String END = "end";
+  static final String ERROR = "error";
+
+  private StreamProtocol() {
+  }
+
+  /**
+   * Arguments are sent as JSON array, numbers are converted back to parameter types by {@link
+   * #decodeArguments}
+   */
+  static JsonArray encodeArguments(final Object[] args) {
+    return new JsonArray(args == null ? new ArrayList<>() : Arrays.asList(args));
+  }
+
+  static Object[] decodeArguments(final Method method, final JsonArray encoded) {
+    final Class<?>[] types = method.getParameterTypes();
+    final Object[] args = new Object[types.length];
+    for (int i = 0; i < types.length; i++) {
+      args[i] = decode(encoded.getValue(i), types[i]);
+    }
+    return args;
+  }
+
+  private static Object decode(final Object value, final Class<?> type) {
+    if (!(value instanceof Number)) {
+      return value;
+    }
+
+    final Number number = (Number) value;
+    if (type == int.class || type == Integer.class) {
+      return number.intValue();
+    } else if (type == long.class || type == Long.class) {
+      return number.longValue();
+    } else if (type == short.class || type == Short.class) {
+      return number.shortValue();
+    } else if (type == byte.class || type == Byte.class) {
+      return number.byteValue();
+    } else if (type == double.class || type == Double.class) {
+      return number.doubleValue();
+    } else if (type == float.class || type == Float.class) {
+      return number.floatValue();
+    }
+    return number;
+  }
+}
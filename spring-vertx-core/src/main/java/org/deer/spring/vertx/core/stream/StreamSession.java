@@ -0,0 +1,109 @@
+package org.deer.spring.vertx.core.stream;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.streams.ReadStream;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stream opened by one call of singleton. Items are sent to temporary address of the caller while
+ * the caller has credits, once they run out the source stream is paused until the caller grants
+ * more. Stream that gets no credit for idle timeout is cancelled, as its caller is probably gone
+ */
+final class StreamSession {
+
+  private static final Logger LOG = LoggerFactory.getLogger(StreamSession.class);
+
+  private final Vertx vertx;
+  private final String clientAddress;
+  private final ReadStream<Object> source;
+  private final long idleTimeout;
+  private final Consumer<StreamSession> completionHandler;
+
+  private int credits;
+  private boolean paused;
+  private boolean completed;
+  private long idleTimer = -1;
+
+  StreamSession(Vertx vertx, String clientAddress, ReadStream<Object> source, int credits,
+      long idleTimeout, Consumer<StreamSession> completionHandler) {
+    this.vertx = vertx;
+    this.clientAddress = clientAddress;
+    this.source = source;
+    this.credits = credits;
+    this.idleTimeout = idleTimeout;
+    this.completionHandler = completionHandler;
+  }
+
+  String clientAddress() {
+    return clientAddress;
+  }
+
+  void start() {
+    source.exceptionHandler(cause -> {
+      if (complete()) {
+        LOG.warn("Stream to {} failed", clientAddress, cause);
+        send(String.valueOf(cause.getMessage()), StreamProtocol.ERROR);
+      }
+    });
+    source.endHandler(aVoid -> {
+      if (complete()) {
+        send(null, StreamProtocol.END);
+      }
+    });
+    source.handler(this::item);
+  }
+
+  synchronized void grant(final int granted) {
+    credits += granted;
+    if (paused && credits > 0 && !completed) {
+      paused = false;
+      cancelIdleTimer();
+      source.resume();
+    }
+  }
+
+  void cancel() {
+    if (complete()) {
+      LOG.info("Stream to {} cancelled", clientAddress);
+      source.handler(null);
+      source.pause();
+    }
+  }
+
+  private synchronized void item(final Object item) {
+    if (completed) {
+      return;
+    }
+    send(item, StreamProtocol.ITEM);
+    if (--credits <= 0 && !paused) {
+      paused = true;
+      source.pause();
+      idleTimer = vertx.setTimer(idleTimeout, id -> cancel());
+    }
+  }
+
+  private synchronized boolean complete() {
+    if (completed) {
+      return false;
+    }
+    completed = true;
+    cancelIdleTimer();
+    completionHandler.accept(this);
+    return true;
+  }
+
+  private void cancelIdleTimer() {
+    if (idleTimer != -1) {
+      vertx.cancelTimer(idleTimer);
+      idleTimer = -1;
+    }
+  }
+
+  private void send(final Object body, final String type) {
+    vertx.eventBus().send(clientAddress, body,
+        new DeliveryOptions().addHeader(StreamProtocol.TYPE, type));
+  }
+}
@@ -0,0 +1,22 @@
+package org.deer.spring.vertx.core.stream;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks interface whose methods return {@code ReadStream} of results, implemented by singleton next
+ * to its {@code ProxyGen} interface. Arguments must be JSON compatible values, streamed items must
+ * be types sent by default codecs of event bus, like {@code JsonObject}, {@code String} or {@code
+ * Buffer}. Proxies of the interface are provided by {@code ClusterSingletonProxyFactory}, items are
+ * delivered over temporary address of the caller, with at most the stream window of items in
+ * flight
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface StreamingContract {
+
+}
@@ -0,0 +1,178 @@
+package org.deer.spring.vertx.core.stream;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.streams.ReadStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import org.deer.spring.vertx.core.endpoint.AdmissionControl;
+import org.deer.spring.vertx.core.endpoint.ServiceEndpoint;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Consumer of streaming calls of service instance, that implements interfaces marked by {@link
+ * StreamingContract}. Opening of stream is admitted as single call, that is completed once the
+ * stream ends, so the stream counts against admission limits for its whole duration. Credits and
+ * cancellations of open streams bypass admission
+ */
+public class StreamingServiceEndpoint {
+
+  private static final long DEFAULT_IDLE_TIMEOUT = 60000;
+
+  private final Vertx vertx;
+  private final String serviceAddress;
+  private final Object instance;
+  private final AdmissionControl admissionControl;
+  // contract name -> method name -> method
+  private final Map<String, Map<String, Method>> methods;
+  private final ConcurrentMap<String, StreamSession> sessions = new ConcurrentHashMap<>();
+
+  private long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+  private MessageConsumer<JsonArray> consumer;
+
+  public StreamingServiceEndpoint(final Vertx vertx, final String serviceAddress,
+      final Object instance, final AdmissionControl admissionControl) {
+    this.vertx = vertx;
+    this.serviceAddress = serviceAddress;
+    this.instance = instance;
+    this.admissionControl = admissionControl;
+    this.methods = streamingContracts(instance.getClass()).stream()
+        .collect(Collectors.toMap(Class::getName, contract -> Arrays
+            .stream(contract.getMethods())
+            .filter(method -> !method.isDefault())
+            .collect(Collectors.toMap(Method::getName, method -> method, (first, second) -> {
+              throw new IllegalStateException("Streaming method " + first.getName()
+                  + " of " + contract.getName() + " must not be overloaded");
+            }, HashMap::new))));
+  }
+
+  /**
+   * @return interfaces implemented by provided class that are marked by {@link StreamingContract}
+   */
+  public static List<Class<?>> streamingContracts(final Class<?> implementation) {
+    return ClassUtils.getAllInterfacesForClassAsSet(implementation).stream()
+        .filter(contract -> contract.isAnnotationPresent(StreamingContract.class))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * @return address of streaming endpoint of service bound to provided address
+   */
+  public static String streamAddress(final String serviceAddress) {
+    return serviceAddress + StreamProtocol.STREAM_ADDRESS_SUFFIX;
+  }
+
+  /**
+   * @param idleTimeout time in milliseconds after which stream without credits is cancelled
+   */
+  public StreamingServiceEndpoint setIdleTimeout(final long idleTimeout) {
+    this.idleTimeout = idleTimeout;
+    return this;
+  }
+
+  /**
+   * @return count of streams that did not end yet
+   */
+  public int openStreams() {
+    return sessions.size();
+  }
+
+  /**
+   * Registers consumer, provided handler is called once the registration is propagated
+   */
+  public void register(final Handler<AsyncResult<Void>> completionHandler) {
+    consumer = vertx.eventBus().consumer(streamAddress(serviceAddress), this::handle);
+    consumer.completionHandler(completionHandler);
+  }
+
+  public void unregister() {
+    unregister(result -> {
+    });
+  }
+
+  /**
+   * Unregisters consumer, provided handler is called once the unregistration is propagated. Open
+   * streams are not affected
+   */
+  public void unregister(final Handler<AsyncResult<Void>> completionHandler) {
+    if (consumer != null) {
+      consumer.unregister(completionHandler);
+    } else {
+      completionHandler.handle(Future.succeededFuture());
+    }
+  }
+
+  private void handle(final Message<JsonArray> message) {
+    final String action = message.headers().get(StreamProtocol.ACTION);
+    final String stream = message.headers().get(StreamProtocol.STREAM);
+    if (StreamProtocol.CREDIT.equals(action)) {
+      final StreamSession session = sessions.get(stream);
+      if (session != null) {
+        session.grant(Integer.parseInt(message.headers().get(StreamProtocol.CREDITS)));
+      }
+    } else if (StreamProtocol.CANCEL.equals(action)) {
+      final StreamSession session = sessions.get(stream);
+      if (session != null) {
+        session.cancel();
+      }
+    } else if (StreamProtocol.OPEN.equals(action)) {
+      admissionControl.dispatch(message, release -> open(message, stream, release),
+          () -> message.fail(AdmissionControl.OVERLOADED,
+              ServiceEndpoint.overloadedMessage(serviceAddress)));
+    } else {
+      message.fail(-1, "Invalid stream action " + action);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void open(final Message<JsonArray> message, final String stream,
+      final Runnable release) {
+    final Method method = methods
+        .getOrDefault(message.headers().get(StreamProtocol.CONTRACT), Collections.emptyMap())
+        .get(message.headers().get(StreamProtocol.METHOD));
+    if (method == null) {
+      release.run();
+      message.fail(-1, "Unknown streaming method " + message.headers().get(StreamProtocol.METHOD)
+          + " of " + serviceAddress);
+      return;
+    }
+
+    final ReadStream<Object> source;
+    try {
+      source = (ReadStream<Object>) method.invoke(instance,
+          StreamProtocol.decodeArguments(method, message.body()));
+    } catch (InvocationTargetException e) {
+      release.run();
+      message.fail(-1, String.valueOf(e.getCause().getMessage()));
+      return;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      release.run();
+      message.fail(-1, String.valueOf(e.getMessage()));
+      return;
+    }
+
+    final int credits = Integer.parseInt(message.headers().get(StreamProtocol.CREDITS));
+    final StreamSession session = new StreamSession(vertx, stream, source, credits, idleTimeout,
+        completed -> {
+          sessions.remove(completed.clientAddress(), completed);
+          release.run();
+        });
+    sessions.put(stream, session);
+    // items are sent once the caller knows the stream is open
+    message.reply(null);
+    session.start();
+  }
+}
@@ -0,0 +1,76 @@
+package org.deer.spring.vertx.core.stream;
+
+import io.vertx.core.Vertx;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import org.springframework.lang.NonNull;
+
+/**
+ * Proxy of interface marked by {@link StreamingContract}. Each call returns stream, that is opened
+ * on the singleton bound to the service address right away
+ */
+public final class StreamingServiceProxy implements InvocationHandler {
+
+  /**
+   * Default count of items in flight of one stream
+   */
+  public static final int DEFAULT_WINDOW = 64;
+
+  private final Vertx vertx;
+  private final String serviceAddress;
+  private final Class<?> contract;
+  private final int window;
+
+  private StreamingServiceProxy(Vertx vertx, String serviceAddress, Class<?> contract,
+      int window) {
+    this.vertx = vertx;
+    this.serviceAddress = serviceAddress;
+    this.contract = contract;
+    this.window = window;
+  }
+
+  /**
+   * @param window count of items in flight of one stream, also the most items buffered by caller
+   * @return proxy of provided contract, that calls singleton bound to provided address
+   */
+  public static <T> T create(@NonNull final Vertx vertx, @NonNull final String serviceAddress,
+      @NonNull final Class<T> contract, final int window) {
+    if (!isStreamingContract(contract)) {
+      throw new IllegalArgumentException(
+          contract.getName() + " is not interface marked by @StreamingContract");
+    }
+    if (window < 1) {
+      throw new IllegalArgumentException("Stream window must be at least 1");
+    }
+    return contract.cast(Proxy.newProxyInstance(contract.getClassLoader(),
+        new Class<?>[]{contract}, new StreamingServiceProxy(vertx, serviceAddress, contract,
+            window)));
+  }
+
+  /**
+   * @return true if provided type is interface marked by {@link StreamingContract}
+   */
+  public static boolean isStreamingContract(final Class<?> type) {
+    return type.isInterface() && type.isAnnotationPresent(StreamingContract.class);
+  }
+
+  @Override
+  public Object invoke(final Object proxy, final Method method, final Object[] args) {
+    if (method.getDeclaringClass() == Object.class) {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        default:
+          return "StreamingServiceProxy[" + contract.getName() + "@" + serviceAddress + "]";
+      }
+    }
+
+    final RemoteReadStream<Object> stream = new RemoteReadStream<>(vertx,
+        StreamingServiceEndpoint.streamAddress(serviceAddress), window);
+    stream.open(contract.getName(), method.getName(), args);
+    return stream;
+  }
+}
@@ -0,0 +1,159 @@
+package org.deer.spring.vertx.core.trace;
+
+import io.vertx.core.json.JsonObject;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Timestamps of one call on one side of the event bus. Caller and singleton record their own
+ * spans, that share trace id carried by {@link CallTracer#TRACE_HEADER}. Hops are measured in
+ * nanoseconds from the start of the span, so they are comparable only within the span
+ */
+public final class CallSpan {
+
+  /**
+   * Side of the event bus the span was recorded on
+   */
+  public enum Side {
+    CALLER, SINGLETON
+  }
+
+  /**
+   * Points the call passes through. Caller records {@link #ENQUEUE}, {@link #SEND} and {@link
+   * #REPLY}, singleton records {@link #DEQUEUE}, {@link #START} and {@link #REPLY}
+   */
+  public enum Hop {
+    /**
+     * Proxy was called
+     */
+    ENQUEUE,
+    /**
+     * Message was handed to event bus
+     */
+    SEND,
+    /**
+     * Consumer of the singleton received the message from event loop
+     */
+    DEQUEUE,
+    /**
+     * Call was admitted and handler of the singleton started
+     */
+    START,
+    /**
+     * Reply was sent by singleton, or received by caller
+     */
+    REPLY
+  }
+
+  private static final Hop[] HOPS = Hop.values();
+  private static final long NOT_REACHED = -1;
+
+  private final String traceId;
+  private final Side side;
+  private final String address;
+  private final String method;
+  private final long startMillis;
+  private final long startNanos;
+  private final AtomicLongArray hops = new AtomicLongArray(HOPS.length);
+  private final AtomicBoolean finished = new AtomicBoolean();
+
+  private volatile boolean failed;
+
+  CallSpan(final String traceId, final Side side, final String address, final String method) {
+    this.traceId = traceId;
+    this.side = side;
+    this.address = address;
+    this.method = method;
+    this.startMillis = System.currentTimeMillis();
+    this.startNanos = System.nanoTime();
+    for (int i = 0; i < HOPS.length; i++) {
+      hops.set(i, NOT_REACHED);
+    }
+  }
+
+  public String getTraceId() {
+    return traceId;
+  }
+
+  public Side getSide() {
+    return side;
+  }
+
+  public String getAddress() {
+    return address;
+  }
+
+  /**
+   * @return called method, null for singleton side of calls that do not carry it in headers
+   */
+  public String getMethod() {
+    return method;
+  }
+
+  /**
+   * @return wall clock time in milliseconds when the span started
+   */
+  public long getStartMillis() {
+    return startMillis;
+  }
+
+  /**
+   * @return nanoseconds from start of the span to provided hop, -1 if the call did not reach it
+   */
+  public long getHopNanos(final Hop hop) {
+    return hops.get(hop.ordinal());
+  }
+
+  public boolean isFailed() {
+    return failed;
+  }
+
+  /**
+   * Records the first time the call reached provided hop
+   */
+  void mark(final Hop hop) {
+    hops.compareAndSet(hop.ordinal(), NOT_REACHED, System.nanoTime() - startNanos);
+  }
+
+  boolean isFinished() {
+    return finished.get();
+  }
+
+  /**
+   * @return true if the span was finished by this call, so it is recorded only once
+   */
+  boolean finish(final boolean failed) {
+    if (!finished.compareAndSet(false, true)) {
+      return false;
+    }
+    this.failed = failed;
+    mark(Hop.REPLY);
+    return true;
+  }
+
+  /**
+   * @return span as JSON, hops in microseconds from start of the span
+   */
+  public JsonObject toJson() {
+    final JsonObject json = new JsonObject()
+        .put("traceId", traceId)
+        .put("side", side.name())
+        .put("address", address)
+        .put("method", method)
+        .put("start", startMillis)
+        .put("failed", failed);
+    for (Hop hop : HOPS) {
+      final long nanos = getHopNanos(hop);
+      if (nanos != NOT_REACHED) {
+        json.put(hop.name().toLowerCase(), TimeUnit.NANOSECONDS.toMicros(nanos));
+      }
+    }
+    return json;
+  }
+
+  @Override
+  public String toString() {
+    return toJson().encode();
+  }
+}
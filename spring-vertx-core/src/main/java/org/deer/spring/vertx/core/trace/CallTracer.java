@@ -0,0 +1,180 @@
+package org.deer.spring.vertx.core.trace;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.SendContext;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+import org.deer.spring.vertx.core.trace.CallSpan.Hop;
+import org.deer.spring.vertx.core.trace.CallSpan.Side;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Records sampled calls of singletons into ring buffer of fixed capacity, so the newest spans are
+ * kept without bounds on memory. Caller decides whether the call is sampled, trace id is sent in
+ * {@link #TRACE_HEADER} and the singleton records its span for every message that carries it.
+ * The same tracer is usually passed to proxy factories and registrator of the node, so both sides
+ * of local calls end up in one buffer, that can be {@link #dump dumped} to file
+ */
+public class CallTracer {
+
+  /**
+   * Header that carries trace id of sampled call
+   */
+  public static final String TRACE_HEADER = "spring-vertx-trace";
+
+  private static final String ACTION_HEADER = "action";
+
+  // span of call that is being sent by this thread, so send interceptor can propagate it
+  private static final ThreadLocal<CallSpan> SENDING = new ThreadLocal<>();
+
+  private final AtomicReferenceArray<CallSpan> spans;
+  private final AtomicLong recorded = new AtomicLong();
+  private final double sampleRate;
+  private final Set<Vertx> interceptedVertxes = ConcurrentHashMap.newKeySet();
+
+  /**
+   * @param capacity count of the newest spans that are kept
+   * @param sampleRate fraction of calls that are traced, from 0 to 1
+   */
+  public CallTracer(final int capacity, final double sampleRate) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be at least 1");
+    }
+    if (sampleRate < 0 || sampleRate > 1) {
+      throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+    }
+    this.spans = new AtomicReferenceArray<>(capacity);
+    this.sampleRate = sampleRate;
+  }
+
+  /**
+   * Adds event bus interceptor that puts trace id into messages sent while traced call is
+   * proceeding, called once per Vertx instance by {@link TracingServiceProxyHandler}
+   */
+  void interceptSends(final Vertx vertx) {
+    if (interceptedVertxes.add(vertx)) {
+      vertx.eventBus().addInterceptor(this::intercept);
+    }
+  }
+
+  private void intercept(final SendContext<?> sendContext) {
+    final CallSpan span = SENDING.get();
+    final Message<?> message = sendContext.message();
+    // only the first message of the call is the call itself
+    if (span != null && !span.isFinished() && sendContext.send()
+        && !message.headers().contains(TRACE_HEADER)) {
+      message.headers().add(TRACE_HEADER, span.getTraceId());
+      span.mark(Hop.SEND);
+    }
+    sendContext.next();
+  }
+
+  /**
+   * @return span of call of provided method, null if the call is not sampled
+   */
+  @Nullable
+  CallSpan startCall(final String serviceAddress, final String method) {
+    if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+      return null;
+    }
+    final CallSpan span = new CallSpan(UUID.randomUUID().toString(), Side.CALLER,
+        serviceAddress, method);
+    span.mark(Hop.ENQUEUE);
+    return span;
+  }
+
+  /**
+   * Runs provided action with the span visible to send interceptor
+   */
+  void sending(final CallSpan span, final Runnable action) {
+    final CallSpan previous = SENDING.get();
+    SENDING.set(span);
+    try {
+      action.run();
+    } finally {
+      if (previous == null) {
+        SENDING.remove();
+      } else {
+        SENDING.set(previous);
+      }
+    }
+  }
+
+  /**
+   * @return span of received call, null if the caller did not sample it
+   */
+  @Nullable
+  public CallSpan startReceive(@NonNull final Message<?> message) {
+    final String traceId = message.headers().get(TRACE_HEADER);
+    if (traceId == null) {
+      return null;
+    }
+    final CallSpan span = new CallSpan(traceId, Side.SINGLETON, message.address(),
+        message.headers().get(ACTION_HEADER));
+    span.mark(Hop.DEQUEUE);
+    return span;
+  }
+
+  /**
+   * Marks provided hop of the span
+   */
+  public void mark(@NonNull final CallSpan span, @NonNull final Hop hop) {
+    span.mark(hop);
+  }
+
+  /**
+   * Finishes the span and puts it into the buffer, replacing the oldest one once it is full
+   */
+  public void finish(@NonNull final CallSpan span, final boolean failed) {
+    if (span.finish(failed)) {
+      spans.set((int) (recorded.getAndIncrement() % spans.length()), span);
+    }
+  }
+
+  /**
+   * @return spans kept in the buffer, from the oldest
+   */
+  public List<CallSpan> spans() {
+    final long total = recorded.get();
+    final int capacity = spans.length();
+    final long first = Math.max(0, total - capacity);
+    final List<CallSpan> snapshot = new ArrayList<>((int) (total - first));
+    for (long i = first; i < total; i++) {
+      final CallSpan span = spans.get((int) (i % capacity));
+      // slot may be overwritten meanwhile, or not written yet by concurrent finish
+      if (span != null) {
+        snapshot.add(span);
+      }
+    }
+    return snapshot;
+  }
+
+  /**
+   * @return count of spans recorded since the tracer was created, including overwritten ones
+   */
+  public long recorded() {
+    return recorded.get();
+  }
+
+  /**
+   * Writes spans kept in the buffer to provided file, one JSON object per line
+   */
+  public void dump(@NonNull final Path file) throws IOException {
+    Files.write(file, spans().stream()
+        .map(span -> span.toJson().encode())
+        .collect(Collectors.toList()), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,41 @@
+package org.deer.spring.vertx.core.trace;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.deer.spring.vertx.core.proxy.AbstractServiceProxyHandler;
+import org.deer.spring.vertx.core.proxy.ServiceMethod;
+
+/**
+ * Records caller side span of sampled calls of decorated proxy. Trace id is propagated to the
+ * singleton only for messages sent while the call proceeds, so calls that decorators send later,
+ * such as batched ones, are traced on caller side only
+ */
+public class TracingServiceProxyHandler<T> extends AbstractServiceProxyHandler<T> {
+
+  private final String serviceAddress;
+  private final CallTracer tracer;
+
+  public TracingServiceProxyHandler(final Class<T> serviceInterface, final T target,
+      final Vertx vertx, final String serviceAddress, final CallTracer tracer) {
+    super(serviceInterface, target);
+    this.serviceAddress = serviceAddress;
+    this.tracer = tracer;
+    tracer.interceptSends(vertx);
+  }
+
+  @Override
+  protected void invokeAsync(ServiceMethod method, Object[] args,
+      Handler<AsyncResult<Object>> resultHandler) {
+    final CallSpan span = tracer.startCall(serviceAddress, method.name());
+    if (span == null) {
+      proceed(method, args, resultHandler);
+      return;
+    }
+
+    tracer.sending(span, () -> proceed(method, args, result -> {
+      tracer.finish(span, result.failed());
+      resultHandler.handle(result);
+    }));
+  }
+}
@@ -1,9 +1,14 @@
 package org.deer.spring.vertx.node;
 
+import java.util.concurrent.CountDownLatch;
+import org.deer.spring.vertx.core.bootstrap.VertxBootstrap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
 
 @SpringBootApplication
 public class NodeApplication {
@@ -13,8 +18,20 @@ public class NodeApplication {
   public static void main(String[] args) throws InterruptedException {
     LOG.info("Starting node");
     SpringApplication bootApp = new SpringApplication(NodeApplication.class);
-    bootApp.run(args);
-    LOG.info("Node started");
-    Thread.currentThread().join();
+    final ConfigurableApplicationContext context = bootApp.run(args);
+
+    final VertxBootstrap vertxBootstrap = context.getBean(VertxBootstrap.class);
+    vertxBootstrap.vertx().whenComplete((vertx, throwable) -> {
+      if (throwable == null) {
+        LOG.info("Node started");
+      }
+      LOG.info(vertxBootstrap.getTimings().report());
+    });
+
+    // main thread has nothing left to do, it only keeps node running until context is closed
+    final CountDownLatch closed = new CountDownLatch(1);
+    context.addApplicationListener(
+        (ApplicationListener<ContextClosedEvent>) event -> closed.countDown());
+    closed.await();
   }
 }
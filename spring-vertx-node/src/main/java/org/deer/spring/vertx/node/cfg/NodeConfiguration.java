@@ -1,26 +1,40 @@
 package org.deer.spring.vertx.node.cfg;
 
 
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionConfig.MaxSizePolicy;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NearCacheConfig;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
 import io.vertx.core.logging.SLF4JLogDelegateFactory;
 import io.vertx.spi.cluster.hazelcast.HazelcastClusterManager;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.deer.spring.vertx.core.ClusterSingletonRegistratorBean;
+import org.deer.spring.vertx.core.bootstrap.StartupTimings;
+import org.deer.spring.vertx.core.bootstrap.VertxBootstrap;
+import org.deer.spring.vertx.core.placement.PlacementStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Scope;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 
 @Configuration
-@PropertySource(value = {"classpath:application.yml"})
+@EnableConfigurationProperties(NodeProperties.class)
 public class NodeConfiguration {
 
   private static final Logger LOG = LoggerFactory.getLogger(NodeConfiguration.class);
+  // singleton deployment markers and Vertx HA info
+  private static final Set<String> CONSISTENT_MAPS = new HashSet<>(Arrays.asList(
+      ClusterSingletonRegistratorBean.SINGLETON_MAP, "__vertx.haInfo"));
 
   @Bean
   public static PropertySourcesPlaceholderConfigurer configurer() {
@@ -28,35 +42,123 @@ public class NodeConfiguration {
   }
 
   @Bean
+  public static StartupTimingsPostProcessor startupTimingsPostProcessor() {
+    return new StartupTimingsPostProcessor();
+  }
+
+  @Bean
+  public StartupTimings startupTimings(final StartupTimingsPostProcessor postProcessor) {
+    return postProcessor.getTimings();
+  }
+
+  /**
+   * Cluster is joined in background, while the rest of the context is created
+   */
+  @Bean(destroyMethod = "close")
   @Scope("singleton")
-  public Vertx createVertx(@Value("${application.cluster.enabled}") boolean clusterEnabled)
-      throws ExecutionException, InterruptedException {
+  public VertxBootstrap vertxBootstrap(final NodeProperties properties,
+      final StartupTimings timings) {
 
     // to enable log delegation from vertx
     System.setProperty(io.vertx.core.logging.LoggerFactory.LOGGER_DELEGATE_FACTORY_CLASS_NAME,
         SLF4JLogDelegateFactory.class.getName());
 
-    if (clusterEnabled) {
-      LOG.info("Starting clustered Vertx instance");
-      CompletableFuture<Vertx> vertx = new CompletableFuture<>();
+    final VertxOptions options = vertxOptions(properties.getVertx());
+    if (properties.getCluster().isEnabled()) {
+      final HazelcastClusterManager clusterManager = new HazelcastClusterManager();
+      clusterManager.setConfig(hazelcastConfig(clusterManager.loadConfig(),
+          properties.getHazelcast()));
+      return VertxBootstrap.clustered(options.setClusterManager(clusterManager), timings);
+    } else {
+      return VertxBootstrap.local(options, timings);
+    }
+  }
 
-      final VertxOptions options = new VertxOptions()
-          .setClusterManager(new HazelcastClusterManager());
+  private static VertxOptions vertxOptions(final NodeProperties.Vertx properties) {
+    final NodeProperties.EventBus eventBus = properties.getEventBus();
+    final VertxOptions options = new VertxOptions()
+        .setEventLoopPoolSize(properties.getEventLoopPoolSize())
+        .setWorkerPoolSize(properties.getWorkerPoolSize())
+        .setInternalBlockingPoolSize(properties.getInternalBlockingPoolSize())
+        .setMaxEventLoopExecuteTime(properties.getMaxEventLoopExecuteTime())
+        .setMaxWorkerExecuteTime(properties.getMaxWorkerExecuteTime())
+        .setPreferNativeTransport(properties.isPreferNativeTransport())
+        .setClusterPingInterval(eventBus.getClusterPingInterval());
+    options.getEventBusOptions()
+        .setTcpNoDelay(eventBus.isTcpNoDelay())
+        .setTcpKeepAlive(eventBus.isTcpKeepAlive())
+        .setTcpQuickAck(eventBus.isTcpQuickAck())
+        .setSendBufferSize(eventBus.getSendBufferSize())
+        .setReceiveBufferSize(eventBus.getReceiveBufferSize());
+    return options;
+  }
 
-      Vertx.clusteredVertx(options, vertxAsyncResult -> {
-        if (vertxAsyncResult.succeeded()) {
-          LOG.info("Clustered Vertx successfully started");
-          vertx.complete(vertxAsyncResult.result());
-        } else {
-          LOG.error("Error while starting clustered Vertx", vertxAsyncResult.cause());
-          vertx.completeExceptionally(vertxAsyncResult.cause());
-        }
-      });
+  private static Config hazelcastConfig(final Config config,
+      final NodeProperties.Hazelcast properties) {
+    config.setProperty("hazelcast.partition.count",
+        String.valueOf(properties.getPartitionCount()));
 
-      return vertx.get();
-    } else {
-      LOG.info("Starting single-node Vertx instance");
-      return Vertx.vertx();
+    // backups apply to maps configured by Vertx, as well as to all other maps, except the ones
+    // that decide where singletons are deployed, lost or stale entries of those deploy singleton
+    // twice, so they keep synchronous backup and are read from owner only
+    config.getMapConfig("default");
+    CONSISTENT_MAPS.forEach(config::getMapConfig);
+    for (MapConfig mapConfig : config.getMapConfigs().values()) {
+      if (CONSISTENT_MAPS.contains(mapConfig.getName())) {
+        mapConfig.setBackupCount(MapConfig.DEFAULT_BACKUP_COUNT)
+            .setAsyncBackupCount(MapConfig.MIN_BACKUP_COUNT)
+            .setReadBackupData(false);
+      } else {
+        mapConfig.setBackupCount(properties.getBackupCount())
+            .setAsyncBackupCount(properties.getAsyncBackupCount())
+            .setReadBackupData(properties.isReadBackupData());
+      }
     }
+
+    final NodeProperties.NearCache nearCache = properties.getNearCache();
+    if (nearCache.isEnabled()) {
+      for (String map : nearCache.getMaps()) {
+        if (CONSISTENT_MAPS.contains(map)) {
+          LOG.warn("Near cache of map {} ignored, its reads must not be stale", map);
+          continue;
+        }
+        config.getMapConfig(map).setNearCacheConfig(new NearCacheConfig(map)
+            .setTimeToLiveSeconds(nearCache.getTimeToLiveSeconds())
+            .setInvalidateOnChange(nearCache.isInvalidateOnChange())
+            .setEvictionConfig(new EvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaximumSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                .setSize(nearCache.getMaxSize())));
+      }
+    }
+    return config;
+  }
+
+  /**
+   * Strategy for registrators of cluster singletons deployed by this node
+   */
+  @Bean
+  public PlacementStrategy placementStrategy(final NodeProperties properties) {
+    return PlacementStrategy.forName(properties.getPlacement().getStrategy());
+  }
+
+  /**
+   * Load of this node is published once Vertx is started, without waiting for it here
+   */
+  @Bean(destroyMethod = "close")
+  public NodeLoadPublication nodeLoadPublication(final VertxBootstrap vertxBootstrap,
+      final NodeProperties properties) {
+    return new NodeLoadPublication(vertxBootstrap, properties.getPlacement());
+  }
+
+  /**
+   * Beans that need Vertx right away wait here until it is started, Vertx is closed by {@link
+   * VertxBootstrap}
+   */
+  @Bean(destroyMethod = "")
+  @Lazy
+  @Scope("singleton")
+  public Vertx createVertx(final VertxBootstrap vertxBootstrap) {
+    return vertxBootstrap.getVertx();
   }
 }
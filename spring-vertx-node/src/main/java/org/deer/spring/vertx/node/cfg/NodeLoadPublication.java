@@ -0,0 +1,35 @@
+package org.deer.spring.vertx.node.cfg;
+
+import java.util.LinkedHashSet;
+import java.util.concurrent.CompletableFuture;
+import org.deer.spring.vertx.core.bootstrap.VertxBootstrap;
+import org.deer.spring.vertx.core.placement.NodeLoadPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts {@link NodeLoadPublisher} of this node once Vertx is started, and stops it on shutdown
+ */
+public class NodeLoadPublication implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(NodeLoadPublication.class);
+
+  private final CompletableFuture<NodeLoadPublisher> publisher;
+
+  public NodeLoadPublication(final VertxBootstrap vertxBootstrap,
+      final NodeProperties.Placement properties) {
+    this.publisher = vertxBootstrap.vertx().toCompletableFuture().thenApply(vertx -> {
+      final NodeLoadPublisher nodeLoadPublisher =
+          new NodeLoadPublisher(vertx, new LinkedHashSet<>(properties.getTags()))
+              .setPublishInterval(properties.getPublishInterval());
+      nodeLoadPublisher.start();
+      LOG.info("Publishing load of this node with tags {}", properties.getTags());
+      return nodeLoadPublisher;
+    });
+  }
+
+  @Override
+  public void close() {
+    publisher.thenAccept(NodeLoadPublisher::close);
+  }
+}
@@ -0,0 +1,350 @@
+package org.deer.spring.vertx.node.cfg;
+
+import io.vertx.core.VertxOptions;
+import io.vertx.core.eventbus.EventBusOptions;
+import java.util.ArrayList;
+import java.util.List;
+import org.deer.spring.vertx.core.placement.NodeLoadPublisher;
+import org.deer.spring.vertx.core.placement.PlacementStrategy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Options of the node bound from {@code application.*} keys. Defaults are the same as defaults of
+ * Vertx and Hazelcast, predefined profiles {@code low-latency} and {@code high-throughput} override
+ * some of them
+ */
+@ConfigurationProperties("application")
+public class NodeProperties {
+
+  private final Cluster cluster = new Cluster();
+  private final Vertx vertx = new Vertx();
+  private final Hazelcast hazelcast = new Hazelcast();
+  private final Placement placement = new Placement();
+
+  public Cluster getCluster() {
+    return cluster;
+  }
+
+  public Vertx getVertx() {
+    return vertx;
+  }
+
+  public Hazelcast getHazelcast() {
+    return hazelcast;
+  }
+
+  public Placement getPlacement() {
+    return placement;
+  }
+
+  public static class Cluster {
+
+    private boolean enabled = true;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+  }
+
+  public static class Vertx {
+
+    private int eventLoopPoolSize = VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE;
+    private int workerPoolSize = VertxOptions.DEFAULT_WORKER_POOL_SIZE;
+    private int internalBlockingPoolSize = VertxOptions.DEFAULT_INTERNAL_BLOCKING_POOL_SIZE;
+    private long maxEventLoopExecuteTime = VertxOptions.DEFAULT_MAX_EVENT_LOOP_EXECUTE_TIME;
+    private long maxWorkerExecuteTime = VertxOptions.DEFAULT_MAX_WORKER_EXECUTE_TIME;
+    private boolean preferNativeTransport = VertxOptions.DEFAULT_PREFER_NATIVE_TRANSPORT;
+    private final EventBus eventBus = new EventBus();
+
+    public int getEventLoopPoolSize() {
+      return eventLoopPoolSize;
+    }
+
+    public void setEventLoopPoolSize(int eventLoopPoolSize) {
+      this.eventLoopPoolSize = eventLoopPoolSize;
+    }
+
+    public int getWorkerPoolSize() {
+      return workerPoolSize;
+    }
+
+    public void setWorkerPoolSize(int workerPoolSize) {
+      this.workerPoolSize = workerPoolSize;
+    }
+
+    public int getInternalBlockingPoolSize() {
+      return internalBlockingPoolSize;
+    }
+
+    public void setInternalBlockingPoolSize(int internalBlockingPoolSize) {
+      this.internalBlockingPoolSize = internalBlockingPoolSize;
+    }
+
+    /**
+     * @return time in nanoseconds after which blocked event loop is reported
+     */
+    public long getMaxEventLoopExecuteTime() {
+      return maxEventLoopExecuteTime;
+    }
+
+    public void setMaxEventLoopExecuteTime(long maxEventLoopExecuteTime) {
+      this.maxEventLoopExecuteTime = maxEventLoopExecuteTime;
+    }
+
+    /**
+     * @return time in nanoseconds after which blocked worker is reported
+     */
+    public long getMaxWorkerExecuteTime() {
+      return maxWorkerExecuteTime;
+    }
+
+    public void setMaxWorkerExecuteTime(long maxWorkerExecuteTime) {
+      this.maxWorkerExecuteTime = maxWorkerExecuteTime;
+    }
+
+    /**
+     * @return true to use epoll/kqueue transport when it is available on the classpath
+     */
+    public boolean isPreferNativeTransport() {
+      return preferNativeTransport;
+    }
+
+    public void setPreferNativeTransport(boolean preferNativeTransport) {
+      this.preferNativeTransport = preferNativeTransport;
+    }
+
+    public EventBus getEventBus() {
+      return eventBus;
+    }
+  }
+
+  /**
+   * TCP options of connections between event buses of clustered nodes
+   */
+  public static class EventBus {
+
+    private boolean tcpNoDelay = EventBusOptions.DEFAULT_TCP_NO_DELAY;
+    private boolean tcpKeepAlive = EventBusOptions.DEFAULT_TCP_KEEP_ALIVE;
+    private boolean tcpQuickAck = EventBusOptions.DEFAULT_TCP_QUICKACK;
+    private int sendBufferSize = EventBusOptions.DEFAULT_SEND_BUFFER_SIZE;
+    private int receiveBufferSize = EventBusOptions.DEFAULT_RECEIVE_BUFFER_SIZE;
+    private long clusterPingInterval = VertxOptions.DEFAULT_CLUSTER_PING_INTERVAL;
+
+    public boolean isTcpNoDelay() {
+      return tcpNoDelay;
+    }
+
+    public void setTcpNoDelay(boolean tcpNoDelay) {
+      this.tcpNoDelay = tcpNoDelay;
+    }
+
+    public boolean isTcpKeepAlive() {
+      return tcpKeepAlive;
+    }
+
+    public void setTcpKeepAlive(boolean tcpKeepAlive) {
+      this.tcpKeepAlive = tcpKeepAlive;
+    }
+
+    /**
+     * @return true to enable TCP_QUICKACK, applies only to native epoll transport
+     */
+    public boolean isTcpQuickAck() {
+      return tcpQuickAck;
+    }
+
+    public void setTcpQuickAck(boolean tcpQuickAck) {
+      this.tcpQuickAck = tcpQuickAck;
+    }
+
+    /**
+     * @return size of socket send buffer in bytes, -1 for system default
+     */
+    public int getSendBufferSize() {
+      return sendBufferSize;
+    }
+
+    public void setSendBufferSize(int sendBufferSize) {
+      this.sendBufferSize = sendBufferSize;
+    }
+
+    /**
+     * @return size of socket receive buffer in bytes, -1 for system default
+     */
+    public int getReceiveBufferSize() {
+      return receiveBufferSize;
+    }
+
+    public void setReceiveBufferSize(int receiveBufferSize) {
+      this.receiveBufferSize = receiveBufferSize;
+    }
+
+    /**
+     * @return interval in milliseconds of pings of event bus connections between nodes
+     */
+    public long getClusterPingInterval() {
+      return clusterPingInterval;
+    }
+
+    public void setClusterPingInterval(long clusterPingInterval) {
+      this.clusterPingInterval = clusterPingInterval;
+    }
+  }
+
+  public static class Hazelcast {
+
+    private int partitionCount = 271;
+    private int backupCount = 1;
+    private int asyncBackupCount = 0;
+    private boolean readBackupData = false;
+    private final NearCache nearCache = new NearCache();
+
+    public int getPartitionCount() {
+      return partitionCount;
+    }
+
+    public void setPartitionCount(int partitionCount) {
+      this.partitionCount = partitionCount;
+    }
+
+    /**
+     * @return count of synchronous backups of cluster maps, except the map of singleton deployment
+     * markers, which always has one
+     */
+    public int getBackupCount() {
+      return backupCount;
+    }
+
+    public void setBackupCount(int backupCount) {
+      this.backupCount = backupCount;
+    }
+
+    /**
+     * @return count of asynchronous backups of cluster maps
+     */
+    public int getAsyncBackupCount() {
+      return asyncBackupCount;
+    }
+
+    public void setAsyncBackupCount(int asyncBackupCount) {
+      this.asyncBackupCount = asyncBackupCount;
+    }
+
+    /**
+     * @return true to allow reads of cluster maps from local backup copy
+     */
+    public boolean isReadBackupData() {
+      return readBackupData;
+    }
+
+    public void setReadBackupData(boolean readBackupData) {
+      this.readBackupData = readBackupData;
+    }
+
+    public NearCache getNearCache() {
+      return nearCache;
+    }
+  }
+
+  /**
+   * Near cache of read mostly cluster maps. The map of singleton deployment markers is never
+   * cached, as its reads decide which node deploys singleton
+   */
+  public static class NearCache {
+
+    private boolean enabled = false;
+    private List<String> maps = new ArrayList<>();
+    private int maxSize = 10000;
+    private int timeToLiveSeconds = 0;
+    private boolean invalidateOnChange = true;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public List<String> getMaps() {
+      return maps;
+    }
+
+    public void setMaps(List<String> maps) {
+      this.maps = maps;
+    }
+
+    public int getMaxSize() {
+      return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+      this.maxSize = maxSize;
+    }
+
+    public int getTimeToLiveSeconds() {
+      return timeToLiveSeconds;
+    }
+
+    public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+      this.timeToLiveSeconds = timeToLiveSeconds;
+    }
+
+    public boolean isInvalidateOnChange() {
+      return invalidateOnChange;
+    }
+
+    public void setInvalidateOnChange(boolean invalidateOnChange) {
+      this.invalidateOnChange = invalidateOnChange;
+    }
+  }
+
+  /**
+   * Placement of cluster singletons on this node, see {@link PlacementStrategy}
+   */
+  public static class Placement {
+
+    private String strategy = "first-come";
+    private List<String> tags = new ArrayList<>();
+    private long publishInterval = NodeLoadPublisher.DEFAULT_PUBLISH_INTERVAL;
+
+    /**
+     * @return name of strategy used by registrators of this node, one of first-come,
+     * least-loaded or round-robin
+     */
+    public String getStrategy() {
+      return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+      this.strategy = strategy;
+    }
+
+    /**
+     * @return labels of this node, singletons with placement tags are hosted only by nodes that
+     * have all of them
+     */
+    public List<String> getTags() {
+      return tags;
+    }
+
+    public void setTags(List<String> tags) {
+      this.tags = tags;
+    }
+
+    /**
+     * @return time in milliseconds between publications of load of this node
+     */
+    public long getPublishInterval() {
+      return publishInterval;
+    }
+
+    public void setPublishInterval(long publishInterval) {
+      this.publishInterval = publishInterval;
+    }
+  }
+}
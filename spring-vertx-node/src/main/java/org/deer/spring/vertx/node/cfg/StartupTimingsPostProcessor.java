@@ -0,0 +1,42 @@
+package org.deer.spring.vertx.node.cfg;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.deer.spring.vertx.core.bootstrap.StartupTimings;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+
+/**
+ * Records creation of beans that take noticeable time, from instantiation until the end of
+ * initialization. Times of beans created as dependencies of other beans are included in times of
+ * beans that depend on them
+ */
+public class StartupTimingsPostProcessor implements InstantiationAwareBeanPostProcessor {
+
+  private static final long MIN_RECORDED_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final StartupTimings timings = new StartupTimings();
+  private final Map<String, Long> creationStarts = new ConcurrentHashMap<>();
+
+  public StartupTimings getTimings() {
+    return timings;
+  }
+
+  @Override
+  public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName)
+      throws BeansException {
+    creationStarts.put(beanName, System.nanoTime());
+    return null;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName)
+      throws BeansException {
+    final Long start = creationStarts.remove(beanName);
+    if (start != null && System.nanoTime() - start >= MIN_RECORDED_NANOS) {
+      timings.record("bean " + beanName, start);
+    }
+    return bean;
+  }
+}